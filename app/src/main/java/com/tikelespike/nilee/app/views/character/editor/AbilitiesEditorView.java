@@ -1,6 +1,7 @@
 package com.tikelespike.nilee.app.views.character.editor;
 
 import com.tikelespike.nilee.core.character.PlayerCharacter;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.data.binder.Binder;
@@ -54,14 +55,17 @@ public class AbilitiesEditorView extends FormLayout {
     }
 
     /**
-     * Updates the character with the values from the form fields.
+     * Updates the character with the values from the form fields. All fields are written in a single
+     * {@link PropertyTransaction}, so listeners of the character are notified only once.
      */
     public void update() {
-        try {
-            binder.writeBean(pc);
-        } catch (ValidationException e) {
-            throw new RuntimeException(e);
-        }
+        PropertyTransaction.run(() -> {
+            try {
+                binder.writeBean(pc);
+            } catch (ValidationException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
     private IntegerField createStatField(String name) {
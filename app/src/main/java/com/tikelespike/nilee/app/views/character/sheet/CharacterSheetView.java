@@ -267,8 +267,8 @@ public class CharacterSheetView extends VerticalLayout implements HasUrlParamete
                         PLACEHOLDER_TEXT_REPETITIONS));
         RollBus rollBus = currentUser.getSession().getRollBus();
         rollAnimator.setRollBus(rollBus);
-        // disconnect roll animator from roll bus when leaving this view, otherwise rollAnimator will not get garbage
-        // collected because it still subscribes to roll events -> memory leak
+        // disconnect roll animator from roll bus when leaving this view, so it stops showing rolls (the roll bus only
+        // references it weakly, so it can be garbage collected either way)
         addDetachListener((ComponentEventListener<DetachEvent>) event -> rollAnimator.setRollBus(null));
 
         Component abilities = new AbilitiesView(rollBus, translationProvider, pc);
@@ -2,23 +2,46 @@ package com.tikelespike.nilee.app.views.character.sheet;
 
 import com.tikelespike.nilee.app.views.character.CharacterSaver;
 import com.tikelespike.nilee.core.character.stats.hitpoints.HitPoints;
+import com.tikelespike.nilee.core.character.stats.hitpoints.events.CurrentHPChangeEvent;
+import com.tikelespike.nilee.core.character.stats.hitpoints.events.TempHPChangeEvent;
+import com.tikelespike.nilee.core.events.Event;
+import com.tikelespike.nilee.core.events.EventListener;
+import com.tikelespike.nilee.core.events.ThrottledEventListener;
+import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.component.progressbar.ProgressBarVariant;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * A minimalistic display of a character's hit points. Consists of a button that displays the current hit points and
  * temporary hit points numerically, a progress bar for the current hit points and a progress bar for the temporary hit
  * points. Upon clicking the button, a dialog opens that allows the user to view and edit the hit points.
+ * <p>
+ * The display only registers weakly on the hit points it shows, so it can be garbage collected once it is no longer
+ * shown, even though the hit points outlive it. Changes of the hit points are throttled, so the display is updated at a
+ * limited rate.
  *
  * @see HitPointsDialog
  */
 public class HitPointsDisplay extends VerticalLayout {
 
     private static final double HP_WARNING_PROPORTION = 0.25;
+    /**
+     * Minimum time between two updates of the display, so that a burst of changes (like holding a step button in the
+     * dialog) does not cause a burst of component updates.
+     */
+    private static final Duration UPDATE_INTERVAL = Duration.ofMillis(100);
     private final HitPoints hitPoints;
 
+    // the hit points only reference the listeners weakly, so they are kept alive by this display
+    private final List<EventListener<?>> listeners = new ArrayList<>();
+
     /**
      * Creates a new display for the given hit points.
      *
@@ -33,9 +56,12 @@ public class HitPointsDisplay extends VerticalLayout {
         setPadding(false);
 
         Button textButton = new Button(genHPString());
-        hitPoints.getMaxHitPoints().addValueChangeListener(e -> textButton.setText(genHPString()));
-        hitPoints.registerCurrentHPChangeListener(e -> textButton.setText(genHPString()));
-        hitPoints.registerTempHPChangeListener(e -> textButton.setText(genHPString()));
+        EventListener<ValueChangeEvent<Integer>> onMaxHPChange = throttled(e -> textButton.setText(genHPString()));
+        EventListener<CurrentHPChangeEvent> onCurrentHPChange = throttled(e -> textButton.setText(genHPString()));
+        EventListener<TempHPChangeEvent> onTempHPChange = throttled(e -> textButton.setText(genHPString()));
+        hitPoints.getMaxHitPoints().addWeakValueChangeListener(onMaxHPChange);
+        hitPoints.registerWeakCurrentHPChangeListener(onCurrentHPChange);
+        hitPoints.registerWeakTempHPChangeListener(onTempHPChange);
         textButton.addClickListener(e -> new HitPointsDialog(hitPoints, characterSaver).open());
         setDefaultHorizontalComponentAlignment(Alignment.CENTER);
 
@@ -60,14 +86,16 @@ public class HitPointsDisplay extends VerticalLayout {
         hitPointsBar.getElement().getStyle().set("margin", "5px");
         hitPointsBar.addThemeVariants(
                 hp > max * HP_WARNING_PROPORTION ? ProgressBarVariant.LUMO_SUCCESS : ProgressBarVariant.LUMO_ERROR);
-        hitPoints.registerCurrentHPChangeListener(e -> {
+        EventListener<CurrentHPChangeEvent> onCurrentHPChange = throttled(e -> {
             hitPointsBar.setValue(e.getNewValue());
             hitPointsBar.removeThemeVariants(ProgressBarVariant.LUMO_SUCCESS, ProgressBarVariant.LUMO_ERROR);
             hitPointsBar.addThemeVariants(
                     e.getNewValue() > hitPoints.getMaxHitPoints().getValue() * HP_WARNING_PROPORTION
                             ? ProgressBarVariant.LUMO_SUCCESS : ProgressBarVariant.LUMO_ERROR);
         });
-        hitPoints.getMaxHitPoints().addValueChangeListener(e -> hitPointsBar.setMax(e.getNewValue()));
+        EventListener<ValueChangeEvent<Integer>> onMaxHPChange = throttled(e -> hitPointsBar.setMax(e.getNewValue()));
+        hitPoints.registerWeakCurrentHPChangeListener(onCurrentHPChange);
+        hitPoints.getMaxHitPoints().addWeakValueChangeListener(onMaxHPChange);
         return hitPointsBar;
     }
 
@@ -78,9 +106,24 @@ public class HitPointsDisplay extends VerticalLayout {
         tempHPBar.setValue(Math.min(hitPoints.getTemporaryHitPoints(), hitPoints.getMaxHitPoints().getValue()));
         tempHPBar.getElement().getStyle().set("margin", "5px");
         tempHPBar.addThemeVariants(ProgressBarVariant.LUMO_CONTRAST);
-        hitPoints.registerTempHPChangeListener(
-                e -> tempHPBar.setValue(Math.min(e.getNewValue(), hitPoints.getMaxHitPoints().getValue())));
-        hitPoints.getMaxHitPoints().addValueChangeListener(e -> tempHPBar.setMax(e.getNewValue()));
+        EventListener<TempHPChangeEvent> onTempHPChange =
+                throttled(e -> tempHPBar.setValue(Math.min(e.getNewValue(), hitPoints.getMaxHitPoints().getValue())));
+        EventListener<ValueChangeEvent<Integer>> onMaxHPChange = throttled(e -> tempHPBar.setMax(e.getNewValue()));
+        hitPoints.registerWeakTempHPChangeListener(onTempHPChange);
+        hitPoints.getMaxHitPoints().addWeakValueChangeListener(onMaxHPChange);
         return tempHPBar;
     }
+
+    /**
+     * Limits how often the given listener updates this display, and applies the updates while holding the lock of the
+     * UI (as throttled events may be delivered on a background thread). The returned listener is kept alive by this
+     * display.
+     */
+    private <T extends Event> EventListener<T> throttled(EventListener<T> listener) {
+        UI ui = UI.getCurrent();
+        EventListener<T> throttledListener =
+                new ThrottledEventListener<>(event -> ui.access(() -> listener.onEvent(event)), UPDATE_INTERVAL);
+        listeners.add(throttledListener);
+        return throttledListener;
+    }
 }
@@ -20,6 +20,9 @@ import java.util.TimerTask;
 
 /**
  * Manages the rolling of dice and the display of the results as notifications.
+ * <p>
+ * Roll events are received on a background thread, so all components are created and shown while holding the lock of
+ * the UI they are displayed on.
  */
 public class RollAnimator extends Div implements EventListener<RollEvent> {
 
@@ -63,7 +66,8 @@ public class RollAnimator extends Div implements EventListener<RollEvent> {
     }
 
     /**
-     * Sets the rolls of which bus are to be displayed as notifications.
+     * Sets the rolls of which bus are to be displayed as notifications. The roll bus only references this animator
+     * weakly, so an animator that is no longer used can be garbage collected even if it is still registered.
      *
      * @param rollBus the roll bus to listen to. If null, will detach from roll bus and stop displaying rolls.
      */
@@ -71,18 +75,17 @@ public class RollAnimator extends Div implements EventListener<RollEvent> {
         if (lastRollBusRegistration != null) {
             lastRollBusRegistration.unregister();
         }
-        lastRollBusRegistration = rollBus == null ? null : rollBus.registerRollListener(this);
+        lastRollBusRegistration = rollBus == null ? null : rollBus.registerWeakRollListener(this);
     }
 
 
     @Override
     public void onEvent(RollEvent event) {
         execute(this::showRollingAnimation);
-        Notification resultNotification = createResultNotification(event);
 
         executeDelayed(() -> {
             minimizeOpenNotifications();
-            resultNotification.open();
+            createResultNotification(event).open();
         }, ROLL_RESULT_DELAY_MS);
     }
 
@@ -4,8 +4,12 @@ import com.tikelespike.nilee.core.character.stats.ability.AbilityScores;
 import com.tikelespike.nilee.core.character.stats.hitpoints.HitPoints;
 import com.tikelespike.nilee.core.data.entity.User;
 import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.IntPropertyEvaluator;
+import com.tikelespike.nilee.core.property.ModifierGroupRegistry;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -34,6 +38,7 @@ public class PlayerCharacter {
 
     private final AbilityScores abilityScores;
     private final HitPoints hitPoints;
+    private final ModifierGroupRegistry modifierGroups = new ModifierGroupRegistry();
 
     // unique identifier for corresponding database snapshots
     private Long id;
@@ -44,12 +49,18 @@ public class PlayerCharacter {
     // was loaded from
     private int loadedFromVersion;
 
+    // calculates the integer statistics together whenever one of them is read and not cached
+    private final IntPropertyEvaluator statsEvaluator;
+
     /**
      * Creates a new player character with uninitialized values. Should only be used for loading from snapshots.
      */
     protected PlayerCharacter() {
         abilityScores = new AbilityScores();
         hitPoints = new HitPoints(abilityScores.getConstitution());
+        statsEvaluator = new IntPropertyEvaluator(List.of(abilityScores.getStrength(), abilityScores.getDexterity(),
+                abilityScores.getConstitution(), abilityScores.getIntelligence(), abilityScores.getWisdom(),
+                abilityScores.getCharisma(), hitPoints.getMaxHitPoints()));
     }
 
     /**
@@ -116,7 +127,8 @@ public class PlayerCharacter {
 
     /**
      * Loads the data in the given snapshot into this character. This can be used to "undo" changes made to this
-     * character since creating the snapshot.
+     * character since creating the snapshot. All values are restored in a single {@link PropertyTransaction}, so
+     * listeners of the character's properties are notified at most once.
      *
      * @param snapshot the snapshot containing the data to load into this character
      */
@@ -126,15 +138,17 @@ public class PlayerCharacter {
         id = snapshot.getId();
         owner = snapshot.getOwner();
         name = snapshot.getName();
-        abilityScores.getStrength().setDefaultBaseValue(snapshot.getStrength());
-        abilityScores.getDexterity().setDefaultBaseValue(snapshot.getDexterity());
-        abilityScores.getConstitution().setDefaultBaseValue(snapshot.getConstitution());
-        abilityScores.getIntelligence().setDefaultBaseValue(snapshot.getIntelligence());
-        abilityScores.getWisdom().setDefaultBaseValue(snapshot.getWisdom());
-        abilityScores.getCharisma().setDefaultBaseValue(snapshot.getCharisma());
-        hitPoints.getMaxHitPoints().setOverride(snapshot.getHitPointMaxOverride());
-        hitPoints.setCurrentHitPoints(snapshot.getHitPoints());
-        hitPoints.setTemporaryHitPoints(snapshot.getTemporaryHitPoints());
+        PropertyTransaction.run(() -> {
+            abilityScores.getStrength().setDefaultBaseValue(snapshot.getStrength());
+            abilityScores.getDexterity().setDefaultBaseValue(snapshot.getDexterity());
+            abilityScores.getConstitution().setDefaultBaseValue(snapshot.getConstitution());
+            abilityScores.getIntelligence().setDefaultBaseValue(snapshot.getIntelligence());
+            abilityScores.getWisdom().setDefaultBaseValue(snapshot.getWisdom());
+            abilityScores.getCharisma().setDefaultBaseValue(snapshot.getCharisma());
+            hitPoints.getMaxHitPoints().setOverride(snapshot.getHitPointMaxOverride());
+            hitPoints.setCurrentHitPoints(snapshot.getHitPoints());
+            hitPoints.setTemporaryHitPoints(snapshot.getTemporaryHitPoints());
+        });
     }
 
     /**
@@ -194,6 +208,18 @@ public class PlayerCharacter {
         return hitPoints;
     }
 
+    /**
+     * Returns the modifier groups of this character, indexed by their source. Items, spells and other sources of
+     * modifiers register their modifiers here, so everything a source applies can be detached at once when it goes
+     * away.
+     *
+     * @return the modifier groups of this character
+     * @see ModifierGroupRegistry
+     */
+    public ModifierGroupRegistry getModifierGroups() {
+        return modifierGroups;
+    }
+
     /**
      * @return the (persistence) version of the snapshot this character was loaded from, or 0 if this character has not
      *         been loaded from a snapshot
@@ -1,15 +1,15 @@
 package com.tikelespike.nilee.core.character.stats;
 
 import com.tikelespike.nilee.core.character.stats.ability.AbilityScore;
-import com.tikelespike.nilee.core.property.Property;
-import com.tikelespike.nilee.core.property.convenience.MaxValueSelector;
+import com.tikelespike.nilee.core.property.IntProperty;
+import com.tikelespike.nilee.core.property.convenience.IntMaxValueSelector;
 
 /**
  * A property describing the armor class of a character. The armor class is the value that is used to determine whether
  * an attack on the character hits or misses. Will always provide at least the {@link DefaultAC default armor class} as
  * a base value.
  */
-public class ArmorClass extends Property<Integer> {
+public class ArmorClass extends IntProperty {
 
     /**
      * Creates a new armor class property based on the given dexterity property.
@@ -18,7 +18,7 @@ public class ArmorClass extends Property<Integer> {
      */
     public ArmorClass(AbilityScore dex) {
         // armor class is subject to maximization
-        setBaseValueSelector(new MaxValueSelector<>());
+        setBaseValueSelector(new IntMaxValueSelector());
 
         addBaseValueSupplier(new DefaultAC(dex));
     }
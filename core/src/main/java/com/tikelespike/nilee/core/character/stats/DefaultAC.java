@@ -2,15 +2,14 @@ package com.tikelespike.nilee.core.character.stats;
 
 import com.tikelespike.nilee.core.character.stats.ability.AbilityScore;
 import com.tikelespike.nilee.core.i18n.LocalizedString;
-import com.tikelespike.nilee.core.property.PropertyBaseSupplier;
+import com.tikelespike.nilee.core.property.DerivedIntBaseSupplier;
 
 /**
  * The default armor class for a character, computed as 10 + DEX.
  */
-public class DefaultAC extends PropertyBaseSupplier<Integer> {
+public class DefaultAC extends DerivedIntBaseSupplier {
 
     private static final int DEFAULT_ARMOR_CLASS = 10;
-    private final AbilityScore dex;
 
     /**
      * Creates a new default armor class value supplier.
@@ -19,12 +18,12 @@ public class DefaultAC extends PropertyBaseSupplier<Integer> {
      *         character whose armor class this is
      */
     public DefaultAC(AbilityScore dex) {
-        this.dex = dex;
+        super(dex);
     }
 
     @Override
-    public Integer getBaseValue() {
-        return DEFAULT_ARMOR_CLASS + dex.getModifier();
+    public int derive(int sourceValue) {
+        return DEFAULT_ARMOR_CLASS + AbilityScore.modifierOf(sourceValue);
     }
 
     @Override
@@ -65,7 +65,18 @@ public class AbilityScore extends ConstantBaseProperty {
      * @return the modifier of this ability score
      */
     public int getModifier() {
-        return Math.floorDiv(getValue() - NEUTRAL_SCORE_VALUE, 2);
+        return modifierOf(getIntValue());
+    }
+
+    /**
+     * Calculates the modifier of an ability score with the given value, like {@link #getModifier()}.
+     *
+     * @param score the value of an ability score
+     *
+     * @return the modifier of an ability score with the given value
+     */
+    public static int modifierOf(int score) {
+        return Math.floorDiv(score - NEUTRAL_SCORE_VALUE, 2);
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.tikelespike.nilee.core.character.stats.ability;
 
 import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.DerivedIntBaseSupplier;
 import com.tikelespike.nilee.core.property.PropertyBaseSupplier;
 import jakarta.validation.constraints.NotNull;
 
@@ -10,7 +11,7 @@ import java.util.Objects;
  * A specific {@link PropertyBaseSupplier} that provides the modifier value of a given {@link AbilityScore} as its base
  * value.
  */
-public final class AbilityScoreBaseSupplier extends PropertyBaseSupplier<Integer> {
+public final class AbilityScoreBaseSupplier extends DerivedIntBaseSupplier {
 
     private final AbilityScore abilityScore;
 
@@ -21,14 +22,13 @@ public final class AbilityScoreBaseSupplier extends PropertyBaseSupplier<Integer
      *         this supplier
      */
     public AbilityScoreBaseSupplier(@NotNull AbilityScore abilityScore) {
-        Objects.requireNonNull(abilityScore);
+        super(Objects.requireNonNull(abilityScore));
         this.abilityScore = abilityScore;
-        abilityScore.addValueChangeListener(event -> update());
     }
 
     @Override
-    public Integer getBaseValue() {
-        return abilityScore.getModifier();
+    public int derive(int sourceValue) {
+        return AbilityScore.modifierOf(sourceValue);
     }
 
     @Override
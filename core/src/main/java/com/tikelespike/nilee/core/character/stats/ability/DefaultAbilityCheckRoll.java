@@ -24,6 +24,7 @@ public class DefaultAbilityCheckRoll extends PropertyBaseSupplier<DiceExpression
      */
     public DefaultAbilityCheckRoll(AbilityScore abilityScore) {
         this.abilityScore = abilityScore;
+        dependOn(abilityScore);
     }
 
     @Override
@@ -1,7 +1,8 @@
 package com.tikelespike.nilee.core.character.stats.hitpoints;
 
 import com.tikelespike.nilee.core.i18n.LocalizedString;
-import com.tikelespike.nilee.core.property.Property;
+import com.tikelespike.nilee.core.property.DerivedIntBaseSupplier;
+import com.tikelespike.nilee.core.property.IntProperty;
 import com.tikelespike.nilee.core.property.PropertyBaseSupplier;
 import jakarta.validation.constraints.NotNull;
 
@@ -12,27 +13,23 @@ import java.util.Objects;
  * This allows modelling modifiers of the "base hit point maximum" (like CON and rolled hit dice values) separately from
  * higher-level modifiers of the hit point maximum (like temporary penalties caused by spells etc.).
  * <p>
- * This is an adapter class that allows a {@link Property} to be used as a {@link PropertyBaseSupplier}.
+ * This is an adapter class that allows an {@link IntProperty} to be used as a {@link PropertyBaseSupplier}.
  */
-public class HPMaxBaseSupplier extends PropertyBaseSupplier<Integer> {
-
-    private final Property<Integer> hpMaxBaseProperty;
+public class HPMaxBaseSupplier extends DerivedIntBaseSupplier {
 
     /**
-     * Creates a new {@link HPMaxBaseSupplier} using the given {@link Property} as its base value.
+     * Creates a new {@link HPMaxBaseSupplier} using the given {@link IntProperty} as its base value.
      *
-     * @param hpMaxBaseProperty the {@link Property} the value of which is used as the base value of this
+     * @param hpMaxBaseProperty the {@link IntProperty} the value of which is used as the base value of this
      *         supplier
      */
-    public HPMaxBaseSupplier(@NotNull Property<Integer> hpMaxBaseProperty) {
-        Objects.requireNonNull(hpMaxBaseProperty);
-        this.hpMaxBaseProperty = hpMaxBaseProperty;
-        this.hpMaxBaseProperty.addValueChangeListener(event -> update());
+    public HPMaxBaseSupplier(@NotNull IntProperty hpMaxBaseProperty) {
+        super(Objects.requireNonNull(hpMaxBaseProperty));
     }
 
     @Override
-    public Integer getBaseValue() {
-        return hpMaxBaseProperty.getValue();
+    public int derive(int sourceValue) {
+        return sourceValue;
     }
 
     @Override
@@ -2,9 +2,9 @@ package com.tikelespike.nilee.core.character.stats.hitpoints;
 
 import com.tikelespike.nilee.core.character.stats.ability.AbilityScore;
 import com.tikelespike.nilee.core.character.stats.ability.AbilityScoreBaseSupplier;
-import com.tikelespike.nilee.core.property.OverridableProperty;
-import com.tikelespike.nilee.core.property.Property;
-import com.tikelespike.nilee.core.property.convenience.MaxValueSelector;
+import com.tikelespike.nilee.core.property.IntProperty;
+import com.tikelespike.nilee.core.property.OverridableIntProperty;
+import com.tikelespike.nilee.core.property.convenience.IntMaxValueSelector;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.Objects;
@@ -13,7 +13,7 @@ import java.util.Objects;
  * The property describing the upper limit of hit points a character can have. By default, this value is calculated
  * based on the constitution score and the class hit die.
  */
-public class HitPointMax extends OverridableProperty<Integer> {
+public class HitPointMax extends OverridableIntProperty {
 
     /**
      * Creates a new hit point max property based on the given constitution score.
@@ -23,9 +23,9 @@ public class HitPointMax extends OverridableProperty<Integer> {
      */
     public HitPointMax(@NotNull AbilityScore constitution) {
         Objects.requireNonNull(constitution);
-        setBaseValueSelector(new MaxValueSelector<>());
+        setBaseValueSelector(new IntMaxValueSelector());
         AbilityScoreBaseSupplier abilityScoreBaseSupplier = new AbilityScoreBaseSupplier(constitution);
-        Property<Integer> base = new Property<>(abilityScoreBaseSupplier);
+        IntProperty base = new IntProperty(abilityScoreBaseSupplier);
         HPMaxBaseSupplier hpMaxBaseSupplier = new HPMaxBaseSupplier(base);
         addBaseValueSupplier(hpMaxBaseSupplier);
     }
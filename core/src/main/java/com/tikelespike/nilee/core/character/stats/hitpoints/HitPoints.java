@@ -7,6 +7,7 @@ import com.tikelespike.nilee.core.data.entity.AbstractEntity;
 import com.tikelespike.nilee.core.events.EventBus;
 import com.tikelespike.nilee.core.events.EventListener;
 import com.tikelespike.nilee.core.events.Registration;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.Objects;
@@ -15,6 +16,10 @@ import java.util.Objects;
  * A character’s hit points define how tough that character is in combat and other dangerous situations. This class
  * manages all hit point related properties and methods, like the current hit points, temporary hit points, and hit
  * point maximum.
+ * <p>
+ * Changes of the current and temporary hit points take part in {@link PropertyTransaction PropertyTransactions} like
+ * changes of properties: inside a transaction, a single change event is fired at its end, containing the value before
+ * the first change and the value after the last change.
  *
  * @see <a href="https://www.dndbeyond.com/sources/basic-rules/combat#HitPoints">Hit Points on D&D Beyond</a>
  */
@@ -23,9 +28,15 @@ public class HitPoints extends AbstractEntity {
     private final EventBus bus = new EventBus();
     private final HitPointMax maxHitPoints;
 
+    // keys of the pending change notifications of this object in the current transaction
+    private final Object currentHPSubject = new Object();
+    private final Object tempHPSubject = new Object();
+
     private int currentHitPoints;
     private int temporaryHitPoints;
-
+    // the values listeners were last notified about
+    private int notifiedCurrentHitPoints;
+    private int notifiedTemporaryHitPoints;
 
     /**
      * Creates a new {@link HitPoints} object encapsulating hit points, temporary hit points, and the hit point maximum
@@ -38,6 +49,7 @@ public class HitPoints extends AbstractEntity {
         Objects.requireNonNull(constitution);
         maxHitPoints = new HitPointMax(constitution);
         currentHitPoints = maxHitPoints.getValue();
+        notifiedCurrentHitPoints = currentHitPoints;
         init();
     }
 
@@ -72,10 +84,9 @@ public class HitPoints extends AbstractEntity {
         if (currentHitPoints < 0) {
             throw new IllegalArgumentException("Current hit points must be greater than or equal to 0.");
         }
-        int oldHP = this.currentHitPoints;
-        this.currentHitPoints = currentHitPoints;
-        if (oldHP != currentHitPoints) {
-            bus.fireEvent(new CurrentHPChangeEvent(oldHP, currentHitPoints));
+        if (this.currentHitPoints != currentHitPoints) {
+            this.currentHitPoints = currentHitPoints;
+            currentHPChanged();
         }
     }
 
@@ -107,10 +118,9 @@ public class HitPoints extends AbstractEntity {
         if (temporaryHitPoints < 0) {
             throw new IllegalArgumentException("Temporary hit points must be greater than or equal to 0.");
         }
-        int oldHP = this.temporaryHitPoints;
-        this.temporaryHitPoints = temporaryHitPoints;
-        if (oldHP != temporaryHitPoints) {
-            bus.fireEvent(new TempHPChangeEvent(oldHP, temporaryHitPoints));
+        if (this.temporaryHitPoints != temporaryHitPoints) {
+            this.temporaryHitPoints = temporaryHitPoints;
+            tempHPChanged();
         }
     }
 
@@ -132,10 +142,10 @@ public class HitPoints extends AbstractEntity {
         int remainingDamage = damage - damageTakenByTempHP;
         currentHitPoints = Math.max(currentHitPoints - remainingDamage, 0);
         if (damageTakenByTempHP > 0) {
-            bus.fireEvent(new TempHPChangeEvent(temporaryHitPoints + damageTakenByTempHP, temporaryHitPoints));
+            tempHPChanged();
         }
         if (currentHitPoints != oldHP) {
-            bus.fireEvent(new CurrentHPChangeEvent(oldHP, currentHitPoints));
+            currentHPChanged();
         }
     }
 
@@ -154,7 +164,7 @@ public class HitPoints extends AbstractEntity {
         int oldHP = currentHitPoints;
         currentHitPoints = Math.min(currentHitPoints + healing, maxHitPoints.getValue());
         if (currentHitPoints != oldHP) {
-            bus.fireEvent(new CurrentHPChangeEvent(oldHP, currentHitPoints));
+            currentHPChanged();
         }
     }
 
@@ -182,6 +192,53 @@ public class HitPoints extends AbstractEntity {
         return bus.registerListener(TempHPChangeEvent.class, listener);
     }
 
+    /**
+     * Registers a listener for {@link CurrentHPChangeEvent}s without keeping the listener from being garbage collected.
+     * The caller has to keep a strong reference to the listener for as long as it should be notified.
+     *
+     * @param listener the listener to register, only weakly referenced by this object
+     *
+     * @return a {@link Registration} object that can be used to unregister the listener
+     * @see EventBus#registerWeakListener(Class, EventListener)
+     */
+    public Registration registerWeakCurrentHPChangeListener(
+            @NotNull EventListener<? super CurrentHPChangeEvent> listener) {
+        return bus.registerWeakListener(CurrentHPChangeEvent.class, listener);
+    }
+
+    /**
+     * Registers a listener for {@link TempHPChangeEvent}s without keeping the listener from being garbage collected.
+     * The caller has to keep a strong reference to the listener for as long as it should be notified.
+     *
+     * @param listener the listener to register, only weakly referenced by this object
+     *
+     * @return a {@link Registration} object that can be used to unregister the listener
+     * @see EventBus#registerWeakListener(Class, EventListener)
+     */
+    public Registration registerWeakTempHPChangeListener(@NotNull EventListener<? super TempHPChangeEvent> listener) {
+        return bus.registerWeakListener(TempHPChangeEvent.class, listener);
+    }
+
+    private void currentHPChanged() {
+        PropertyTransaction.dispatch(currentHPSubject, () -> {
+            int oldHP = notifiedCurrentHitPoints;
+            notifiedCurrentHitPoints = currentHitPoints;
+            if (oldHP != currentHitPoints) {
+                bus.fireEvent(new CurrentHPChangeEvent(oldHP, currentHitPoints));
+            }
+        });
+    }
+
+    private void tempHPChanged() {
+        PropertyTransaction.dispatch(tempHPSubject, () -> {
+            int oldHP = notifiedTemporaryHitPoints;
+            notifiedTemporaryHitPoints = temporaryHitPoints;
+            if (oldHP != temporaryHitPoints) {
+                bus.fireEvent(new TempHPChangeEvent(oldHP, temporaryHitPoints));
+            }
+        });
+    }
+
     private void init() {
         maxHitPoints.addValueChangeListener(
                 event -> setCurrentHitPoints(Math.min(currentHitPoints, event.getNewValue())));
@@ -0,0 +1,99 @@
+package com.tikelespike.nilee.core.dice;
+
+/**
+ * Rolls many dice with the same number of sides from few random words, using batched ranged random integer generation
+ * (Brackett-Rozinsky and Lemire). A 64-bit random word is multiplied with the number of sides: the upper half of the
+ * 128-bit product is the result of one die, and the lower half is the random word for the next die. After {@code k}
+ * dice, the results are only biased if the remaining word is below {@code 2^64 mod sides^k}, in which case the whole
+ * batch is redrawn. Batches are chosen so that {@code sides^k <= 2^32}, so a batch is redrawn with a probability below
+ * {@code 2^-32}, and for example a single random word yields twelve d6 or four d100.
+ */
+final class BatchedDice {
+
+    private static final long MAX_PRODUCT = 1L << 32;
+
+    private BatchedDice() {
+
+    }
+
+    /**
+     * Rolls the given number of dice and returns the sum of their results.
+     *
+     * @param random the source of random words
+     * @param count the number of dice, not negative
+     * @param sides the number of sides of each die, positive
+     *
+     * @return the sum of the results
+     *
+     * @throws IllegalArgumentException if the highest possible sum does not fit into an int
+     */
+    static int sum(RandomSource random, int count, int sides) {
+        // checked before rolling, so the sum cannot overflow (results are at most the number of sides)
+        if ((long) count * sides > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The sum of " + count + "d" + sides + " may not fit into an int");
+        }
+        return roll(random, count, sides, null);
+    }
+
+    /**
+     * Rolls a die for each element of the given array, storing its result there.
+     *
+     * @param random the source of random words
+     * @param sides the number of sides of each die, positive
+     * @param results the array to fill with the results
+     */
+    static void fill(RandomSource random, int sides, int[] results) {
+        roll(random, results.length, sides, results);
+    }
+
+    // results may be null if only the sum is needed
+    private static int roll(RandomSource random, int count, int sides, int[] results) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative, got " + count);
+        }
+        if (sides <= 0) {
+            throw new IllegalArgumentException("Dice must have a positive number of sides, got " + sides);
+        }
+        int batch = 1;
+        long product = sides;
+        while (product * sides <= MAX_PRODUCT && batch < count) {
+            product *= sides;
+            batch++;
+        }
+        int sum = 0;
+        int rolled = 0;
+        while (count - rolled >= batch) {
+            sum += rollBatch(random, sides, batch, product, results, rolled);
+            rolled += batch;
+        }
+        if (rolled < count) {
+            int rest = count - rolled;
+            long restProduct = 1;
+            for (int i = 0; i < rest; i++) {
+                restProduct *= sides;
+            }
+            sum += rollBatch(random, sides, rest, restProduct, results, rolled);
+        }
+        return sum;
+    }
+
+    private static int rollBatch(RandomSource random, int sides, int batch, long product, int[] results, int offset) {
+        while (true) {
+            long word = random.nextLong();
+            int sum = 0;
+            for (int i = 0; i < batch; i++) {
+                int result = (int) Math.unsignedMultiplyHigh(word, sides) + 1;
+                word *= sides;
+                sum += result;
+                if (results != null) {
+                    results[offset + i] = result;
+                }
+            }
+            // the remaining word is the lower half of word * sides^batch, so it is biased iff below 2^64 mod product
+            if (Long.compareUnsigned(word, product) >= 0
+                    || Long.compareUnsigned(word, Long.remainderUnsigned(-product, product)) >= 0) {
+                return sum;
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.tikelespike.nilee.core.dice;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable dice expression parsed from dice notation (see {@link DiceParser}). The expression is flattened into its
+ * dice terms and a single constant when parsed, so evaluating it only rolls the dice and adds the constant, without
+ * walking a tree. Instances are cached by {@link DiceParser}, so they can be shared by any number of rolls and threads.
+ */
+public final class CompiledDiceExpression extends DiceExpression {
+
+    private final String notation;
+    private final DiceExpression[] dice;
+    private final int constant;
+    private final List<DiceExpression> terms;
+    private final LocalizedString localizedString;
+
+    /**
+     * Creates a new compiled expression.
+     *
+     * @param notation the normalized notation the expression was parsed from
+     * @param dice the dice terms of the expression ({@link Dice} or {@link KeepDice}), negated if subtracted
+     * @param constant the sum of all constant terms of the expression
+     */
+    CompiledDiceExpression(String notation, List<DiceExpression> dice, int constant) {
+        this.notation = notation;
+        this.dice = dice.toArray(new DiceExpression[0]);
+        this.constant = constant;
+        List<DiceExpression> allTerms = new ArrayList<>(dice);
+        if (constant != 0 || dice.isEmpty()) {
+            allTerms.add(new DiceConstant(constant));
+        }
+        this.terms = Collections.unmodifiableList(allTerms);
+        this.localizedString = new DiceSum(terms).toLocalizedString();
+    }
+
+    /**
+     * @return the normalized notation this expression was parsed from, like "2d8+1d6-1"
+     */
+    public String getNotation() {
+        return notation;
+    }
+
+    /**
+     * @return an unmodifiable list of the terms of this expression: its dice, followed by the sum of its constants
+     *         (unless that is zero)
+     */
+    public List<DiceExpression> getTerms() {
+        return terms;
+    }
+
+    @Override
+    public int evaluate(RandomSource random) {
+        Objects.requireNonNull(random);
+        int result = constant;
+        for (DiceExpression term : dice) {
+            // cannot overflow for parsed expressions (see DiceParser), checked anyway since it costs next to nothing
+            result = Math.addExact(result, term.evaluate(random));
+        }
+        return result;
+    }
+
+    @Override
+    public DiceExpression evaluatePartially(RandomSource random) {
+        Objects.requireNonNull(random);
+        DiceSum result = new DiceSum();
+        for (DiceExpression term : terms) {
+            result.addSummands(term.evaluatePartially(random));
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return notation;
+    }
+
+    @Override
+    public LocalizedString toLocalizedString() {
+        return localizedString;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof CompiledDiceExpression that && notation.equals(that.notation);
+    }
+
+    @Override
+    public int hashCode() {
+        return notation.hashCode();
+    }
+}
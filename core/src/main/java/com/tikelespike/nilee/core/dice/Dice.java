@@ -90,18 +90,34 @@ public class Dice extends DiceExpression {
         this(sides.getSides());
     }
 
+    /**
+     * @return the number of dice, negative if the sum of the dice is subtracted
+     */
+    public int getDiceCount() {
+        return diceCount;
+    }
+
+    /**
+     * @return the number of sides of each die, negative if the sum of the dice is subtracted
+     */
+    public int getSides() {
+        return sides;
+    }
+
     @Override
-    public int evaluate() {
-        int result = 0;
-        for (int i = 0; i < Math.abs(diceCount); i++) {
-            result += (int) ((int) Math.signum(diceCount) * ((Math.random() * sides) + 1));
-        }
-        return result;
+    public int evaluate(RandomSource random) {
+        Objects.requireNonNull(random);
+        int count = Math.abs(diceCount);
+        int absSides = Math.abs(sides);
+        // a single die only needs 32 random bits, pools are rolled several dice per random word
+        int result = count == 1 ? random.nextInt(absSides) + 1 : random.sumOfDice(count, absSides);
+        // negative counts or sides negate the sum (see constructor)
+        return (diceCount < 0) != (sides < 0) ? -result : result;
     }
 
     @Override
-    public DiceExpression evaluatePartially() {
-        return new DiceConstant(evaluate());
+    public DiceExpression evaluatePartially(RandomSource random) {
+        return new DiceConstant(evaluate(random));
     }
 
 
@@ -18,13 +18,20 @@ public class DiceConstant extends DiceExpression {
         this.value = value;
     }
 
+    /**
+     * @return the constant value of this expression
+     */
+    public int getValue() {
+        return value;
+    }
+
     @Override
-    public int evaluate() {
+    public int evaluate(RandomSource random) {
         return value;
     }
 
     @Override
-    public DiceExpression evaluatePartially() {
+    public DiceExpression evaluatePartially(RandomSource random) {
         return this;
     }
 
@@ -0,0 +1,355 @@
+package com.tikelespike.nilee.core.dice;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * The exact probability distribution of the result of a {@link DiceExpression}, like the chance to roll at least 15 on
+ * "1d20 + 5", or the distribution of the damage dealt by "8d6". Distributions are computed without sampling, by
+ * convolving the probability mass functions of the dice and constants of an expression. Summing many dice of the same
+ * kind (like "40d6") uses repeated squaring, so it only takes a logarithmic number of convolutions.
+ * <p>
+ * The size of a distribution (and the time to compute it) grows with the number of possible results, its support.
+ * Distributions with more than {@link #MAX_SUPPORT} possible results are rejected before anything is computed.
+ * <p>
+ * Distributions are immutable. All queries take constant time, as the mean, variance and cumulative probabilities are
+ * computed once. Distributions of expressions are cached by their canonical form (see {@link #of(DiceExpression)}),
+ * so showing the odds of a roll repeatedly only computes its distribution once.
+ */
+public final class DiceDistribution {
+
+    /**
+     * The maximum number of distributions of expressions kept in the cache. The least recently used distribution is
+     * evicted first.
+     */
+    public static final int CACHE_SIZE = 256;
+
+    /**
+     * The maximum number of possible results of a distribution (like 9,901 for "100d100"). Convolving two
+     * distributions takes time proportional to the product of their sizes, so this keeps computing any distribution
+     * within a few milliseconds.
+     */
+    public static final int MAX_SUPPORT = 10_000;
+
+    private static final Map<String, DiceDistribution> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, DiceDistribution> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final int min;
+    // probabilities[i] is the probability of the result min + i
+    private final double[] probabilities;
+    // atLeast[i] is the probability of a result of at least min + i
+    private final double[] atLeast;
+    private final double mean;
+    private final double variance;
+
+    private DiceDistribution(int min, double[] probabilities) {
+        this.min = min;
+        this.probabilities = probabilities;
+        this.atLeast = new double[probabilities.length];
+        double cumulative = 0;
+        double sum = 0;
+        for (int i = probabilities.length - 1; i >= 0; i--) {
+            cumulative += probabilities[i];
+            atLeast[i] = cumulative;
+            sum += (min + i) * probabilities[i];
+        }
+        this.mean = sum;
+        // central moments in a second pass, which is numerically stable for large results
+        double squaredDeviations = 0;
+        for (int i = 0; i < probabilities.length; i++) {
+            double deviation = min + i - mean;
+            squaredDeviations += deviation * deviation * probabilities[i];
+        }
+        this.variance = squaredDeviations;
+    }
+
+    /**
+     * Returns the distribution of the given expression. Expressions are first brought into a canonical form, in which
+     * dice of the same kind are combined and constants are summed up, so for example "1d6 + 2 + 1d6" and "2d6 + 2"
+     * share the same cached distribution.
+     *
+     * @param expression the expression to compute the distribution of, consisting of {@link Dice},
+     *         {@link DiceConstant DiceConstants}, {@link DiceSum DiceSums} and
+     *         {@link CompiledDiceExpression CompiledDiceExpressions}
+     *
+     * @return the distribution of the results of the given expression
+     *
+     * @throws IllegalArgumentException if the expression contains unsupported expressions or dice without sides, if
+     *         it has more than {@link #MAX_SUPPORT} possible results, or if its number of dice of the same kind or the
+     *         sum of its constants does not fit into an int
+     */
+    public static DiceDistribution of(@NotNull DiceExpression expression) {
+        CanonicalForm canonical = new CanonicalForm();
+        canonical.add(Objects.requireNonNull(expression));
+        canonical.checkSupport();
+        String key = canonical.toString();
+        synchronized (CACHE) {
+            DiceDistribution cached = CACHE.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // computed outside the lock, so a large distribution does not block queries of cached ones
+        DiceDistribution distribution = canonical.distribution();
+        synchronized (CACHE) {
+            DiceDistribution cached = CACHE.putIfAbsent(key, distribution);
+            return cached != null ? cached : distribution;
+        }
+    }
+
+    /**
+     * @param value the constant result
+     *
+     * @return the distribution always yielding the given value
+     */
+    public static DiceDistribution constant(int value) {
+        return new DiceDistribution(value, new double[] {1});
+    }
+
+    /**
+     * @param sides the number of sides of the die, between 1 and {@link #MAX_SUPPORT}
+     *
+     * @return the distribution of a single die, yielding each result from 1 to the number of sides with equal
+     *         probability
+     */
+    public static DiceDistribution die(int sides) {
+        if (sides <= 0) {
+            throw new IllegalArgumentException("Dice must have a positive number of sides, got " + sides);
+        }
+        checkSupport(sides);
+        double[] probabilities = new double[sides];
+        Arrays.fill(probabilities, 1.0 / sides);
+        return new DiceDistribution(1, probabilities);
+    }
+
+    /**
+     * Returns the distribution of the sum of a result of this distribution and a result of the given one, by
+     * convolving both.
+     *
+     * @param other the distribution of the other summand
+     *
+     * @return the distribution of the sum
+     *
+     * @throws IllegalArgumentException if the sum has more than {@link #MAX_SUPPORT} possible results, or results
+     *         that do not fit into an int
+     */
+    public DiceDistribution plus(@NotNull DiceDistribution other) {
+        double[] a = probabilities;
+        double[] b = other.probabilities;
+        checkSupport(a.length + b.length - 1L);
+        if ((long) min + other.min < Integer.MIN_VALUE || (long) getMax() + other.getMax() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The results of the sum do not fit into an int");
+        }
+        double[] sum = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            double p = a[i];
+            if (p == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                sum[i + j] += p * b[j];
+            }
+        }
+        return new DiceDistribution(min + other.min, sum);
+    }
+
+    /**
+     * Returns the distribution of the sum of the given number of independent results of this distribution (like 8d6
+     * for the distribution of a d6). Uses repeated squaring, so only a logarithmic number of convolutions is needed.
+     *
+     * @param count the number of summands, not negative
+     *
+     * @return the distribution of the sum
+     *
+     * @throws IllegalArgumentException if the sum has more than {@link #MAX_SUPPORT} possible results
+     */
+    public DiceDistribution times(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative, got " + count);
+        }
+        // checked up front, so no intermediate power is computed in vain
+        checkSupport((probabilities.length - 1L) * count + 1);
+        DiceDistribution result = constant(0);
+        DiceDistribution power = this;
+        while (count > 0) {
+            if ((count & 1) != 0) {
+                result = result.plus(power);
+            }
+            count >>>= 1;
+            if (count > 0) {
+                power = power.plus(power);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the distribution of the negated results of this distribution
+     */
+    public DiceDistribution negate() {
+        double[] negated = new double[probabilities.length];
+        for (int i = 0; i < negated.length; i++) {
+            negated[i] = probabilities[probabilities.length - 1 - i];
+        }
+        return new DiceDistribution(-getMax(), negated);
+    }
+
+    /**
+     * @return the lowest possible result
+     */
+    public int getMin() {
+        return min;
+    }
+
+    /**
+     * @return the highest possible result
+     */
+    public int getMax() {
+        return min + probabilities.length - 1;
+    }
+
+    /**
+     * @return the expected value of the results
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * @return the variance of the results
+     */
+    public double getVariance() {
+        return variance;
+    }
+
+    /**
+     * @param result a result
+     *
+     * @return the probability of exactly the given result
+     */
+    public double probabilityOf(int result) {
+        long index = (long) result - min;
+        return index < 0 || index >= probabilities.length ? 0 : probabilities[(int) index];
+    }
+
+    /**
+     * Returns the probability of a result of at least the given value, like the chance to hit an armor class of 15.
+     *
+     * @param result the lowest result counted
+     *
+     * @return the probability of a result greater than or equal to the given one
+     */
+    public double probabilityAtLeast(int result) {
+        long index = (long) result - min;
+        if (index <= 0) {
+            return 1;
+        }
+        return index >= atLeast.length ? 0 : atLeast[(int) index];
+    }
+
+    /**
+     * @param result the highest result counted
+     *
+     * @return the probability of a result less than or equal to the given one
+     */
+    public double probabilityAtMost(int result) {
+        return result == Integer.MAX_VALUE ? 1 : 1 - probabilityAtLeast(result + 1);
+    }
+
+    private static void checkSupport(long support) {
+        if (support > MAX_SUPPORT) {
+            throw new IllegalArgumentException("Distributions with " + support + " possible results are not supported, "
+                    + "at most " + MAX_SUPPORT + " are allowed");
+        }
+    }
+
+    /**
+     * The dice of an expression by their signed number of sides, and the sum of its constants.
+     */
+    private static final class CanonicalForm {
+        private final Map<Integer, Integer> dice = new TreeMap<>();
+        private int constant;
+
+        private void add(DiceExpression expression) {
+            if (expression instanceof Dice d) {
+                if (d.getSides() == 0) {
+                    throw new IllegalArgumentException("Dice must have sides: " + d);
+                }
+                int signedSides = (d.getDiceCount() < 0) != (d.getSides() < 0)
+                        ? -Math.abs(d.getSides())
+                        : Math.abs(d.getSides());
+                if (d.getDiceCount() != 0) {
+                    dice.merge(signedSides, Math.abs(d.getDiceCount()), CanonicalForm::addExact);
+                }
+            } else if (expression instanceof DiceConstant c) {
+                constant = addExact(constant, c.getValue());
+            } else if (expression instanceof DiceSum sum) {
+                sum.getSummands().forEach(this::add);
+            } else if (expression instanceof CompiledDiceExpression compiled) {
+                compiled.getTerms().forEach(this::add);
+            } else {
+                throw new IllegalArgumentException("No distribution known for " + expression.getClass().getName());
+            }
+        }
+
+        private static int addExact(int a, int b) {
+            try {
+                return Math.addExact(a, b);
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Dice counts or constants do not fit into an int", e);
+            }
+        }
+
+        // computed in longs and checked after every kind of die, so that checking huge expressions cannot overflow
+        private void checkSupport() {
+            long support = 1;
+            long min = constant;
+            long max = constant;
+            for (Map.Entry<Integer, Integer> entry : dice.entrySet()) {
+                long count = entry.getValue();
+                long sides = Math.abs((long) entry.getKey());
+                support += count * (sides - 1);
+                if (entry.getKey() < 0) {
+                    min -= count * sides;
+                    max -= count;
+                } else {
+                    min += count;
+                    max += count * sides;
+                }
+                DiceDistribution.checkSupport(support);
+            }
+            if (min < Integer.MIN_VALUE || max > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The results of " + this + " do not fit into an int");
+            }
+        }
+
+        private DiceDistribution distribution() {
+            DiceDistribution result = constant(constant);
+            for (Map.Entry<Integer, Integer> entry : dice.entrySet()) {
+                DiceDistribution sum = die(Math.abs(entry.getKey())).times(entry.getValue());
+                result = result.plus(entry.getKey() < 0 ? sum.negate() : sum);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            dice.forEach((sides, count) -> builder.append(sides < 0 ? "-" : "+").append(count).append('d')
+                    .append(Math.abs(sides)));
+            if (constant != 0 || builder.isEmpty()) {
+                builder.append(constant < 0 ? "-" : "+").append(Math.abs((long) constant));
+            }
+            return builder.charAt(0) == '+' ? builder.substring(1) : builder.toString();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.tikelespike.nilee.core.dice;
 
 import com.tikelespike.nilee.core.i18n.LocalizedString;
+import jakarta.validation.constraints.NotNull;
 
 /**
  * A dice expression that can be evaluated to a number by rolling dice. For example, "2d6 + 1d4 + 3" usually means a
@@ -10,18 +11,42 @@ import com.tikelespike.nilee.core.i18n.LocalizedString;
 public abstract class DiceExpression {
 
     /**
-     * Evaluates this dice expression by rolling all dice and evaluating the operands.
+     * Evaluates this dice expression by rolling all dice and evaluating the operands. Dice are rolled using
+     * {@link RandomSource#threadLocal()}.
      *
      * @return the result of evaluating this dice expression by rolling dice.
      */
-    public abstract int evaluate();
+    public int evaluate() {
+        return evaluate(RandomSource.threadLocal());
+    }
 
     /**
-     * Only rolls all dice in this expression, but does not evaluate the operands.
+     * Evaluates this dice expression by rolling all dice using the given random source and evaluating the operands.
+     *
+     * @param random the source of randomness to roll the dice with
+     *
+     * @return the result of evaluating this dice expression by rolling dice.
+     */
+    public abstract int evaluate(@NotNull RandomSource random);
+
+    /**
+     * Only rolls all dice in this expression, but does not evaluate the operands. Dice are rolled using
+     * {@link RandomSource#threadLocal()}.
+     *
+     * @return a dice expression that can be evaluated to a number by evaluating the operands.
+     */
+    public DiceExpression evaluatePartially() {
+        return evaluatePartially(RandomSource.threadLocal());
+    }
+
+    /**
+     * Only rolls all dice in this expression using the given random source, but does not evaluate the operands.
+     *
+     * @param random the source of randomness to roll the dice with
      *
      * @return a dice expression that can be evaluated to a number by evaluating the operands.
      */
-    public abstract DiceExpression evaluatePartially();
+    public abstract DiceExpression evaluatePartially(@NotNull RandomSource random);
 
     /**
      * Converts this dice expression to a localized string representation, like "2d6 + 1d4 + 3".
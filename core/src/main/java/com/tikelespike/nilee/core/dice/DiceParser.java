@@ -0,0 +1,220 @@
+package com.tikelespike.nilee.core.dice;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Parses dice expressions in standard dice notation, like "2d8 + 1d6 - 1", "4d6kh3" (keep the highest three of four
+ * six-sided dice) or "2d20kl1 + 5" (keep the lowest of two twenty-sided dice). An expression is a sum or difference of
+ * terms, each of which is either a constant or a number of dice of the form {@code [count]d<sides>}, optionally
+ * followed by {@code kh<keep>} or {@code kl<keep>} ({@code k<keep>} is short for {@code kh<keep>}). Case and whitespace
+ * around operators are ignored, and a missing count means a single die.
+ * <p>
+ * Since notations may be typed by users, expressions are limited to {@link #MAX_TERMS} terms, {@link #MAX_DICE} dice
+ * in total and dice with at most {@link #MAX_SIDES} sides, and every possible result has to fit into an int. This
+ * bounds the work of rolling an expression, and evaluating it can never overflow.
+ * <p>
+ * Parsed expressions are immutable and cached by their normalized notation, so repeated custom rolls (like a player
+ * rolling the same damage each turn) are neither parsed again nor allocate a new expression.
+ */
+public final class DiceParser {
+
+    /**
+     * The maximum number of parsed expressions kept in the cache. The least recently used expression is evicted first.
+     */
+    public static final int CACHE_SIZE = 256;
+
+    /**
+     * The maximum number of dice an expression may roll, summed over all of its terms.
+     */
+    public static final int MAX_DICE = 10_000;
+
+    /**
+     * The maximum number of sides of a die.
+     */
+    public static final int MAX_SIDES = 10_000;
+
+    /**
+     * The maximum number of terms (dice and constants) of an expression.
+     */
+    public static final int MAX_TERMS = 100;
+
+    private static final Map<String, CompiledDiceExpression> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CompiledDiceExpression> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private final String notation;
+    private int position;
+    private int totalDice;
+    // the lowest and highest possible sums of the dice parsed so far, at most MAX_DICE * MAX_SIDES in absolute value
+    private long lowest;
+    private long highest;
+
+    private DiceParser(String notation) {
+        this.notation = notation;
+    }
+
+    /**
+     * Parses the given dice notation, or returns the cached expression if the same notation (ignoring case and
+     * whitespace around operators) was parsed before.
+     *
+     * @param notation the dice notation to parse, like "2d8 + 1d6 - 1"
+     *
+     * @return the parsed expression
+     *
+     * @throws IllegalArgumentException if the notation is not valid
+     */
+    public static CompiledDiceExpression parse(@NotNull String notation) {
+        String normalized = normalize(Objects.requireNonNull(notation));
+        synchronized (CACHE) {
+            CompiledDiceExpression cached = CACHE.get(normalized);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        CompiledDiceExpression expression = new DiceParser(normalized).parseExpression();
+        synchronized (CACHE) {
+            CompiledDiceExpression cached = CACHE.putIfAbsent(normalized, expression);
+            return cached != null ? cached : expression;
+        }
+    }
+
+    // drops whitespace around operators, but keeps a single space within terms (like "2d8 3"), which is rejected
+    private static String normalize(String notation) {
+        String trimmed = notation.strip().toLowerCase(Locale.ROOT);
+        StringBuilder builder = new StringBuilder(trimmed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+            if (pendingSpace && !isOperator(c) && !isOperator(builder.charAt(builder.length() - 1))) {
+                builder.append(' ');
+            }
+            pendingSpace = false;
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    private CompiledDiceExpression parseExpression() {
+        List<DiceExpression> dice = new ArrayList<>();
+        long constant = 0;
+        int terms = 0;
+        do {
+            if (++terms > MAX_TERMS) {
+                throw new IllegalArgumentException(
+                        "Invalid dice notation '" + notation + "': at most " + MAX_TERMS + " terms are allowed");
+            }
+            boolean negative = false;
+            if (peek() == '+' || peek() == '-') {
+                negative = notation.charAt(position++) == '-';
+            } else if (position > 0) {
+                throw error("'+' or '-'");
+            }
+            int count = isDigit(peek()) ? parseNumber() : -1;
+            if (peek() != 'd') {
+                if (count < 0) {
+                    throw error("a number or 'd'");
+                }
+                constant += negative ? -count : count;
+                continue;
+            }
+            position++;
+            dice.add(parseDice(count < 0 ? 1 : count, negative));
+        } while (position < notation.length());
+        // constants are at most MAX_TERMS ints, so neither sum overflows a long
+        if (constant + lowest < Integer.MIN_VALUE || constant + highest > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid dice notation '" + notation + "': results are too large");
+        }
+        return new CompiledDiceExpression(notation, dice, (int) constant);
+    }
+
+    // parses the part after the 'd'
+    private DiceExpression parseDice(int count, boolean negative) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Invalid dice notation '" + notation + "': dice count must be positive");
+        }
+        totalDice += count;
+        if (count > MAX_DICE || totalDice > MAX_DICE) {
+            throw new IllegalArgumentException(
+                    "Invalid dice notation '" + notation + "': at most " + MAX_DICE + " dice are allowed");
+        }
+        int sides = parseNumber();
+        if (sides < 1 || sides > MAX_SIDES) {
+            throw new IllegalArgumentException(
+                    "Invalid dice notation '" + notation + "': dice must have between 1 and " + MAX_SIDES + " sides");
+        }
+        int signedCount = negative ? -count : count;
+        if (peek() != 'k') {
+            addRange(count, sides, negative);
+            return new Dice(signedCount, sides);
+        }
+        position++;
+        boolean highest = true;
+        if (peek() == 'h' || peek() == 'l') {
+            highest = notation.charAt(position++) == 'h';
+        }
+        int keep = parseNumber();
+        if (keep < 1 || keep > count) {
+            throw new IllegalArgumentException(
+                    "Invalid dice notation '" + notation + "': cannot keep " + keep + " of " + count + " dice");
+        }
+        addRange(keep, sides, negative);
+        return new KeepDice(signedCount, sides, keep, highest);
+    }
+
+    // each of the summed dice adds between 1 and the number of sides to the result, or subtracts it if negative
+    private void addRange(int summed, int sides, boolean negative) {
+        lowest += negative ? -(long) summed * sides : summed;
+        highest += negative ? -summed : (long) summed * sides;
+    }
+
+    private int parseNumber() {
+        int start = position;
+        int value = 0;
+        while (isDigit(peek())) {
+            int digit = notation.charAt(position++) - '0';
+            if (value > (Integer.MAX_VALUE - digit) / 10) {
+                throw new IllegalArgumentException(
+                        "Invalid dice notation '" + notation + "': number at position " + start + " is too large");
+            }
+            value = value * 10 + digit;
+        }
+        if (position == start) {
+            throw error("a number");
+        }
+        return value;
+    }
+
+    private static boolean isOperator(char c) {
+        return c == '+' || c == '-';
+    }
+
+    // only ASCII digits, unlike Character.isDigit
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private char peek() {
+        return position < notation.length() ? notation.charAt(position) : '\0';
+    }
+
+    private IllegalArgumentException error(String expected) {
+        String found = position < notation.length() ? "'" + notation.charAt(position) + "'" : "end of input";
+        return new IllegalArgumentException(
+                "Invalid dice notation '" + notation + "': expected " + expected + " at position " + position
+                        + ", found " + found);
+    }
+}
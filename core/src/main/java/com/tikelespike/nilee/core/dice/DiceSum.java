@@ -5,6 +5,7 @@ import com.tikelespike.nilee.core.i18n.LocalizedString;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Multiple dice expressions added together. For example, "2d6 + 1d4 + 3" is a dice sum with three summands.
@@ -50,15 +51,21 @@ public class DiceSum extends DiceExpression {
     }
 
     @Override
-    public int evaluate() {
-        return summands.stream().map(DiceExpression::evaluate).reduce(0, Integer::sum);
+    public int evaluate(RandomSource random) {
+        Objects.requireNonNull(random);
+        int result = 0;
+        for (DiceExpression summand : summands) {
+            result += summand.evaluate(random);
+        }
+        return result;
     }
 
     @Override
-    public DiceExpression evaluatePartially() {
+    public DiceExpression evaluatePartially(RandomSource random) {
+        Objects.requireNonNull(random);
         DiceSum result = new DiceSum();
         for (DiceExpression summand : summands) {
-            result.addSummands(summand.evaluatePartially());
+            result.addSummands(summand.evaluatePartially(random));
         }
         return result;
     }
@@ -0,0 +1,32 @@
+package com.tikelespike.nilee.core.dice;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * A random source drawing its bits from a {@link RandomGenerator}, taking 64 bits at once where possible.
+ */
+final class GeneratorRandomSource implements RandomSource {
+
+    /**
+     * Draws its bits from the {@link ThreadLocalRandom} of the calling thread.
+     */
+    static final RandomSource THREAD_LOCAL = new GeneratorRandomSource(ThreadLocalRandom::current);
+
+    private final Supplier<RandomGenerator> generator;
+
+    GeneratorRandomSource(Supplier<RandomGenerator> generator) {
+        this.generator = generator;
+    }
+
+    @Override
+    public int nextInt() {
+        return generator.get().nextInt();
+    }
+
+    @Override
+    public long nextLong() {
+        return generator.get().nextLong();
+    }
+}
@@ -0,0 +1,122 @@
+package com.tikelespike.nilee.core.dice;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A number of dice of which only the highest or lowest results are summed. Represents what is commonly expressed as,
+ * for example, "4d6kh3" (roll four six-sided dice and keep the highest three, as when rolling ability scores) or
+ * "2d20kl1" (roll with disadvantage).
+ */
+public class KeepDice extends DiceExpression {
+
+    private final int diceCount;
+    private final int sides;
+    private final int keep;
+    private final boolean highest;
+
+    /**
+     * Creates a dice object representing the expression "<i>[diceCount]</i>d<i>[sides]</i>kh<i>[keep]</i>" or
+     * "<i>[diceCount]</i>d<i>[sides]</i>kl<i>[keep]</i>".
+     *
+     * @param diceCount the number of dice to roll. If negative, the result is negated.
+     * @param sides the number of sides of each die, must be positive
+     * @param keep the number of results to keep, between 1 and the number of dice
+     * @param highest true to keep the highest results, false to keep the lowest ones
+     *
+     * @throws IllegalArgumentException if the highest possible sum of the kept results does not fit into an int
+     */
+    public KeepDice(int diceCount, int sides, int keep, boolean highest) {
+        if (sides <= 0) {
+            throw new IllegalArgumentException("Dice must have a positive number of sides, got " + sides);
+        }
+        if (keep < 1 || keep > Math.abs(diceCount)) {
+            throw new IllegalArgumentException("Cannot keep " + keep + " of " + Math.abs(diceCount) + " dice");
+        }
+        if ((long) keep * sides > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The sum of " + keep + " dice with " + sides + " sides may not fit into "
+                    + "an int");
+        }
+        this.diceCount = diceCount;
+        this.sides = sides;
+        this.keep = keep;
+        this.highest = highest;
+    }
+
+    /**
+     * @return the number of dice rolled, negative if the result is subtracted
+     */
+    public int getDiceCount() {
+        return diceCount;
+    }
+
+    /**
+     * @return the number of sides of each die
+     */
+    public int getSides() {
+        return sides;
+    }
+
+    /**
+     * @return the number of results kept
+     */
+    public int getKeep() {
+        return keep;
+    }
+
+    /**
+     * @return true if the highest results are kept, false if the lowest ones are
+     */
+    public boolean keepsHighest() {
+        return highest;
+    }
+
+    @Override
+    public int evaluate(RandomSource random) {
+        Objects.requireNonNull(random);
+        int[] results = new int[Math.abs(diceCount)];
+        random.rollDice(sides, results);
+        Arrays.sort(results);
+        int from = highest ? results.length - keep : 0;
+        int result = 0;
+        for (int i = from; i < from + keep; i++) {
+            result += results[i];
+        }
+        return diceCount < 0 ? -result : result;
+    }
+
+    @Override
+    public DiceExpression evaluatePartially(RandomSource random) {
+        return new DiceConstant(evaluate(random));
+    }
+
+    @Override
+    public String toString() {
+        return diceCount + "d" + sides + (highest ? "kh" : "kl") + keep;
+    }
+
+    @Override
+    public LocalizedString toLocalizedString() {
+        return t -> t.translate(highest ? "dice.keep_highest_expression" : "dice.keep_lowest_expression",
+                (diceCount < 0 ? "- " : "") + Math.abs(diceCount), sides, keep);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        KeepDice that = (KeepDice) o;
+        return diceCount == that.diceCount && sides == that.sides && keep == that.keep && highest == that.highest;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(diceCount, sides, keep, highest);
+    }
+}
@@ -0,0 +1,156 @@
+package com.tikelespike.nilee.core.dice;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * A source of random numbers used to roll dice. Implementations only have to provide uniformly distributed random
+ * bits, from which dice results are drawn using integer arithmetic only (see {@link #nextInt(int)}).
+ * <p>
+ * By default, dice are rolled using {@link #threadLocal()}, which does not share any state between threads, so
+ * concurrent rolls (for example, of different game sessions) do not contend. Sources with their own state (like the
+ * one of a {@link com.tikelespike.nilee.core.game.GameSession}) can be created using {@link #splittable(long)} or
+ * {@link #of(String)}.
+ */
+@FunctionalInterface
+public interface RandomSource {
+
+    /**
+     * @return 32 uniformly distributed random bits
+     */
+    int nextInt();
+
+    /**
+     * Returns 64 uniformly distributed random bits. Sources backed by a generator producing 64 bits at once should
+     * override this, by default two calls of {@link #nextInt()} are combined.
+     *
+     * @return 64 uniformly distributed random bits
+     */
+    default long nextLong() {
+        return ((long) nextInt() << 32) | Integer.toUnsignedLong(nextInt());
+    }
+
+    /**
+     * Returns a uniformly distributed random number between zero (inclusive) and the given bound (exclusive). Uses
+     * Lemire's nearly divisionless method: the random bits are multiplied with the bound, and the upper half of the
+     * product is the result. Only products whose lower half is below {@code 2^32 mod bound} would bias the result, so a
+     * division is only needed (and the bits are only redrawn) in the rare case that the lower half is below the bound.
+     *
+     * @param bound the exclusive upper bound of the result, must be positive
+     *
+     * @return a random number in {@code [0, bound)}
+     */
+    default int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("Bound must be positive, got " + bound);
+        }
+        long product = Integer.toUnsignedLong(nextInt()) * bound;
+        long low = product & 0xFFFFFFFFL;
+        if (low < bound) {
+            long threshold = (1L << 32) % bound;
+            while (low < threshold) {
+                product = Integer.toUnsignedLong(nextInt()) * bound;
+                low = product & 0xFFFFFFFFL;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    /**
+     * Rolls the given number of dice and returns the sum of their results. Rolls several dice from each random word
+     * (like twelve d6 from 64 random bits) instead of drawing random bits for each die, which makes rolling large
+     * pools of dice considerably faster.
+     *
+     * @param count the number of dice, not negative
+     * @param sides the number of sides of each die, must be positive
+     *
+     * @return the sum of the results of all dice
+     *
+     * @throws IllegalArgumentException if the highest possible sum ({@code count * sides}) does not fit into an int
+     */
+    default int sumOfDice(int count, int sides) {
+        return BatchedDice.sum(this, count, sides);
+    }
+
+    /**
+     * Rolls a die for each element of the given array, storing its result (between 1 and the number of sides) there.
+     * Rolls several dice from each random word, like {@link #sumOfDice(int, int)}.
+     *
+     * @param sides the number of sides of each die, must be positive
+     * @param results the array to fill with the results
+     */
+    default void rollDice(int sides, @NotNull int[] results) {
+        BatchedDice.fill(this, sides, Objects.requireNonNull(results));
+    }
+
+    /**
+     * Returns the source used to roll dice if no other source is given. Draws its bits from
+     * {@link java.util.concurrent.ThreadLocalRandom}, so it can be used by any number of threads without contention.
+     *
+     * @return a source using the random generator of the current thread
+     */
+    static RandomSource threadLocal() {
+        return GeneratorRandomSource.THREAD_LOCAL;
+    }
+
+    /**
+     * Creates a source drawing its bits from the given generator. The source is only thread-safe if the generator is.
+     *
+     * @param generator the generator to use
+     *
+     * @return a source using the given generator
+     */
+    static RandomSource of(@NotNull RandomGenerator generator) {
+        Objects.requireNonNull(generator);
+        return new GeneratorRandomSource(() -> generator);
+    }
+
+    /**
+     * Creates a source using a new instance of the given algorithm of the JDK, like {@code "L64X128MixRandom"} or
+     * {@code "Xoshiro256PlusPlus"}. If the algorithm is splittable, the source is thread-safe, giving each thread its
+     * own split of the generator (see {@link #splittable(RandomGenerator.SplittableGenerator)}). Otherwise, it may only
+     * be used by one thread at a time.
+     *
+     * @param algorithm the name of the algorithm
+     *
+     * @return a source using a new generator of the given algorithm
+     *
+     * @throws IllegalArgumentException if the algorithm is unknown
+     * @see java.util.random.RandomGeneratorFactory
+     */
+    static RandomSource of(@NotNull String algorithm) {
+        RandomGenerator generator = RandomGenerator.of(Objects.requireNonNull(algorithm));
+        if (generator instanceof RandomGenerator.SplittableGenerator splittable) {
+            return splittable(splittable);
+        }
+        return of(generator);
+    }
+
+    /**
+     * Creates a thread-safe source from a splittable generator. Each thread using the source draws its bits from its
+     * own split of the generator, so the threads never contend, and a fixed seed of the generator yields reproducible
+     * rolls as long as only one thread rolls.
+     *
+     * @param generator the generator to split, must not be used elsewhere afterward
+     *
+     * @return a source using splits of the given generator
+     */
+    static RandomSource splittable(@NotNull RandomGenerator.SplittableGenerator generator) {
+        return new SplittingRandomSource(Objects.requireNonNull(generator));
+    }
+
+    /**
+     * Creates a thread-safe source from a new {@link SplittableRandom} with the given seed, as used by
+     * {@link #splittable(RandomGenerator.SplittableGenerator)}.
+     *
+     * @param seed the seed of the generator
+     *
+     * @return a new source using a splittable generator with the given seed
+     */
+    static RandomSource splittable(long seed) {
+        return splittable(new SplittableRandom(seed));
+    }
+}
@@ -0,0 +1,32 @@
+package com.tikelespike.nilee.core.dice;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A random source giving each thread its own split of a splittable generator. The root generator is only accessed
+ * (under a lock) when a thread uses the source for the first time.
+ */
+final class SplittingRandomSource implements RandomSource {
+
+    private final RandomGenerator.SplittableGenerator root;
+    private final ThreadLocal<RandomGenerator> splits;
+
+    SplittingRandomSource(RandomGenerator.SplittableGenerator root) {
+        this.root = root;
+        this.splits = ThreadLocal.withInitial(this::split);
+    }
+
+    @Override
+    public int nextInt() {
+        return splits.get().nextInt();
+    }
+
+    @Override
+    public long nextLong() {
+        return splits.get().nextLong();
+    }
+
+    private synchronized RandomGenerator split() {
+        return root.split();
+    }
+}
@@ -0,0 +1,124 @@
+package com.tikelespike.nilee.core.effects;
+
+import com.tikelespike.nilee.core.property.ModifierGroup;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * A clock measuring time in discrete ticks (like game rounds or seconds), on which tasks can be scheduled to run after
+ * a given number of ticks. Scheduled tasks are stored in a hierarchical timing wheel, so scheduling and cancelling a
+ * task take constant time. Advancing the clock jumps from one tick on which tasks expire (or move down a level of the
+ * wheel) to the next, so it neither depends on the number of other tasks scheduled nor on the number of idle ticks
+ * passed.
+ * <p>
+ * All tasks expiring while the clock advances run in a single {@link PropertyTransaction}, on the thread advancing the
+ * clock, so tasks changing properties have to hand the change to the owner of the properties themselves. Expiring
+ * {@link TimedEffect TimedEffects} are handed to the executor of their owner, one task per owner, which detaches them
+ * together (see {@link ModifierGroup#detachAll(java.util.Collection)}), so each property is notified once per advance,
+ * no matter how many of its modifiers expire. Scheduling and cancelling is thread-safe, but the clock should only be
+ * advanced by one thread at a time.
+ */
+public abstract class EffectClock {
+
+    private final TimingWheel wheel = new TimingWheel(0);
+
+    /**
+     * Schedules a task to run once this clock has advanced by the given number of ticks.
+     *
+     * @param ticks the number of ticks after which to run the task, at least 1
+     * @param task the task to run
+     *
+     * @return a handle to cancel the task
+     */
+    public Timeout schedule(long ticks, @NotNull Runnable task) {
+        Objects.requireNonNull(task);
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Tasks have to be scheduled at least one tick ahead, got " + ticks);
+        }
+        synchronized (this) {
+            Timeout timeout = new Timeout(this, Math.addExact(wheel.now(), ticks), task);
+            wheel.add(timeout);
+            return timeout;
+        }
+    }
+
+    /**
+     * @return the number of ticks this clock has advanced since it was created
+     */
+    public synchronized long getTime() {
+        return wheel.now();
+    }
+
+    /**
+     * @return the number of tasks scheduled on this clock that have neither run nor been cancelled yet
+     */
+    public synchronized int getPendingCount() {
+        return wheel.size();
+    }
+
+    /**
+     * Advances this clock by the given number of ticks, and runs all tasks expiring on the way in the order of their
+     * deadline. Expiring timed effects are handed to their owners after that, all effects of an owner in a single
+     * task. If a task (or handing effects to an owner) throws an exception, the remaining tasks still run, and the
+     * first exception is rethrown afterward.
+     *
+     * @param ticks the number of ticks to advance by, not negative
+     */
+    protected void advance(long ticks) {
+        if (ticks < 0) {
+            throw new IllegalArgumentException("Clocks cannot go backwards, got " + ticks + " ticks");
+        }
+        List<Timeout> expired = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(ticks, expired);
+        }
+        if (!expired.isEmpty()) {
+            PropertyTransaction.run(() -> runAll(expired));
+        }
+    }
+
+    synchronized boolean cancel(Timeout timeout) {
+        if (timeout.bucket == null) {
+            return false;
+        }
+        wheel.remove(timeout);
+        timeout.markCancelled();
+        return true;
+    }
+
+    private static void runAll(List<Timeout> expired) {
+        Map<Executor, List<ModifierGroup>> expiredGroups = new LinkedHashMap<>();
+        List<Runnable> tasks = new ArrayList<>(expired.size());
+        for (Timeout timeout : expired) {
+            if (timeout.task instanceof TimedEffect.Expiry expiry) {
+                expiredGroups.computeIfAbsent(expiry.owner(), owner -> new ArrayList<>()).add(expiry.group());
+            } else {
+                tasks.add(timeout.task);
+            }
+        }
+        expiredGroups.forEach((owner, groups) -> tasks.add(
+                () -> owner.execute(() -> PropertyTransaction.run(() -> ModifierGroup.detachAll(groups)))));
+        RuntimeException failure = null;
+        for (Runnable task : tasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
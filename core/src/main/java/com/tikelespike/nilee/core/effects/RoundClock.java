@@ -0,0 +1,36 @@
+package com.tikelespike.nilee.core.effects;
+
+import com.tikelespike.nilee.core.game.GameSession;
+
+/**
+ * A clock counting the rounds of a game, like the combat rounds of an encounter. Each {@link GameSession} has its own
+ * round clock (see {@link GameSession#getRoundClock()}), which is advanced by the game master once a round ends.
+ * Expiring tasks run on the thread of the game master, so effects on the characters of other players are handed to
+ * the owners of these characters (see {@link TimedEffect}).
+ */
+public class RoundClock extends EffectClock {
+
+    /**
+     * @return the number of rounds that have ended since this clock was created
+     */
+    public long getRound() {
+        return getTime();
+    }
+
+    /**
+     * Ends the current round, running all tasks expiring at its end.
+     */
+    public void nextRound() {
+        advance(1);
+    }
+
+    /**
+     * Ends the given number of rounds at once (for example, when skipping ahead after an encounter), running all tasks
+     * expiring in these rounds.
+     *
+     * @param rounds the number of rounds to end, not negative
+     */
+    public void advanceRounds(long rounds) {
+        advance(rounds);
+    }
+}
@@ -0,0 +1,121 @@
+package com.tikelespike.nilee.core.effects;
+
+import com.tikelespike.nilee.core.property.ModifierGroup;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link ModifierGroup} that is only attached for a limited time, like a spell lasting ten rounds or a potion lasting
+ * an hour. The group is attached when the effect starts, and detached once its duration has passed on an
+ * {@link EffectClock}, or when the effect is {@link #end() ended} early.
+ * <p>
+ * Like all changes to properties, detaching has to happen on the thread (or in the context) the character is changed
+ * in, but clocks are advanced elsewhere: a {@link WallClock} on a thread shared by all sessions, and a
+ * {@link RoundClock} on the thread of the game master. Each effect is therefore started with the {@link Executor} of
+ * the owner of the character (like the executor serializing the changes of one user's session), and the clock hands
+ * expired effects to that executor instead of detaching them itself. Effects expiring on the same advance of a clock
+ * with the same owner are detached together in a single task, so each property is notified once, no matter how many
+ * of the effects modify it.
+ */
+public final class TimedEffect {
+
+    private final ModifierGroup group;
+    private final Timeout timeout;
+
+    private TimedEffect(ModifierGroup group, Timeout timeout) {
+        this.group = group;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Attaches the given group, and schedules it to be detached once the given clock has advanced by the given number
+     * of ticks. Has to be called by the owner of the modified character (in the context of the given executor).
+     *
+     * @param group the modifiers applied by the effect
+     * @param clock the clock measuring the duration of the effect (e.g. the round clock of a game session)
+     * @param ticks the duration of the effect in ticks of the clock (e.g. rounds), at least 1
+     * @param owner the executor the modified character is changed on, which detaches the group once it expires. May
+     *         run the task directly if the clock is only advanced in the context of the owner.
+     *
+     * @return the started effect
+     */
+    public static TimedEffect start(@NotNull ModifierGroup group, @NotNull EffectClock clock, long ticks,
+                                    @NotNull Executor owner) {
+        Objects.requireNonNull(group);
+        Objects.requireNonNull(clock);
+        Objects.requireNonNull(owner);
+        if (ticks < 1) {
+            throw new IllegalArgumentException("Effects have to last at least one tick, got " + ticks);
+        }
+        // attached first, so an expiry running right away on the thread of the clock always finds the group attached
+        group.attach();
+        Timeout timeout;
+        try {
+            timeout = clock.schedule(ticks, new Expiry(group, owner));
+        } catch (RuntimeException e) {
+            group.detach();
+            throw e;
+        }
+        return new TimedEffect(group, timeout);
+    }
+
+    /**
+     * Attaches the given group, and schedules it to be detached once the given duration of real time has passed. Has
+     * to be called by the owner of the modified character (in the context of the given executor).
+     *
+     * @param group the modifiers applied by the effect
+     * @param clock the clock measuring the duration of the effect
+     * @param duration the duration of the effect, rounded up to whole ticks of the clock
+     * @param owner the executor the modified character is changed on, which detaches the group once it expires
+     *
+     * @return the started effect
+     */
+    public static TimedEffect start(@NotNull ModifierGroup group, @NotNull WallClock clock,
+                                    @NotNull Duration duration, @NotNull Executor owner) {
+        return start(group, clock, clock.toTicks(duration), owner);
+    }
+
+    /**
+     * Ends this effect before its duration has passed, detaching its group. Has no effect if this effect already ended,
+     * or if it already expired (even if its owner has not detached it yet). Has to be called by the owner of the
+     * modified character.
+     */
+    public void end() {
+        if (timeout.cancel()) {
+            group.detach();
+        }
+    }
+
+    /**
+     * @return true if this effect has neither expired nor been ended yet. Once it expired, its group may remain
+     *         attached until the owner gets to detach it.
+     */
+    public boolean isActive() {
+        return timeout.isPending();
+    }
+
+    /**
+     * @return the modifiers applied by this effect
+     */
+    public ModifierGroup getGroup() {
+        return group;
+    }
+
+    /**
+     * @return the time of the clock at which this effect expires (in ticks of the clock)
+     */
+    public long getExpiry() {
+        return timeout.getDeadline();
+    }
+
+    // recognized by the clock, so expiring groups of the same owner can be detached together
+    record Expiry(ModifierGroup group, Executor owner) implements Runnable {
+        @Override
+        public void run() {
+            owner.execute(group::detach);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.tikelespike.nilee.core.effects;
+
+/**
+ * A task scheduled on an {@link EffectClock}, which runs once the clock reaches its deadline unless it is cancelled
+ * before. Cancelling takes constant time, no matter how many other tasks are scheduled on the clock.
+ */
+public final class Timeout {
+
+    final EffectClock clock;
+    final long deadline;
+    final Runnable task;
+
+    // links of the bucket of the timing wheel this timeout is stored in, null if not scheduled (anymore)
+    TimingWheel.Bucket bucket;
+    Timeout previous;
+    Timeout next;
+
+    private boolean cancelled;
+
+    Timeout(EffectClock clock, long deadline, Runnable task) {
+        this.clock = clock;
+        this.deadline = deadline;
+        this.task = task;
+    }
+
+    /**
+     * Cancels this timeout, so its task does not run. Has no effect if the task already ran or this timeout was
+     * cancelled before.
+     *
+     * @return true if this timeout was cancelled by this call, false if it already expired or was cancelled before
+     */
+    public boolean cancel() {
+        return clock.cancel(this);
+    }
+
+    /**
+     * @return the time of the clock at which the task of this timeout runs (in ticks of the clock)
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @return true if this timeout was cancelled before its task ran
+     */
+    public boolean isCancelled() {
+        synchronized (clock) {
+            return cancelled;
+        }
+    }
+
+    /**
+     * @return true if this timeout was neither cancelled nor has expired yet
+     */
+    public boolean isPending() {
+        synchronized (clock) {
+            return bucket != null;
+        }
+    }
+
+    void markCancelled() {
+        cancelled = true;
+    }
+}
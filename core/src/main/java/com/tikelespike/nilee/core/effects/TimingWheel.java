@@ -0,0 +1,219 @@
+package com.tikelespike.nilee.core.effects;
+
+import java.util.List;
+
+/**
+ * A hierarchical timing wheel storing {@link Timeout Timeouts} by their deadline. Each level of the wheel has
+ * {@value #SLOTS} buckets, a bucket of level {@code n} spanning {@code SLOTS^n} ticks. A timeout is stored in the
+ * lowest level whose range covers its deadline, in a doubly linked bucket, so scheduling and cancelling take constant
+ * time. When the lower levels wrap around, the next bucket of the level above is cascaded into them. Timeouts too far
+ * in the future for the highest level wait in an overflow bucket, which is re-checked whenever the highest level
+ * cascades.
+ * <p>
+ * Each level keeps a bit mask of its non-empty buckets, so advancing the wheel jumps straight to the next tick on which
+ * a bucket expires or cascades, instead of visiting every tick in between.
+ * <p>
+ * Not thread-safe, access is guarded by the owning {@link EffectClock}.
+ */
+final class TimingWheel {
+
+    private static final int BITS = 6;
+    static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final Bucket[][] levels = new Bucket[LEVELS][SLOTS];
+    // bit i of occupied[level] is set iff. levels[level][i] is not empty (there are 64 slots, one per bit of a long)
+    private final long[] occupied = new long[LEVELS];
+    private final Bucket overflow = new Bucket(LEVELS, 0);
+    private long now;
+    private int size;
+
+    /**
+     * Creates a new, empty timing wheel.
+     *
+     * @param now the current tick
+     */
+    TimingWheel(long now) {
+        this.now = now;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int i = 0; i < SLOTS; i++) {
+                levels[level][i] = new Bucket(level, i);
+            }
+        }
+    }
+
+    /**
+     * @return the current tick
+     */
+    long now() {
+        return now;
+    }
+
+    /**
+     * @return the number of timeouts stored in this wheel
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Stores a timeout in this wheel.
+     *
+     * @param timeout the timeout to store, with a deadline after the current tick
+     */
+    void add(Timeout timeout) {
+        insert(timeout);
+        size++;
+    }
+
+    /**
+     * Removes a timeout from this wheel.
+     *
+     * @param timeout a timeout stored in this wheel
+     */
+    void remove(Timeout timeout) {
+        timeout.bucket.unlink(timeout);
+        size--;
+    }
+
+    /**
+     * Advances this wheel by the given number of ticks, removing all timeouts expiring on the way in the order of their
+     * deadline. Ticks on which no bucket expires or cascades are skipped at once, so this takes time linear in the
+     * number of expiring and cascading buckets, not in the number of ticks.
+     *
+     * @param ticks the number of ticks to advance by
+     * @param expired the list to add the expired timeouts to
+     */
+    void advance(long ticks, List<Timeout> expired) {
+        long target = Math.addExact(now, ticks);
+        while (now < target) {
+            long next = size == 0 ? Long.MAX_VALUE : nextEventTick();
+            if (next > target) {
+                now = target;
+                return;
+            }
+            now = next - 1;
+            tick(expired);
+        }
+    }
+
+    // the next tick on which a non-empty bucket expires (level 0) or cascades (higher levels and the overflow bucket)
+    private long nextEventTick() {
+        long next = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            if (occupied[level] != 0) {
+                int shift = BITS * level;
+                long block = now >>> shift;
+                // distance (in buckets of this level) from the current bucket to the next non-empty one, 1 to SLOTS
+                long rotated = Long.rotateRight(occupied[level], (int) ((block + 1) & MASK));
+                long distance = Long.numberOfTrailingZeros(rotated) + 1;
+                next = Math.min(next, (block + distance) << shift);
+            }
+        }
+        if (overflow.head != null) {
+            int shift = BITS * (LEVELS - 1);
+            next = Math.min(next, ((now >>> shift) + 1) << shift);
+        }
+        return next;
+    }
+
+    // advances this wheel by one tick, removing all timeouts expiring on the new tick
+    private void tick(List<Timeout> expired) {
+        now++;
+        // cascade the aligned levels from the top, so timeouts can move down multiple levels on one tick
+        int aligned = 0;
+        while (aligned < LEVELS - 1 && (now & ((1L << (BITS * (aligned + 1))) - 1)) == 0) {
+            aligned++;
+        }
+        if (aligned == LEVELS - 1) {
+            cascade(overflow);
+        }
+        for (int level = aligned; level > 0; level--) {
+            cascade(levels[level][(int) (now >>> (BITS * level)) & MASK]);
+        }
+        Bucket due = levels[0][(int) now & MASK];
+        for (Timeout timeout = due.head; timeout != null; timeout = due.head) {
+            due.unlink(timeout);
+            expired.add(timeout);
+            size--;
+        }
+    }
+
+    private void cascade(Bucket bucket) {
+        Timeout timeout = bucket.clear();
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+            insert(timeout);
+            timeout = next;
+        }
+    }
+
+    private void insert(Timeout timeout) {
+        long deadline = timeout.deadline;
+        // zero when cascading a timeout into the bucket expiring on the current tick
+        long delta = deadline - now;
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (BITS * (level + 1))) {
+                levels[level][(int) (deadline >>> (BITS * level)) & MASK].link(timeout);
+                return;
+            }
+        }
+        overflow.link(timeout);
+    }
+
+    /**
+     * A doubly linked list of timeouts, keeping the bit of its level in the mask of non-empty buckets up to date.
+     */
+    final class Bucket {
+        private final int level;
+        private final int index;
+        private Timeout head;
+
+        private Bucket(int level, int index) {
+            this.level = level;
+            this.index = index;
+        }
+
+        private void link(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+            if (level < LEVELS) {
+                occupied[level] |= 1L << index;
+            }
+        }
+
+        private Timeout clear() {
+            Timeout first = head;
+            head = null;
+            if (level < LEVELS) {
+                occupied[level] &= ~(1L << index);
+            }
+            return first;
+        }
+
+        private void unlink(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+            if (head == null && level < LEVELS) {
+                occupied[level] &= ~(1L << index);
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.tikelespike.nilee.core.effects;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * A clock measuring real time, in ticks of a fixed duration. The clock follows the system time by itself, so tasks
+ * scheduled on it run on the thread of the clock, which is shared by all wall clocks and must therefore never change
+ * characters itself ({@link TimedEffect TimedEffects} are handed to the executors of their owners instead). Since
+ * all tasks are stored in a single timing wheel, one clock can be shared by all game sessions (see
+ * {@link #getDefault()}), instead of each session polling its effects.
+ * <p>
+ * Tasks should be short (like handing a change to another executor), as they delay all other tasks of all wall
+ * clocks.
+ */
+public final class WallClock extends EffectClock implements AutoCloseable {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "nilee-effect-clock");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile WallClock defaultClock;
+
+    private final long tickNanos;
+    private final LongSupplier nanoTime;
+    private final long start;
+    private final ScheduledFuture<?> ticker;
+    // serializes polls, without blocking scheduling and cancelling while expired tasks run
+    private final Object pollLock = new Object();
+
+    /**
+     * Creates a new clock and starts it.
+     *
+     * @param tick the duration of a single tick, the resolution of the clock
+     */
+    public WallClock(@NotNull Duration tick) {
+        this(tick, System::nanoTime, true);
+    }
+
+    /**
+     * Creates a new clock with the given time source. Only starts following the time source by itself if requested,
+     * otherwise it only advances on {@link #poll()}.
+     *
+     * @param tick the duration of a single tick, the resolution of the clock
+     * @param nanoTime the time source, in nanoseconds (like {@link System#nanoTime()})
+     * @param started true to poll the time source once per tick
+     */
+    WallClock(@NotNull Duration tick, @NotNull LongSupplier nanoTime, boolean started) {
+        this.tickNanos = Objects.requireNonNull(tick).toNanos();
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Ticks must have a positive duration, got " + tick);
+        }
+        this.nanoTime = Objects.requireNonNull(nanoTime);
+        this.start = nanoTime.getAsLong();
+        this.ticker = started
+                ? SCHEDULER.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS)
+                : null;
+    }
+
+    /**
+     * @return a clock with a resolution of one second, shared by all users of this method
+     */
+    public static WallClock getDefault() {
+        WallClock clock = defaultClock;
+        if (clock == null) {
+            synchronized (WallClock.class) {
+                clock = defaultClock;
+                if (clock == null) {
+                    clock = new WallClock(Duration.ofSeconds(1));
+                    defaultClock = clock;
+                }
+            }
+        }
+        return clock;
+    }
+
+    /**
+     * Schedules a task to run once the given duration has passed.
+     *
+     * @param delay the duration after which to run the task, rounded up to whole ticks (and at least one tick)
+     * @param task the task to run
+     *
+     * @return a handle to cancel the task
+     */
+    public Timeout schedule(@NotNull Duration delay, @NotNull Runnable task) {
+        return schedule(toTicks(delay), task);
+    }
+
+    /**
+     * Advances this clock to the current time of its time source, running all tasks expiring on the way. Called by the
+     * clock itself once per tick, but may also be called to catch up early.
+     */
+    public void poll() {
+        synchronized (pollLock) {
+            long elapsedTicks = (nanoTime.getAsLong() - start) / tickNanos;
+            if (elapsedTicks > getTime()) {
+                advance(elapsedTicks - getTime());
+            }
+        }
+    }
+
+    /**
+     * Stops this clock. Pending tasks do not run anymore, unless {@link #poll()} is called.
+     */
+    @Override
+    public void close() {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+    }
+
+    // an exception would cancel the periodic polls, so it is only reported
+    private void tick() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            Thread thread = Thread.currentThread();
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+        }
+    }
+
+    long toTicks(Duration duration) {
+        long nanos = Objects.requireNonNull(duration).toNanos();
+        return Math.max(1, (nanos + tickNanos - 1) / tickNanos);
+    }
+}
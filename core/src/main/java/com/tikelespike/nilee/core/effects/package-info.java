@@ -0,0 +1,5 @@
+/**
+ * Contains effects lasting a limited time (like spells, potions or conditions), and the clocks measuring their
+ * duration in game rounds or real time.
+ */
+package com.tikelespike.nilee.core.effects;
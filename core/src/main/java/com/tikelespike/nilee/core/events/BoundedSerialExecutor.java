@@ -0,0 +1,100 @@
+package com.tikelespike.nilee.core.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An executor that, like {@link SerialExecutor}, runs the submitted tasks one after another on an underlying
+ * executor, but only keeps a limited number of pending tasks. If a task is submitted while the maximum number of tasks
+ * is pending, tasks are dropped as determined by an {@link OverflowPolicy}. The task that is currently running does not
+ * count as pending.
+ */
+class BoundedSerialExecutor implements Executor {
+
+    // guarded by this
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private boolean draining;
+
+    private final AtomicLong droppedTasks = new AtomicLong();
+    private final Executor executor;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Creates a new bounded serial executor running its tasks on the given executor.
+     *
+     * @param executor the executor to run the tasks on
+     * @param capacity the maximum number of pending tasks, has to be positive
+     * @param overflowPolicy determines which tasks are dropped if a task is submitted while {@code capacity}
+     *         tasks are pending
+     */
+    BoundedSerialExecutor(@NotNull Executor executor, int capacity, @NotNull OverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity has to be positive, but was " + capacity);
+        }
+        this.executor = Objects.requireNonNull(executor);
+        this.capacity = capacity;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+    }
+
+    @Override
+    public void execute(@NotNull Runnable task) {
+        Objects.requireNonNull(task);
+        synchronized (this) {
+            if (tasks.size() >= capacity) {
+                switch (overflowPolicy) {
+                    case DROP_OLDEST -> tasks.poll();
+                    case DROP_NEWEST -> {
+                        droppedTasks.incrementAndGet();
+                        return;
+                    }
+                    case LATEST -> {
+                        droppedTasks.addAndGet(tasks.size() - 1);
+                        tasks.clear();
+                    }
+                }
+                droppedTasks.incrementAndGet();
+            }
+            tasks.add(task);
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        executor.execute(this::drain);
+    }
+
+    /**
+     * @return the number of tasks that have been dropped so far because too many tasks were pending
+     */
+    long getDroppedTaskCount() {
+        return droppedTasks.get();
+    }
+
+    private void drain() {
+        Runnable task = null;
+        try {
+            while ((task = next()) != null) {
+                task.run();
+            }
+        } finally {
+            // only reached with a task if it threw an exception, so the remaining tasks are run on a new drain
+            if (task != null) {
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    private synchronized Runnable next() {
+        Runnable task = tasks.poll();
+        if (task == null) {
+            draining = false;
+        }
+        return task;
+    }
+}
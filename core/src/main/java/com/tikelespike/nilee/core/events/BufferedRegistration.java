@@ -0,0 +1,57 @@
+package com.tikelespike.nilee.core.events;
+
+/**
+ * A registration of a listener with a bounded buffer of pending events, as returned by
+ * {@link EventBus#registerBufferedListener(Class, EventListener, int, OverflowPolicy)}. In addition to the
+ * functionality of a normal registration, it provides the number of events the listener missed because its buffer was
+ * full.
+ *
+ * @see EventBus#registerBufferedListener(Class, EventListener, int, OverflowPolicy)
+ */
+public class BufferedRegistration extends Registration {
+    private final BoundedSerialExecutor mailbox;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Creates a new buffered registration object. Should only be called by the event bus. Use the event bus to register
+     * listeners, which will return a corresponding registration object.
+     *
+     * @param bus the event bus the listener is registered to
+     * @param listener the listener that is registered
+     * @param mailbox the buffer delivering events to the listener
+     * @param capacity the maximum number of pending events of the listener
+     * @param overflowPolicy determines which events are dropped when the buffer is full
+     */
+    BufferedRegistration(EventBus bus, TypedEventListener<?> listener, BoundedSerialExecutor mailbox, int capacity,
+                         OverflowPolicy overflowPolicy) {
+        super(bus, listener);
+        this.mailbox = mailbox;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    /**
+     * Retrieves the number of events that were not delivered to the listener because its buffer was full. This includes
+     * events that were dropped from the buffer in favor of newer ones.
+     *
+     * @return the number of events dropped so far
+     */
+    public long getDroppedEventCount() {
+        return mailbox.getDroppedTaskCount();
+    }
+
+    /**
+     * @return the maximum number of events that may be pending for the listener
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return the policy determining which events are dropped when the buffer of the listener is full
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+}
@@ -0,0 +1,98 @@
+package com.tikelespike.nilee.core.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A decorator of an event listener that only passes on the last event of a burst of events. An event is only passed to
+ * the decorated listener once no further event has been received for a given quiet period. For example, when a user
+ * holds down a button incrementing a value, a debounced listener of the value only receives the final value, shortly
+ * after the user released the button.
+ * <p>
+ * The decorated listener is called on a background thread, receiving the events one after another. No thread is
+ * created per debounced listener: all debounced and {@link ThrottledEventListener throttled} listeners share a single
+ * scheduler by default.
+ *
+ * @param <T> the type of event the decorated listener processes
+ * @see ThrottledEventListener
+ */
+public class DebouncedEventListener<T extends Event> implements EventListener<T> {
+
+    private final EventListener<T> listener;
+    private final long quietPeriodNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Executor delivery;
+
+    // guarded by this
+    private T pendingEvent;
+    private long deadlineNanos;
+    private boolean scheduled;
+
+    /**
+     * Creates a new debounced listener using the shared scheduler.
+     *
+     * @param listener the listener to pass the last event of each burst to
+     * @param quietPeriod how long no event has to be received before the last event is passed on
+     */
+    public DebouncedEventListener(@NotNull EventListener<T> listener, @NotNull Duration quietPeriod) {
+        this(listener, quietPeriod, SharedExecutors.SCHEDULER, SharedExecutors.VIRTUAL_THREADS);
+    }
+
+    /**
+     * Creates a new debounced listener that calls the decorated listener on the given scheduler.
+     *
+     * @param listener the listener to pass the last event of each burst to
+     * @param quietPeriod how long no event has to be received before the last event is passed on
+     * @param scheduler the scheduler on which the decorated listener is called
+     */
+    public DebouncedEventListener(@NotNull EventListener<T> listener, @NotNull Duration quietPeriod,
+                                  @NotNull ScheduledExecutorService scheduler) {
+        this(listener, quietPeriod, scheduler, scheduler);
+    }
+
+    private DebouncedEventListener(EventListener<T> listener, Duration quietPeriod,
+                                   ScheduledExecutorService scheduler, Executor executor) {
+        this.listener = Objects.requireNonNull(listener);
+        this.quietPeriodNanos = Objects.requireNonNull(quietPeriod).toNanos();
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.delivery = new SerialExecutor(executor);
+    }
+
+    @Override
+    public void onEvent(T event) {
+        synchronized (this) {
+            pendingEvent = event;
+            deadlineNanos = System.nanoTime() + quietPeriodNanos;
+            if (scheduled) {
+                // the scheduled check will notice the new deadline, so there is no need to reschedule
+                return;
+            }
+            scheduled = true;
+        }
+        schedule(quietPeriodNanos);
+    }
+
+    private void schedule(long delayNanos) {
+        scheduler.schedule(() -> delivery.execute(this::deliverIfQuiet), delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void deliverIfQuiet() {
+        T event;
+        synchronized (this) {
+            long remainingNanos = deadlineNanos - System.nanoTime();
+            if (remainingNanos > 0) {
+                schedule(remainingNanos);
+                return;
+            }
+            event = pendingEvent;
+            pendingEvent = null;
+            scheduled = false;
+        }
+        listener.onEvent(event);
+    }
+}
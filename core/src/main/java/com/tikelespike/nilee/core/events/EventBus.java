@@ -2,9 +2,15 @@ package com.tikelespike.nilee.core.events;
 
 import jakarta.validation.constraints.NotNull;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * A generic subject of the observer pattern. It allows to register listeners for specific event types, and firing
@@ -12,11 +18,89 @@ import java.util.Objects;
  * <p>
  * If a listener is registered multiple times, it will be called multiple times. Listeners will be called if the event
  * type is an instance of the registered event type as in the {@code instanceof} relation.
+ * <p>
+ * Listeners are indexed by the event type they are registered for. When an event is fired, the listeners of all
+ * registered supertypes of the concrete event class are resolved once and cached per concrete event class, so that
+ * dispatching only costs as much as the number of listeners actually called. The cache is invalidated whenever a
+ * listener is registered or unregistered. The registrations of each event type form a doubly linked list, so that
+ * unregistering a listener and checking whether a registration is still active take constant time.
+ * <p>
+ * This class is thread-safe. Registering and unregistering listeners is synchronized, while firing an event only
+ * blocks if the listeners for its class have to be resolved again. The resolved listeners are immutable, so an event
+ * is delivered to the listeners that were registered when {@link #fireEvent(Event)} was called, and listeners may
+ * safely register new listeners or unregister themselves (or others) while handling an event.
+ * <p>
+ * By default, listeners are called on the thread firing the event, before {@link #fireEvent(Event)} returns. An
+ * {@link #isAsynchronous() asynchronous} event bus instead hands each event to an executor and returns immediately,
+ * independent of the number of listeners. Each listener then receives the events one after another, in the order they
+ * were fired, although not necessarily on the same thread. Listeners that {@link EventListener#isSynchronous() declare
+ * themselves synchronous} are still called on the firing thread.
+ * <p>
+ * Listeners can also be {@link #registerWeakListener(Class, EventListener) registered weakly}, in which case the bus
+ * does not keep them from being garbage collected. Registrations of collected listeners are removed automatically.
+ * <p>
+ * Listeners that may fall behind (like the UI of a slow client) can be
+ * {@link #registerBufferedListener(Class, EventListener, int, OverflowPolicy) registered with a bounded buffer}. Such a
+ * listener is always called asynchronously, and events exceeding its buffer are dropped, so it can neither slow down
+ * the thread firing events nor pile up an unbounded number of pending events.
  *
  * @see EventListener
  */
 public class EventBus {
-    private final List<TypedEventListener<?>> typedEventListeners = new ArrayList<>();
+    private static final TypedEventListener<?>[] NO_LISTENERS = new TypedEventListener<?>[0];
+
+    // null if this bus is synchronous
+    private final Executor executor;
+    // hands events to the mailboxes of asynchronous listeners, in the order they were fired
+    private final SerialExecutor fanOut;
+
+    // weakly referenced listeners that have been garbage collected, but are still registered
+    private final ReferenceQueue<Object> collectedListeners = new ReferenceQueue<>();
+
+    // guarded by this: the registrations per event type they are registered for
+    private final Map<Class<?>, ListenerList> listeners = new HashMap<>();
+    // incremented on every change of the registrations, outdating all resolved dispatches
+    private volatile long version;
+    // the listeners resolved per concrete event class, only valid if resolved from the current version
+    private final Map<Class<?>, Dispatch> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new synchronous event bus, which calls all listeners on the thread firing an event.
+     */
+    public EventBus() {
+        this.executor = null;
+        this.fanOut = null;
+    }
+
+    /**
+     * Creates a new asynchronous event bus that delivers events to its listeners using the given executor. Listeners
+     * that {@link EventListener#isSynchronous() declare themselves synchronous} are still called on the thread firing
+     * the event.
+     *
+     * @param executor the executor on which listeners are called
+     */
+    public EventBus(@NotNull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+        this.fanOut = new SerialExecutor(executor);
+    }
+
+    /**
+     * Creates a new asynchronous event bus that calls its listeners on virtual threads.
+     *
+     * @return a new asynchronous event bus
+     * @see #EventBus(Executor)
+     */
+    public static EventBus asynchronous() {
+        return new EventBus(SharedExecutors.VIRTUAL_THREADS);
+    }
+
+    /**
+     * @return true if this bus delivers events to its listeners on an executor, false if all listeners are called on
+     *         the thread firing an event
+     */
+    public boolean isAsynchronous() {
+        return executor != null;
+    }
 
     /**
      * Subscribes an observer to a specific event type.
@@ -36,10 +120,110 @@ public class EventBus {
      */
     public <T extends Event> Registration registerListener(@NotNull Class<? extends T> eventType,
                                                            @NotNull EventListener<T> listener) {
+        return register(eventType, listener, false);
+    }
+
+    /**
+     * Subscribes an observer to a specific event type without keeping the observer from being garbage collected. Apart
+     * from that, this method behaves like {@link #registerListener(Class, EventListener)}.
+     * <p>
+     * The bus only holds a weak reference to the listener, so the registration does not need to be explicitly
+     * unregistered when the listener is no longer used (for example, when the UI component it belongs to is
+     * discarded). Once the listener has been garbage collected, it is no longer called, its registration becomes
+     * inactive, and it is removed from the bus the next time the bus is used.
+     * <p>
+     * Note that the caller has to keep a strong reference to the listener for as long as it should receive events. In
+     * particular, a lambda expression that is only referenced by this bus may be collected at any time.
+     *
+     * @param eventType the superclass of all events that the listener should be called for
+     * @param listener the listener to be called when an event of the given type is fired, only weakly
+     *         referenced by this bus
+     * @param <T> the type of the event the listener processes (has to be a superclass of {@code eventType})
+     *
+     * @return a registration object that can be used to unregister the listener
+     */
+    public <T extends Event> Registration registerWeakListener(@NotNull Class<? extends T> eventType,
+                                                               @NotNull EventListener<T> listener) {
+        return register(eventType, listener, true);
+    }
+
+    /**
+     * Subscribes an observer to a specific event type, buffering at most {@code capacity} events for it. Apart from
+     * that, this method behaves like {@link #registerListener(Class, EventListener)}.
+     * <p>
+     * The listener is always called asynchronously (even if this bus is synchronous, or the listener
+     * {@link EventListener#isSynchronous() declares itself synchronous}), receiving the events one after another in the
+     * order they were fired. If the listener falls behind so that {@code capacity} events are pending when another
+     * event is fired, events are dropped as determined by the given overflow policy. The number of dropped events can
+     * be retrieved from the returned registration.
+     *
+     * @param eventType the superclass of all events that the listener should be called for
+     * @param listener the listener to be called when an event of the given type is fired
+     * @param capacity the maximum number of events pending for the listener, has to be positive
+     * @param overflowPolicy determines which events are dropped if the buffer of the listener is full
+     * @param <T> the type of the event the listener processes (has to be a superclass of {@code eventType})
+     *
+     * @return a registration object that can be used to unregister the listener and to monitor dropped events
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public <T extends Event> BufferedRegistration registerBufferedListener(@NotNull Class<? extends T> eventType,
+                                                                           @NotNull EventListener<T> listener,
+                                                                           int capacity,
+                                                                           @NotNull OverflowPolicy overflowPolicy) {
+        return registerBuffered(eventType, listener, capacity, overflowPolicy, false);
+    }
+
+    /**
+     * Subscribes an observer to a specific event type, buffering at most {@code capacity} events for it, without
+     * keeping the observer from being garbage collected. This combines
+     * {@link #registerBufferedListener(Class, EventListener, int, OverflowPolicy)} and
+     * {@link #registerWeakListener(Class, EventListener)}.
+     *
+     * @param eventType the superclass of all events that the listener should be called for
+     * @param listener the listener to be called when an event of the given type is fired, only weakly
+     *         referenced by this bus
+     * @param capacity the maximum number of events pending for the listener, has to be positive
+     * @param overflowPolicy determines which events are dropped if the buffer of the listener is full
+     * @param <T> the type of the event the listener processes (has to be a superclass of {@code eventType})
+     *
+     * @return a registration object that can be used to unregister the listener and to monitor dropped events
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public <T extends Event> BufferedRegistration registerWeakBufferedListener(@NotNull Class<? extends T> eventType,
+                                                                               @NotNull EventListener<T> listener,
+                                                                               int capacity,
+                                                                               @NotNull OverflowPolicy overflowPolicy) {
+        return registerBuffered(eventType, listener, capacity, overflowPolicy, true);
+    }
+
+    private <T extends Event> BufferedRegistration registerBuffered(Class<? extends T> eventType,
+                                                                    EventListener<T> listener, int capacity,
+                                                                    OverflowPolicy overflowPolicy, boolean weak) {
+        BoundedSerialExecutor mailbox = new BoundedSerialExecutor(
+                isAsynchronous() ? executor : SharedExecutors.VIRTUAL_THREADS, capacity, overflowPolicy);
+        TypedEventListener<T> typedListener = register(eventType, listener, mailbox, weak);
+        return new BufferedRegistration(this, typedListener, mailbox, capacity, overflowPolicy);
+    }
+
+    private <T extends Event> Registration register(Class<? extends T> eventType, EventListener<T> listener,
+                                                    boolean weak) {
+        Objects.requireNonNull(listener);
+        Executor mailbox = isAsynchronous() && !listener.isSynchronous() ? new SerialExecutor(executor) : null;
+        return new Registration(this, register(eventType, listener, mailbox, weak));
+    }
+
+    private <T extends Event> TypedEventListener<T> register(Class<? extends T> eventType, EventListener<T> listener,
+                                                             Executor mailbox, boolean weak) {
+        Objects.requireNonNull(eventType);
+        Objects.requireNonNull(listener);
+        expungeCollectedListeners();
         TypedEventListener<T> typedListener =
-                new TypedEventListener<>(Objects.requireNonNull(eventType), Objects.requireNonNull(listener));
-        typedEventListeners.add(typedListener);
-        return new Registration(this, typedListener);
+                new TypedEventListener<>(eventType, listener, mailbox, weak ? collectedListeners : null);
+        synchronized (this) {
+            listeners.computeIfAbsent(eventType, type -> new ListenerList()).append(typedListener);
+            version++;
+        }
+        return typedListener;
     }
 
     /**
@@ -52,7 +236,16 @@ public class EventBus {
      * @return true if the listener was removed, false if it was not registered
      */
     protected <T extends Event> boolean unregister(@NotNull TypedEventListener<T> listener) {
-        return typedEventListeners.remove(Objects.requireNonNull(listener));
+        Objects.requireNonNull(listener);
+        expungeCollectedListeners();
+        synchronized (this) {
+            if (!listener.isRegistered()) {
+                return false;
+            }
+            remove(listener);
+            version++;
+            return true;
+        }
     }
 
     /**
@@ -67,7 +260,24 @@ public class EventBus {
      */
     protected <T extends Event> boolean unregisterAll(@NotNull TypedEventListener<T> listener) {
         Objects.requireNonNull(listener);
-        return typedEventListeners.removeAll(List.of(listener));
+        expungeCollectedListeners();
+        synchronized (this) {
+            ListenerList registered = listeners.get(listener.eventType());
+            boolean removed = false;
+            TypedEventListener<?> current = registered != null ? registered.head : null;
+            while (current != null) {
+                TypedEventListener<?> next = current.next;
+                if (current.wrapsSameListener(listener)) {
+                    remove(current);
+                    removed = true;
+                }
+                current = next;
+            }
+            if (removed) {
+                version++;
+            }
+            return removed;
+        }
     }
 
     /**
@@ -80,27 +290,161 @@ public class EventBus {
      * @return true if the listener is (still) subscribed, false if it is not (no longer) subscribed
      */
     protected <T extends Event> boolean isSubscribed(TypedEventListener<T> listener) {
-        return typedEventListeners.contains(listener);
+        return listener.isRegistered() && listener.listener() != null;
+    }
+
+    /**
+     * Checks if any listeners are registered on this bus. Subjects can use this to skip preparing events nobody would
+     * receive. Weakly registered listeners that have been garbage collected do not count.
+     *
+     * @return true if at least one listener is registered for any event type, false otherwise
+     */
+    public boolean hasListeners() {
+        expungeCollectedListeners();
+        synchronized (this) {
+            return !listeners.isEmpty();
+        }
     }
 
     /**
      * Dispatches an event to all listeners that are registered for the event type. This will notify all listeners that
      * are currently registered for the event type, or for a superclass of the event type, on this event bus. The order
      * in which the listeners are called is undefined.
+     * <p>
+     * On an asynchronous bus, this method only calls the synchronous listeners directly, and hands the event to the
+     * executor of this bus for all other listeners.
+     * <p>
+     * Listeners registered or unregistered while the event is dispatched (for example, by one of the listeners called)
+     * do not affect the delivery of this event, but only of events fired afterwards.
      *
      * @param event the event to be dispatched
      */
-    @SuppressWarnings({"unchecked", "rawtypes"})
     public void fireEvent(@NotNull Event event) {
         Objects.requireNonNull(event);
-        // We have to do manual type checking here
-        for (TypedEventListener typedListener : typedEventListeners) {
-            if (typedListener.eventType().isInstance(event)) {
-                // we just checked that the listener listens to this event type,
-                // this is safe because of the type checking of the register method, which requires the eventType()
-                // to be a subclass of the type parameter of the listener
-                typedListener.listener().onEvent(event);
+        expungeCollectedListeners();
+        Dispatch dispatch = resolve(event.getClass());
+        // all resolved listeners are registered for a supertype of the event class
+        for (TypedEventListener<?> typedListener : dispatch.synchronous()) {
+            typedListener.deliver(event);
+        }
+        TypedEventListener<?>[] asynchronous = dispatch.asynchronous();
+        if (asynchronous.length > 0 && fanOut == null) {
+            // only buffered listeners on a synchronous bus, handing the event to their mailboxes never blocks
+            for (TypedEventListener<?> typedListener : asynchronous) {
+                typedListener.deliver(event);
             }
+        } else if (asynchronous.length > 0) {
+            fanOut.execute(() -> {
+                for (TypedEventListener<?> typedListener : asynchronous) {
+                    typedListener.deliver(event);
+                }
+            });
         }
     }
+
+    /**
+     * Removes the registrations of all weakly referenced listeners that have been garbage collected since the last
+     * call.
+     */
+    private void expungeCollectedListeners() {
+        Reference<?> reference = collectedListeners.poll();
+        if (reference == null) {
+            return;
+        }
+        synchronized (this) {
+            do {
+                TypedEventListener<?> collected = ((TypedEventListener.ListenerReference<?>) reference).owner();
+                if (collected.isRegistered()) {
+                    remove(collected);
+                }
+            } while ((reference = collectedListeners.poll()) != null);
+            version++;
+        }
+    }
+
+    // must only be called while holding the lock of this bus, with a listener registered on this bus
+    private void remove(TypedEventListener<?> listener) {
+        ListenerList registered = listeners.get(listener.eventType());
+        registered.unlink(listener);
+        if (registered.head == null) {
+            listeners.remove(listener.eventType());
+        }
+    }
+
+    /**
+     * Retrieves the listeners an event of the given class is delivered to, resolving them again if the registrations
+     * have changed since they were last resolved.
+     */
+    private Dispatch resolve(Class<?> eventClass) {
+        Dispatch cached = resolved.get(eventClass);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        synchronized (this) {
+            Dispatch dispatch = collect(eventClass);
+            resolved.put(eventClass, dispatch);
+            return dispatch;
+        }
+    }
+
+    // must only be called while holding the lock of this bus
+    private Dispatch collect(Class<?> eventClass) {
+        List<TypedEventListener<?>> synchronous = new ArrayList<>();
+        List<TypedEventListener<?>> asynchronous = new ArrayList<>();
+        for (Map.Entry<Class<?>, ListenerList> entry : listeners.entrySet()) {
+            if (entry.getKey().isAssignableFrom(eventClass)) {
+                for (TypedEventListener<?> listener = entry.getValue().head; listener != null;
+                     listener = listener.next) {
+                    (listener.isAsynchronous() ? asynchronous : synchronous).add(listener);
+                }
+            }
+        }
+        return new Dispatch(version, synchronous.toArray(NO_LISTENERS), asynchronous.toArray(NO_LISTENERS));
+    }
+
+    /**
+     * The registrations of one event type, as a doubly linked list through the registered listeners themselves, in the
+     * order they were registered. Must only be accessed while holding the lock of the owning bus.
+     */
+    private static final class ListenerList {
+        private TypedEventListener<?> head;
+        private TypedEventListener<?> tail;
+
+        private void append(TypedEventListener<?> listener) {
+            listener.previous = tail;
+            listener.next = null;
+            if (tail == null) {
+                head = listener;
+            } else {
+                tail.next = listener;
+            }
+            tail = listener;
+            listener.setRegistered(true);
+        }
+
+        private void unlink(TypedEventListener<?> listener) {
+            if (listener.previous == null) {
+                head = listener.next;
+            } else {
+                listener.previous.next = listener.next;
+            }
+            if (listener.next == null) {
+                tail = listener.previous;
+            } else {
+                listener.next.previous = listener.previous;
+            }
+            listener.previous = null;
+            listener.next = null;
+            listener.setRegistered(false);
+        }
+    }
+
+    /**
+     * The listeners an event of a specific class is delivered to, split by whether they are called on the firing
+     * thread.
+     *
+     * @param version the version of the registrations the listeners were resolved from
+     */
+    private record Dispatch(long version, TypedEventListener<?>[] synchronous, TypedEventListener<?>[] asynchronous) {
+    }
 }
@@ -15,4 +15,17 @@ public interface EventListener<T extends Event> {
      */
     void onEvent(T event);
 
+    /**
+     * Declares whether this listener has to be called on the thread firing the event, even if it is registered on an
+     * {@link EventBus#isAsynchronous() asynchronous} event bus. This is useful for listeners that are cheap and need to
+     * observe the event before {@link EventBus#fireEvent(Event)} returns. Has no effect on synchronous event buses.
+     * <p>
+     * This method is evaluated once when the listener is registered.
+     *
+     * @return true if this listener must be called synchronously, false if it may be called on another thread
+     *         (default)
+     */
+    default boolean isSynchronous() {
+        return false;
+    }
 }
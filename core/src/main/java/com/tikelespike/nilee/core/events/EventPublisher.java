@@ -0,0 +1,184 @@
+package com.tikelespike.nilee.core.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Adapts events delivered to {@link EventListener EventListeners} to a {@link Flow.Publisher}, so that consumers can
+ * process the events at their own rate. Every subscriber gets its own listener registration, and receives the events
+ * (converted to items by a mapping function) only as far as it has requested them. Events arriving while the subscriber
+ * has no outstanding demand are buffered, and once the buffer is full, events are dropped as determined by an
+ * {@link OverflowPolicy}. For example, a buffer of size one with {@link OverflowPolicy#LATEST} conflates all events
+ * to the latest one, which is suitable for publishing the current state of a value.
+ * <p>
+ * All signals to a subscriber are sent one after another on a background thread, never on the thread firing an event
+ * or requesting items. The publisher never completes; a subscriber stops receiving items by cancelling its
+ * subscription, which also unregisters its listener.
+ *
+ * @param <E> the type of events listened to
+ * @param <T> the type of items published
+ */
+public class EventPublisher<E extends Event, T> implements Flow.Publisher<T> {
+
+    private final Function<EventListener<E>, Registration> registrar;
+    private final Function<? super E, ? extends T> mapper;
+    private final Supplier<? extends T> initialItem;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+
+    /**
+     * Creates a new event publisher.
+     *
+     * @param registrar registers the given listener on the source of the events (like
+     *         {@code listener -> bus.registerListener(MyEvent.class, listener)}), and returns the registration
+     * @param mapper converts an event to the item published for it. If it returns null, no item is published for
+     *         the event.
+     * @param initialItem supplies an item that is published to every new subscriber (like the current value of a
+     *         state). It is requested after the listener of the subscriber has been registered, so it may follow or
+     *         repeat items of events fired meanwhile, but never misses a change. If null, or if it supplies null, only
+     *         events are published.
+     * @param capacity the maximum number of items buffered per subscriber while it has no outstanding demand, has
+     *         to be positive
+     * @param overflowPolicy determines which items are dropped if the buffer of a subscriber is full
+     *
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public EventPublisher(@NotNull Function<EventListener<E>, Registration> registrar,
+                          @NotNull Function<? super E, ? extends T> mapper, Supplier<? extends T> initialItem,
+                          int capacity, @NotNull OverflowPolicy overflowPolicy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity has to be positive, but was " + capacity);
+        }
+        this.registrar = Objects.requireNonNull(registrar);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.initialItem = initialItem;
+        this.capacity = capacity;
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+    }
+
+    @Override
+    public void subscribe(@NotNull Flow.Subscriber<? super T> subscriber) {
+        Objects.requireNonNull(subscriber);
+        EventSubscription subscription = new EventSubscription(subscriber);
+        subscription.signals.execute(() -> subscriber.onSubscribe(subscription));
+        subscription.start(registrar.apply(event -> subscription.offer(mapper.apply(event))));
+        // read after registering, so no change between reading and registering can be missed
+        if (initialItem != null) {
+            subscription.offer(initialItem.get());
+        }
+    }
+
+    /**
+     * The subscription of a single subscriber, buffering the items it has not requested yet.
+     */
+    private final class EventSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        // runs all calls of the subscriber one after another
+        private final Executor signals = new SerialExecutor(SharedExecutors.VIRTUAL_THREADS);
+
+        // guarded by this
+        private final Queue<T> buffer = new ArrayDeque<>();
+        private long demand;
+        private boolean cancelled;
+        private Registration registration;
+
+        private EventSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        private void start(Registration registration) {
+            synchronized (this) {
+                if (!cancelled) {
+                    this.registration = registration;
+                    return;
+                }
+            }
+            // cancelled before the listener was registered
+            registration.unregister();
+        }
+
+        private void offer(T item) {
+            if (item == null) {
+                return;
+            }
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                if (buffer.size() >= capacity) {
+                    switch (overflowPolicy) {
+                        case DROP_OLDEST -> buffer.poll();
+                        case DROP_NEWEST -> {
+                            return;
+                        }
+                        case LATEST -> buffer.clear();
+                    }
+                }
+                buffer.add(item);
+            }
+            signals.execute(this::drain);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                cancel();
+                signals.execute(() -> subscriber.onError(
+                        new IllegalArgumentException("Number of requested items has to be positive, but was " + n)));
+                return;
+            }
+            synchronized (this) {
+                // saturates at Long.MAX_VALUE, which means unbounded demand
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            signals.execute(this::drain);
+        }
+
+        @Override
+        public void cancel() {
+            Registration toUnregister;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                buffer.clear();
+                toUnregister = registration;
+            }
+            if (toUnregister != null) {
+                toUnregister.unregister();
+            }
+        }
+
+        // only runs on the signal executor, so items are passed to the subscriber one after another
+        private void drain() {
+            while (true) {
+                T item;
+                synchronized (this) {
+                    if (cancelled || demand == 0 || buffer.isEmpty()) {
+                        return;
+                    }
+                    item = buffer.poll();
+                    if (demand != Long.MAX_VALUE) {
+                        demand--;
+                    }
+                }
+                try {
+                    subscriber.onNext(item);
+                } catch (RuntimeException e) {
+                    // a subscriber must not throw, so it is considered to have cancelled its subscription
+                    cancel();
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.tikelespike.nilee.core.events;
+
+/**
+ * Determines what happens to an event delivered to a listener with a bounded buffer (see
+ * {@link EventBus#registerBufferedListener(Class, EventListener, int, OverflowPolicy)}) whose buffer is full, because
+ * the listener processes events slower than they are fired.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * The oldest pending event is dropped to make room for the new event. The listener always receives the most recent
+     * events.
+     */
+    DROP_OLDEST,
+
+    /**
+     * The new event is dropped. The listener receives all pending events, but misses events fired while its buffer is
+     * full.
+     */
+    DROP_NEWEST,
+
+    /**
+     * All pending events are dropped in favor of the new event. This is useful for events describing a state (like a
+     * value change), where only the latest one is relevant to a listener that has fallen behind.
+     */
+    LATEST
+}
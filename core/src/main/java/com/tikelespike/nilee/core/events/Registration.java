@@ -45,7 +45,8 @@ public class Registration {
 
     /**
      * Checks if the listener (the registration of which returned this object) is still subscribed to the corresponding
-     * event bus.
+     * event bus. A {@link EventBus#registerWeakListener(Class, EventListener) weakly registered} listener that has been
+     * garbage collected is no longer subscribed.
      *
      * @return true if the listener is still subscribed, false if it is not no longer subscribed
      */
@@ -0,0 +1,58 @@
+package com.tikelespike.nilee.core.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An executor that runs the submitted tasks one after another, in the order they were submitted, on an underlying
+ * executor. At most one task of a serial executor runs at any time, but consecutive tasks may run on different
+ * threads. Submitting a task never blocks.
+ * <p>
+ * If a task throws an exception, the exception is propagated to the underlying executor, and the remaining tasks are
+ * still executed.
+ */
+class SerialExecutor implements Executor {
+
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Executor executor;
+
+    /**
+     * Creates a new serial executor running its tasks on the given executor.
+     *
+     * @param executor the executor to run the tasks on
+     */
+    SerialExecutor(@NotNull Executor executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    @Override
+    public void execute(@NotNull Runnable task) {
+        tasks.add(Objects.requireNonNull(task));
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (!tasks.isEmpty() && draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        } finally {
+            draining.set(false);
+            // a task may have been added after the last poll, but before the flag was reset
+            scheduleDrain();
+        }
+    }
+}
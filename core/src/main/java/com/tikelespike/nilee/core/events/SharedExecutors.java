@@ -0,0 +1,31 @@
+package com.tikelespike.nilee.core.events;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Executors shared by all event buses and listener decorators of this package, so that the number of platform threads
+ * does not grow with the number of buses and listeners.
+ */
+final class SharedExecutors {
+
+    /**
+     * Runs every task on a new virtual thread. Used for calling listeners asynchronously.
+     */
+    static final Executor VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Runs delayed tasks on a single daemon thread. Tasks scheduled here should only hand off work to another executor
+     * (like {@link #VIRTUAL_THREADS}), so that one slow task cannot delay all others.
+     */
+    static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "nilee-event-scheduler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SharedExecutors() {
+
+    }
+}
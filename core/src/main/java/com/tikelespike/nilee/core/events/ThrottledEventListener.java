@@ -0,0 +1,128 @@
+package com.tikelespike.nilee.core.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A decorator of an event listener that passes on at most one event per interval. The first event after a quiet
+ * interval is passed on immediately, on the thread firing it. Events received within an interval after that are
+ * coalesced, and only the last of them is passed on at the end of the interval (on a background thread). This way, the
+ * decorated listener is called at a limited rate, but it always receives the latest event eventually. The interval is
+ * measured from the time the decorated listener returned, and calls of the decorated listener never overlap, so events
+ * are passed on in the order they were received.
+ * <p>
+ * No thread is created per throttled listener: all throttled and {@link DebouncedEventListener debounced} listeners
+ * share a single scheduler by default.
+ *
+ * @param <T> the type of event the decorated listener processes
+ * @see DebouncedEventListener
+ */
+public class ThrottledEventListener<T extends Event> implements EventListener<T> {
+
+    private final EventListener<T> listener;
+    private final long intervalNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Executor delivery;
+
+    // guarded by this
+    private T pendingEvent;
+    // time at which the last call of the decorated listener returned
+    private long lastDeliveryNanos;
+    // at most one of delivering and scheduled is true at any time, so calls of the decorated listener never overlap
+    private boolean delivering;
+    private boolean scheduled;
+
+    /**
+     * Creates a new throttled listener using the shared scheduler.
+     *
+     * @param listener the listener to pass at most one event per interval to
+     * @param interval the minimum time between two calls of the decorated listener
+     */
+    public ThrottledEventListener(@NotNull EventListener<T> listener, @NotNull Duration interval) {
+        this(listener, interval, SharedExecutors.SCHEDULER, SharedExecutors.VIRTUAL_THREADS);
+    }
+
+    /**
+     * Creates a new throttled listener that passes on coalesced events on the given scheduler.
+     *
+     * @param listener the listener to pass at most one event per interval to
+     * @param interval the minimum time between two calls of the decorated listener
+     * @param scheduler the scheduler on which the decorated listener is called at the end of an interval
+     */
+    public ThrottledEventListener(@NotNull EventListener<T> listener, @NotNull Duration interval,
+                                  @NotNull ScheduledExecutorService scheduler) {
+        this(listener, interval, scheduler, scheduler);
+    }
+
+    private ThrottledEventListener(EventListener<T> listener, Duration interval, ScheduledExecutorService scheduler,
+                                   Executor executor) {
+        this.listener = Objects.requireNonNull(listener);
+        this.intervalNanos = Objects.requireNonNull(interval).toNanos();
+        this.scheduler = Objects.requireNonNull(scheduler);
+        this.delivery = new SerialExecutor(executor);
+        this.lastDeliveryNanos = System.nanoTime() - intervalNanos;
+    }
+
+    @Override
+    public void onEvent(T event) {
+        long delayNanos = 0;
+        boolean deliverNow;
+        synchronized (this) {
+            long now = System.nanoTime();
+            deliverNow = !delivering && !scheduled && now - lastDeliveryNanos >= intervalNanos;
+            if (deliverNow) {
+                delivering = true;
+            } else {
+                pendingEvent = event;
+                if (delivering || scheduled) {
+                    // passed on once the current call of the listener returned or the scheduled delivery is due
+                    return;
+                }
+                scheduled = true;
+                delayNanos = lastDeliveryNanos + intervalNanos - now;
+            }
+        }
+        if (deliverNow) {
+            deliver(event);
+        } else {
+            schedule(delayNanos);
+        }
+    }
+
+    private void deliverPending() {
+        T event;
+        synchronized (this) {
+            event = pendingEvent;
+            pendingEvent = null;
+            scheduled = false;
+            delivering = true;
+        }
+        deliver(event);
+    }
+
+    private void deliver(T event) {
+        try {
+            listener.onEvent(event);
+        } finally {
+            boolean schedulePending;
+            synchronized (this) {
+                delivering = false;
+                lastDeliveryNanos = System.nanoTime();
+                schedulePending = pendingEvent != null;
+                scheduled = schedulePending;
+            }
+            if (schedulePending) {
+                schedule(intervalNanos);
+            }
+        }
+    }
+
+    private void schedule(long delayNanos) {
+        scheduler.schedule(() -> delivery.execute(this::deliverPending), delayNanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,130 @@
+package com.tikelespike.nilee.core.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A hierarchical name under which events are published on a {@link TopicBroker}, like {@code users/42/rolls}. A topic
+ * consists of a sequence of segments, from the most general to the most specific one.
+ * <p>
+ * When subscribing, a topic may act as a filter matching multiple topics by using wildcards: the segment
+ * {@value #WILDCARD} matches any single segment, and the segment {@value #MULTI_LEVEL_WILDCARD}, which may only be the
+ * last one, matches any number of segments (including none). For example, the filter {@code users/+/rolls} matches
+ * {@code users/42/rolls}, and the filter {@code users/42/#} matches {@code users/42}, {@code users/42/rolls} and
+ * {@code users/42/characters/7/rolls}.
+ */
+public final class Topic {
+
+    /**
+     * Segment matching any single segment.
+     */
+    public static final String WILDCARD = "+";
+
+    /**
+     * Segment matching any number of segments, may only be used as the last segment of a topic.
+     */
+    public static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private static final String SEPARATOR = "/";
+    private static final Topic ROOT = new Topic(List.of());
+
+    private final List<String> segments;
+
+    private Topic(List<String> segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Creates a topic from the given segments.
+     *
+     * @param segments the segments of the topic, from the most general to the most specific one. Segments must
+     *         not be empty or contain a {@code /}.
+     *
+     * @return the topic consisting of the given segments
+     * @throws IllegalArgumentException if a segment is invalid, or if {@value #MULTI_LEVEL_WILDCARD} is used before
+     *         the last segment
+     */
+    public static Topic of(@NotNull String... segments) {
+        return ROOT.then(segments);
+    }
+
+    /**
+     * Creates a topic from its string representation, in which the segments are separated by {@code /} (like
+     * {@code users/42/rolls}).
+     *
+     * @param topic the string representation of the topic
+     *
+     * @return the topic represented by the given string
+     * @throws IllegalArgumentException if the topic contains an empty segment, or if {@value #MULTI_LEVEL_WILDCARD}
+     *         is used before the last segment
+     */
+    public static Topic parse(@NotNull String topic) {
+        Objects.requireNonNull(topic);
+        return topic.isEmpty() ? ROOT : of(topic.split(SEPARATOR, -1));
+    }
+
+    /**
+     * @return the topic without any segments, which is the parent of all other topics
+     */
+    public static Topic root() {
+        return ROOT;
+    }
+
+    /**
+     * Creates a sub-topic of this topic by appending the given segments.
+     *
+     * @param segments the segments to append
+     *
+     * @return a topic consisting of the segments of this topic followed by the given segments
+     * @throws IllegalArgumentException if a segment is invalid, or if {@value #MULTI_LEVEL_WILDCARD} would not be
+     *         the last segment
+     */
+    public Topic then(@NotNull String... segments) {
+        Objects.requireNonNull(segments);
+        List<String> combined = new ArrayList<>(this.segments.size() + segments.length);
+        combined.addAll(this.segments);
+        for (String segment : segments) {
+            Objects.requireNonNull(segment);
+            if (segment.isEmpty() || segment.contains(SEPARATOR)) {
+                throw new IllegalArgumentException("Invalid topic segment: '" + segment + "'");
+            }
+            if (!combined.isEmpty() && combined.get(combined.size() - 1).equals(MULTI_LEVEL_WILDCARD)) {
+                throw new IllegalArgumentException(MULTI_LEVEL_WILDCARD + " may only be the last segment of a topic");
+            }
+            combined.add(segment);
+        }
+        return new Topic(List.copyOf(combined));
+    }
+
+    /**
+     * @return an unmodifiable list of the segments of this topic
+     */
+    public List<String> getSegments() {
+        return segments;
+    }
+
+    /**
+     * @return true if this topic contains a wildcard, so that it can only be used as a filter
+     */
+    public boolean isFilter() {
+        return segments.contains(WILDCARD) || segments.contains(MULTI_LEVEL_WILDCARD);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Topic topic && segments.equals(topic.segments);
+    }
+
+    @Override
+    public int hashCode() {
+        return segments.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return String.join(SEPARATOR, segments);
+    }
+}
@@ -0,0 +1,284 @@
+package com.tikelespike.nilee.core.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Routes events published under a {@link Topic} to the listeners subscribed to a matching topic filter. In contrast to
+ * a single {@link EventBus} shared by all parties, listeners only pay for the events of the topics they are subscribed
+ * to: routing happens when an event is published, by following the topic through a trie of all subscribed filters.
+ * <p>
+ * Each node of the trie keeps its listeners in an {@link EventBus}, so listeners are additionally filtered by the event
+ * type they are registered for, and all kinds of registrations offered by the event bus (like weak or buffered
+ * registrations) are available per topic. Nodes are only created by subscribing, so publishing an event never
+ * allocates nodes for topics no one is interested in. When a registration is unregistered, the nodes on its path that
+ * no longer have listeners or children are removed, so the trie only grows with the filters currently subscribed to
+ * (like the topics of the users and characters currently in a session). Nodes whose weak listeners have been garbage
+ * collected without being unregistered are removed the next time a registration on their path is unregistered.
+ * <p>
+ * This class is thread-safe.
+ *
+ * @see Topic
+ */
+public class TopicBroker {
+
+    private final Node root = new Node();
+    // guards adding and removing nodes, publishing does not lock
+    private final Object structureLock = new Object();
+
+    /**
+     * Subscribes a listener to all events of the given type published under a topic matching the given filter.
+     *
+     * @param filter the topic (possibly containing wildcards) to subscribe to
+     * @param eventType the superclass of all events that the listener should be called for
+     * @param listener the listener to be called when a matching event is published
+     * @param <T> the type of the event the listener processes (has to be a superclass of {@code eventType})
+     *
+     * @return a registration object that can be used to unregister the listener
+     * @see EventBus#registerListener(Class, EventListener)
+     */
+    public <T extends Event> Registration subscribe(@NotNull Topic filter, @NotNull Class<? extends T> eventType,
+                                                    @NotNull EventListener<T> listener) {
+        synchronized (structureLock) {
+            return new PruningRegistration(filter, node(filter).bus.registerListener(eventType, listener));
+        }
+    }
+
+    /**
+     * Subscribes a listener to all events of the given type published under a topic matching the given filter,
+     * without keeping the listener from being garbage collected.
+     *
+     * @param filter the topic (possibly containing wildcards) to subscribe to
+     * @param eventType the superclass of all events that the listener should be called for
+     * @param listener the listener to be called when a matching event is published, only weakly referenced
+     * @param <T> the type of the event the listener processes (has to be a superclass of {@code eventType})
+     *
+     * @return a registration object that can be used to unregister the listener
+     * @see EventBus#registerWeakListener(Class, EventListener)
+     */
+    public <T extends Event> Registration subscribeWeak(@NotNull Topic filter, @NotNull Class<? extends T> eventType,
+                                                        @NotNull EventListener<T> listener) {
+        synchronized (structureLock) {
+            return new PruningRegistration(filter, node(filter).bus.registerWeakListener(eventType, listener));
+        }
+    }
+
+    /**
+     * Subscribes a listener to all events of the given type published under a topic matching the given filter,
+     * buffering at most {@code capacity} events for it.
+     *
+     * @param filter the topic (possibly containing wildcards) to subscribe to
+     * @param eventType the superclass of all events that the listener should be called for
+     * @param listener the listener to be called when a matching event is published
+     * @param capacity the maximum number of events pending for the listener, has to be positive
+     * @param overflowPolicy determines which events are dropped if the buffer of the listener is full
+     * @param <T> the type of the event the listener processes (has to be a superclass of {@code eventType})
+     *
+     * @return a registration object that can be used to unregister the listener and to monitor dropped events
+     * @see EventBus#registerBufferedListener(Class, EventListener, int, OverflowPolicy)
+     */
+    public <T extends Event> BufferedRegistration subscribeBuffered(@NotNull Topic filter,
+                                                                    @NotNull Class<? extends T> eventType,
+                                                                    @NotNull EventListener<T> listener, int capacity,
+                                                                    @NotNull OverflowPolicy overflowPolicy) {
+        synchronized (structureLock) {
+            return new PruningBufferedRegistration(filter,
+                    node(filter).bus.registerBufferedListener(eventType, listener, capacity, overflowPolicy));
+        }
+    }
+
+    /**
+     * Subscribes a listener to all events of the given type published under a topic matching the given filter,
+     * buffering at most {@code capacity} events for it, without keeping the listener from being garbage collected.
+     *
+     * @param filter the topic (possibly containing wildcards) to subscribe to
+     * @param eventType the superclass of all events that the listener should be called for
+     * @param listener the listener to be called when a matching event is published, only weakly referenced
+     * @param capacity the maximum number of events pending for the listener, has to be positive
+     * @param overflowPolicy determines which events are dropped if the buffer of the listener is full
+     * @param <T> the type of the event the listener processes (has to be a superclass of {@code eventType})
+     *
+     * @return a registration object that can be used to unregister the listener and to monitor dropped events
+     * @see EventBus#registerWeakBufferedListener(Class, EventListener, int, OverflowPolicy)
+     */
+    public <T extends Event> BufferedRegistration subscribeWeakBuffered(@NotNull Topic filter,
+                                                                        @NotNull Class<? extends T> eventType,
+                                                                        @NotNull EventListener<T> listener,
+                                                                        int capacity,
+                                                                        @NotNull OverflowPolicy overflowPolicy) {
+        synchronized (structureLock) {
+            return new PruningBufferedRegistration(filter,
+                    node(filter).bus.registerWeakBufferedListener(eventType, listener, capacity, overflowPolicy));
+        }
+    }
+
+    /**
+     * Publishes an event under the given topic, notifying all listeners subscribed to a matching filter (and to a
+     * supertype of the event's class). Listeners subscribed to multiple matching filters are notified once per filter.
+     *
+     * @param topic the topic to publish the event under, must not contain wildcards
+     * @param event the event to publish
+     *
+     * @throws IllegalArgumentException if the topic contains wildcards
+     */
+    public void publish(@NotNull Topic topic, @NotNull Event event) {
+        Objects.requireNonNull(topic);
+        Objects.requireNonNull(event);
+        if (topic.isFilter()) {
+            throw new IllegalArgumentException("Cannot publish under a topic containing wildcards: " + topic);
+        }
+        List<Node> matching = new ArrayList<>();
+        collectMatching(root, topic.getSegments(), 0, matching);
+        for (Node node : matching) {
+            node.bus.fireEvent(event);
+        }
+    }
+
+    private Node node(Topic filter) {
+        Objects.requireNonNull(filter);
+        Node node = root;
+        for (String segment : filter.getSegments()) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        return node;
+    }
+
+    /**
+     * @return the number of nodes of the trie, including the root
+     */
+    int size() {
+        return root.size();
+    }
+
+    // removes the nodes on the path of the filter that have neither listeners nor children, from the leaf upward
+    private void prune(Topic filter) {
+        synchronized (structureLock) {
+            List<String> segments = filter.getSegments();
+            Node[] path = new Node[segments.size() + 1];
+            path[0] = root;
+            for (int i = 0; i < segments.size(); i++) {
+                path[i + 1] = path[i].children.get(segments.get(i));
+                if (path[i + 1] == null) {
+                    return;
+                }
+            }
+            for (int i = segments.size(); i > 0; i--) {
+                if (!path[i].children.isEmpty() || path[i].bus.hasListeners()) {
+                    return;
+                }
+                path[i - 1].children.remove(segments.get(i - 1));
+            }
+        }
+    }
+
+    private static void collectMatching(Node node, List<String> segments, int index, List<Node> matching) {
+        Node multiLevel = node.children.get(Topic.MULTI_LEVEL_WILDCARD);
+        if (multiLevel != null) {
+            matching.add(multiLevel);
+        }
+        if (index == segments.size()) {
+            matching.add(node);
+            return;
+        }
+        Node exact = node.children.get(segments.get(index));
+        if (exact != null) {
+            collectMatching(exact, segments, index + 1, matching);
+        }
+        Node wildcard = node.children.get(Topic.WILDCARD);
+        if (wildcard != null) {
+            collectMatching(wildcard, segments, index + 1, matching);
+        }
+    }
+
+    /**
+     * A node of the topic trie, holding the listeners subscribed to the filter leading to it.
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private final EventBus bus = new EventBus();
+
+        private int size() {
+            int size = 1;
+            for (Node child : children.values()) {
+                size += child.size();
+            }
+            return size;
+        }
+    }
+
+    /**
+     * A registration on the bus of a node, pruning the trie when unregistered.
+     */
+    private final class PruningRegistration extends Registration {
+        private final Topic filter;
+        private final Registration registration;
+
+        private PruningRegistration(Topic filter, Registration registration) {
+            super(null, null);
+            this.filter = filter;
+            this.registration = registration;
+        }
+
+        @Override
+        public boolean unregister() {
+            boolean removed = registration.unregister();
+            prune(filter);
+            return removed;
+        }
+
+        @Override
+        public boolean unregisterAll() {
+            boolean removed = registration.unregisterAll();
+            prune(filter);
+            return removed;
+        }
+
+        @Override
+        public boolean isActive() {
+            return registration.isActive();
+        }
+    }
+
+    /**
+     * A buffered registration on the bus of a node, pruning the trie when unregistered.
+     */
+    private final class PruningBufferedRegistration extends BufferedRegistration {
+        private final Topic filter;
+        private final BufferedRegistration registration;
+
+        private PruningBufferedRegistration(Topic filter, BufferedRegistration registration) {
+            super(null, null, null, registration.getCapacity(), registration.getOverflowPolicy());
+            this.filter = filter;
+            this.registration = registration;
+        }
+
+        @Override
+        public boolean unregister() {
+            boolean removed = registration.unregister();
+            prune(filter);
+            return removed;
+        }
+
+        @Override
+        public boolean unregisterAll() {
+            boolean removed = registration.unregisterAll();
+            prune(filter);
+            return removed;
+        }
+
+        @Override
+        public boolean isActive() {
+            return registration.isActive();
+        }
+
+        @Override
+        public long getDroppedEventCount() {
+            return registration.getDroppedEventCount();
+        }
+    }
+}
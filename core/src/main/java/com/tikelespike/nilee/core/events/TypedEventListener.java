@@ -1,11 +1,160 @@
 package com.tikelespike.nilee.core.events;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executor;
+
 /**
- * Wrapper class for an event listener and the event type it is subscribed to.
+ * Wrapper class for an event listener and the event type it is subscribed to. Every registration of a listener on an
+ * {@link EventBus} creates its own wrapper, so two registrations of the same listener are distinct objects.
+ * <p>
+ * The wrapper references the listener either strongly or, for weak registrations, weakly, so that the listener can be
+ * garbage collected while it is still registered.
  *
- * @param eventType the type of event this listener is subscribed to
- * @param listener the wrapped listener that is subscribed to the event type
  * @param <T> the type of event the wrapped listener processes
  */
-public record TypedEventListener<T extends Event>(Class<? extends T> eventType, EventListener<T> listener) {
+public final class TypedEventListener<T extends Event> {
+
+    private final Class<? extends T> eventType;
+    // exactly one of listener and weakListener is null
+    private final EventListener<T> listener;
+    private final ListenerReference<T> weakListener;
+    private final Executor mailbox;
+
+    // links to the neighbouring registrations of the same event type, guarded by the lock of the event bus
+    TypedEventListener<?> previous;
+    TypedEventListener<?> next;
+    private volatile boolean registered;
+
+    /**
+     * Creates a new wrapper for a listener that is called on the thread firing the event.
+     *
+     * @param eventType the type of event this listener is subscribed to
+     * @param listener the wrapped listener that is subscribed to the event type
+     */
+    public TypedEventListener(Class<? extends T> eventType, EventListener<T> listener) {
+        this(eventType, listener, null, null);
+    }
+
+    /**
+     * Creates a new wrapper for a listener.
+     *
+     * @param eventType the type of event this listener is subscribed to
+     * @param listener the wrapped listener that is subscribed to the event type
+     * @param mailbox the executor delivering events to this listener one after another, or null if the listener
+     *         is called on the thread firing the event
+     * @param referenceQueue if not null, the listener is only referenced weakly, and this wrapper is enqueued in
+     *         the given queue (as a {@link ListenerReference}) once the listener has been garbage collected
+     */
+    TypedEventListener(Class<? extends T> eventType, EventListener<T> listener, Executor mailbox,
+                       ReferenceQueue<Object> referenceQueue) {
+        this.eventType = eventType;
+        this.listener = referenceQueue == null ? listener : null;
+        this.weakListener = referenceQueue == null ? null : new ListenerReference<>(listener, referenceQueue, this);
+        this.mailbox = mailbox;
+    }
+
+    /**
+     * @return the type of event this listener is subscribed to
+     */
+    public Class<? extends T> eventType() {
+        return eventType;
+    }
+
+    /**
+     * @return the wrapped listener that is subscribed to the event type, or null if the listener was only referenced
+     *         weakly and has been garbage collected
+     */
+    public EventListener<T> listener() {
+        return listener != null ? listener : weakListener.get();
+    }
+
+    /**
+     * @return true if the listener is only referenced weakly by this wrapper
+     */
+    public boolean isWeak() {
+        return weakListener != null;
+    }
+
+    /**
+     * Checks whether this wrapper and the given one wrap the same listener for the same event type, that is, whether
+     * both belong to registrations of the same listener.
+     *
+     * @param other the wrapper to compare with
+     *
+     * @return true if both wrappers wrap equal listeners subscribed to the same event type
+     */
+    public boolean wrapsSameListener(TypedEventListener<?> other) {
+        EventListener<T> wrapped = listener();
+        return wrapped != null && eventType.equals(other.eventType) && wrapped.equals(other.listener());
+    }
+
+    /**
+     * @return true if this listener is currently registered on the event bus that created it
+     */
+    boolean isRegistered() {
+        return registered;
+    }
+
+    // must only be called by the event bus that created this wrapper, while holding its lock
+    void setRegistered(boolean registered) {
+        this.registered = registered;
+    }
+
+    /**
+     * @return true if events are delivered to this listener asynchronously, false if it is called on the thread firing
+     *         the event
+     */
+    boolean isAsynchronous() {
+        return mailbox != null;
+    }
+
+    /**
+     * Delivers an event to the wrapped listener, either directly or through the mailbox of this listener. Events
+     * delivered through the mailbox are only passed to the listener if it is still registered once it is their turn,
+     * so a listener is never called after it was unregistered, even if events were still queued for it.
+     *
+     * @param event the event to deliver, has to be an instance of {@link #eventType()}
+     */
+    @SuppressWarnings("unchecked")
+    void deliver(Event event) {
+        // safe because the bus only delivers events that are instances of eventType, which is a subtype of T
+        if (mailbox == null) {
+            EventListener<T> wrapped = listener();
+            if (wrapped != null) {
+                wrapped.onEvent((T) event);
+            }
+        } else {
+            mailbox.execute(() -> {
+                // events still queued when the listener is unregistered are discarded
+                EventListener<T> wrapped = registered ? listener() : null;
+                if (wrapped != null) {
+                    wrapped.onEvent((T) event);
+                }
+            });
+        }
+    }
+
+    /**
+     * A weak reference to a listener that remembers the wrapper it belongs to, so that the wrapper can be removed from
+     * its event bus once the reference has been enqueued.
+     *
+     * @param <T> the type of event the referenced listener processes
+     */
+    static final class ListenerReference<T extends Event> extends WeakReference<EventListener<T>> {
+        private final TypedEventListener<T> owner;
+
+        private ListenerReference(EventListener<T> listener, ReferenceQueue<Object> queue,
+                                  TypedEventListener<T> owner) {
+            super(listener, queue);
+            this.owner = owner;
+        }
+
+        /**
+         * @return the wrapper whose listener this reference refers to
+         */
+        TypedEventListener<T> owner() {
+            return owner;
+        }
+    }
 }
@@ -1,25 +1,39 @@
 package com.tikelespike.nilee.core.game;
 
 import com.tikelespike.nilee.core.data.entity.User;
+import com.tikelespike.nilee.core.dice.RandomSource;
+import com.tikelespike.nilee.core.effects.RoundClock;
 import com.tikelespike.nilee.core.events.Event;
-import com.tikelespike.nilee.core.events.EventBus;
 import com.tikelespike.nilee.core.events.EventListener;
 import com.tikelespike.nilee.core.events.Registration;
+import com.tikelespike.nilee.core.events.Topic;
+import com.tikelespike.nilee.core.events.TopicBroker;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Represents a temporary time window where players come together play a game. A game session is a container for
  * short-lived game state shared between players. It thus enables communication between players currently playing
  * together.
+ * <p>
+ * All events of a session are published on a single {@link TopicBroker}, under topics describing what they concern
+ * (like {@code users/<user id>/joined}), so that listeners only receive the events they are interested in. The roll bus
+ * of the session publishes its rolls on the same broker.
  */
 public class GameSession {
 
+    private static final Topic USER_JOINED = Topic.of("users", Topic.WILDCARD, "joined");
+    private static final Topic USER_LEFT = Topic.of("users", Topic.WILDCARD, "left");
+
     private final UUID id = java.util.UUID.randomUUID();
-    private final RollBus rollBus = new RollBus();
-    private final EventBus eventBus = new EventBus();
+    private final TopicBroker broker = new TopicBroker();
+    // each session rolls with its own generator, split per thread, so sessions never contend for random numbers
+    private final RandomSource random = RandomSource.splittable(ThreadLocalRandom.current().nextLong());
+    private final RollBus rollBus = new RollBus(broker, random);
+    private final RoundClock roundClock = new RoundClock();
     private final List<User> participants = new ArrayList<>();
 
     /**
@@ -36,6 +50,36 @@ public class GameSession {
         return rollBus;
     }
 
+    /**
+     * @return the source of randomness used to roll dice in this session
+     */
+    public RandomSource getRandomSource() {
+        return random;
+    }
+
+    /**
+     * Returns the clock counting the rounds played in this session. Effects lasting a number of rounds (see
+     * {@link com.tikelespike.nilee.core.effects.TimedEffect}) are scheduled on this clock, and expire once the game
+     * master ends enough rounds. Each effect is detached by the executor of the owner of its character, not by the
+     * game master.
+     *
+     * @return the round clock of this session
+     */
+    public RoundClock getRoundClock() {
+        return roundClock;
+    }
+
+    /**
+     * Returns the broker on which all events of this session are published. Components sharing state between the
+     * players of this session can publish their events on this broker as well, under a topic below the one of the user
+     * or character they concern (see {@link RollBus} for the topics used for rolls).
+     *
+     * @return the broker on which all events of this session are published
+     */
+    public TopicBroker getBroker() {
+        return broker;
+    }
+
     /**
      * @return the unique identifier of this game session
      */
@@ -57,7 +101,7 @@ public class GameSession {
      * @param participant the user added to this session
      */
     protected void onParticipantAdded(User participant) {
-        eventBus.fireEvent(new UserJoinedEvent(this, participant));
+        broker.publish(userTopic(participant).then("joined"), new UserJoinedEvent(this, participant));
     }
 
     /**
@@ -78,7 +122,7 @@ public class GameSession {
      * @param participant the user removed from this session
      */
     protected void onParticipantRemoved(User participant) {
-        eventBus.fireEvent(new UserLeftEvent(this, participant));
+        broker.publish(userTopic(participant).then("left"), new UserLeftEvent(this, participant));
     }
 
     /**
@@ -91,7 +135,7 @@ public class GameSession {
      * @return a registration object that can be used to unregister the listener
      */
     public Registration addUserJoinedListener(EventListener<UserJoinedEvent> listener) {
-        return eventBus.registerListener(UserJoinedEvent.class, listener);
+        return broker.subscribe(USER_JOINED, UserJoinedEvent.class, listener);
     }
 
     /**
@@ -104,7 +148,7 @@ public class GameSession {
      * @return a registration object that can be used to unregister the listener
      */
     public Registration addUserLeftListener(EventListener<UserLeftEvent> listener) {
-        return eventBus.registerListener(UserLeftEvent.class, listener);
+        return broker.subscribe(USER_LEFT, UserLeftEvent.class, listener);
     }
 
     /**
@@ -114,6 +158,17 @@ public class GameSession {
         return List.copyOf(participants);
     }
 
+    /**
+     * Creates the topic under which all events of a session concerning the given user are published.
+     *
+     * @param user the user to create the topic for
+     *
+     * @return the topic {@code users/<user id>}
+     */
+    static Topic userTopic(User user) {
+        return Topic.of("users", String.valueOf(user.getId()));
+    }
+
     @Override
     public String toString() {
         return getId().toString();
@@ -4,23 +4,77 @@ import com.tikelespike.nilee.core.character.PlayerCharacter;
 import com.tikelespike.nilee.core.data.entity.User;
 import com.tikelespike.nilee.core.dice.DiceConstant;
 import com.tikelespike.nilee.core.dice.DiceExpression;
-import com.tikelespike.nilee.core.events.EventBus;
+import com.tikelespike.nilee.core.dice.RandomSource;
+import com.tikelespike.nilee.core.events.BufferedRegistration;
 import com.tikelespike.nilee.core.events.EventListener;
-import com.tikelespike.nilee.core.events.Registration;
+import com.tikelespike.nilee.core.events.EventPublisher;
+import com.tikelespike.nilee.core.events.OverflowPolicy;
+import com.tikelespike.nilee.core.events.Topic;
+import com.tikelespike.nilee.core.events.TopicBroker;
 import com.tikelespike.nilee.core.i18n.LocalizedString;
 import com.tikelespike.nilee.core.property.Property;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.function.Function;
 
 /**
  * A "channel" on which rolls are made by calling {@link #makeRoll(Property, LocalizedString, PlayerCharacter)}.
  * Multiple application instances might share a channel, for example if multiple players are playing together and want
  * to view the same dice rolls.
+ * <p>
+ * Listeners are notified asynchronously, so a roll returns as soon as its result is known, independent of how many
+ * players are listening and how long they take to process the roll. Each listener buffers at most
+ * {@value #MAX_PENDING_ROLLS} rolls it has not processed yet. If a listener falls further behind (for example, because
+ * a player's connection stalls), it misses the oldest of these rolls, so it cannot affect memory usage or latency for
+ * the other players.
+ * <p>
+ * Rolls are published on a {@link TopicBroker} under the topic {@code users/<user id>/rolls}, or
+ * {@code users/<user id>/characters/<character id>/rolls} if made by a player character. Listeners interested only in
+ * the rolls of a specific user or character are only notified of those rolls.
  */
 public class RollBus {
 
-    private final EventBus eventBus = new EventBus();
+    /**
+     * The maximum number of rolls buffered for a listener that has not processed them yet.
+     */
+    public static final int MAX_PENDING_ROLLS = 32;
+
+    private static final Topic ALL_ROLLS = Topic.of(Topic.MULTI_LEVEL_WILDCARD);
+
+    private final TopicBroker broker;
+    private final RandomSource random;
+
+    /**
+     * Creates a new roll bus with its own topic broker, rolling dice using {@link RandomSource#threadLocal()}.
+     */
+    public RollBus() {
+        this(new TopicBroker());
+    }
+
+    /**
+     * Creates a new roll bus publishing its rolls on the given topic broker, which may be shared with other
+     * components (like the {@link GameSession} the roll bus belongs to). Dice are rolled using
+     * {@link RandomSource#threadLocal()}.
+     *
+     * @param broker the broker to publish rolls on
+     */
+    public RollBus(@NotNull TopicBroker broker) {
+        this(broker, RandomSource.threadLocal());
+    }
+
+    /**
+     * Creates a new roll bus publishing its rolls on the given topic broker, and rolling dice using the given random
+     * source (like the one of the {@link GameSession} the roll bus belongs to).
+     *
+     * @param broker the broker to publish rolls on
+     * @param random the source of randomness to roll dice with
+     */
+    public RollBus(@NotNull TopicBroker broker, @NotNull RandomSource random) {
+        this.broker = Objects.requireNonNull(broker);
+        this.random = Objects.requireNonNull(random);
+    }
 
     /**
      * Make a roll on this roll bus. The type of dice to roll is determined by the property given, and all listeners
@@ -58,24 +112,97 @@ public class RollBus {
         Objects.requireNonNull(rollProperty);
 
         DiceExpression roll = rollProperty.getValue();
-        DiceExpression partialResult = roll.evaluatePartially();
-        int result = partialResult.evaluate();
+        DiceExpression partialResult = roll.evaluatePartially(random);
+        int result = partialResult.evaluate(random);
 
-        eventBus.fireEvent(
+        broker.publish(rollTopic(user, playerCharacter),
                 new RollEvent(rollDescription, playerCharacter, user, roll, partialResult, new DiceConstant(result)));
 
         return result;
     }
 
     /**
-     * Registers a listener to be notified of all rolls made on this roll bus.
+     * Registers a listener to be notified of all rolls made on this roll bus. The listener is called on a background
+     * thread, receiving the rolls in the order they were made. If more than {@value #MAX_PENDING_ROLLS} rolls are
+     * waiting to be processed by the listener, the oldest of them are dropped.
      *
      * @param listener the listener to register
      *
-     * @return a registration that can be used to unregister the listener
+     * @return a registration that can be used to unregister the listener and to monitor dropped rolls
      */
-    public Registration registerRollListener(@NotNull EventListener<? super RollEvent> listener) {
-        return eventBus.registerListener(RollEvent.class, listener);
+    public BufferedRegistration registerRollListener(@NotNull EventListener<? super RollEvent> listener) {
+        return broker.subscribeBuffered(ALL_ROLLS, RollEvent.class, listener, MAX_PENDING_ROLLS,
+                OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Registers a listener to be notified of all rolls made by the given user on this roll bus (including the rolls
+     * made by the user's characters), like {@link #registerRollListener(EventListener)}.
+     *
+     * @param user the user whose rolls the listener is notified of
+     * @param listener the listener to register
+     *
+     * @return a registration that can be used to unregister the listener and to monitor dropped rolls
+     */
+    public BufferedRegistration registerRollListener(@NotNull User user,
+                                                     @NotNull EventListener<? super RollEvent> listener) {
+        Topic userRolls = GameSession.userTopic(Objects.requireNonNull(user)).then(Topic.MULTI_LEVEL_WILDCARD);
+        return broker.subscribeBuffered(userRolls, RollEvent.class, listener, MAX_PENDING_ROLLS,
+                OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Registers a listener to be notified of all rolls made by the given player character on this roll bus, like
+     * {@link #registerRollListener(EventListener)}.
+     *
+     * @param playerCharacter the character whose rolls the listener is notified of
+     * @param listener the listener to register
+     *
+     * @return a registration that can be used to unregister the listener and to monitor dropped rolls
+     */
+    public BufferedRegistration registerRollListener(@NotNull PlayerCharacter playerCharacter,
+                                                     @NotNull EventListener<? super RollEvent> listener) {
+        Objects.requireNonNull(playerCharacter);
+        return broker.subscribeBuffered(rollTopic(playerCharacter.getOwner(), playerCharacter), RollEvent.class,
+                listener, MAX_PENDING_ROLLS, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Registers a listener to be notified of all rolls made on this roll bus, like
+     * {@link #registerRollListener(EventListener)}, but without keeping the listener from being garbage collected. The
+     * caller has to keep a strong reference to the listener for as long as it should be notified.
+     *
+     * @param listener the listener to register, only weakly referenced by this roll bus
+     *
+     * @return a registration that can be used to unregister the listener and to monitor dropped rolls
+     * @see TopicBroker#subscribeWeakBuffered(Topic, Class, EventListener, int, OverflowPolicy)
+     */
+    public BufferedRegistration registerWeakRollListener(@NotNull EventListener<? super RollEvent> listener) {
+        return broker.subscribeWeakBuffered(ALL_ROLLS, RollEvent.class, listener, MAX_PENDING_ROLLS,
+                OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates a publisher of all rolls made on this roll bus, for consumers that want to receive the rolls at their own
+     * rate (like a bot or a spectator stream). Every subscriber receives the rolls made after subscribing, as far as it
+     * has requested them. If more than {@value #MAX_PENDING_ROLLS} rolls are made that a subscriber has not requested
+     * yet, the oldest of them are dropped.
+     *
+     * @return a new publisher of the rolls made on this roll bus
+     * @see EventPublisher
+     */
+    public Flow.Publisher<RollEvent> getRollPublisher() {
+        return new EventPublisher<RollEvent, RollEvent>(
+                listener -> broker.subscribe(ALL_ROLLS, RollEvent.class, listener), Function.identity(), null,
+                MAX_PENDING_ROLLS, OverflowPolicy.DROP_OLDEST);
+    }
+
+    private static Topic rollTopic(User user, PlayerCharacter playerCharacter) {
+        Topic topic = GameSession.userTopic(user);
+        if (playerCharacter != null) {
+            topic = topic.then("characters", String.valueOf(playerCharacter.getId()));
+        }
+        return topic.then("rolls");
     }
 
 }
@@ -0,0 +1,27 @@
+package com.tikelespike.nilee.core.property;
+
+/**
+ * An {@link IntPropertyModifier} applying an affine transformation, that is, calculating {@code value * factor +
+ * offset}. Adding a bonus and multiplying by a factor are both affine transformations. Since any sequence of affine
+ * transformations is again an affine transformation, an {@link IntProperty} fuses consecutive affine modifiers into a
+ * single step, so applying many of them takes constant time.
+ * <p>
+ * Implementing classes must call {@link #update()} whenever factor or offset change.
+ */
+public abstract class AffineModifier extends IntPropertyModifier {
+
+    /**
+     * @return the factor the value is multiplied by (before adding the offset)
+     */
+    public abstract int getAffineFactor();
+
+    /**
+     * @return the offset added to the value (after multiplying it by the factor)
+     */
+    public abstract int getAffineOffset();
+
+    @Override
+    public final int applyAsInt(int value) {
+        return value * getAffineFactor() + getAffineOffset();
+    }
+}
@@ -0,0 +1,308 @@
+package com.tikelespike.nilee.core.property;
+
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * An immutable array of the components of a {@link Property} (like its modifiers or base value suppliers). Changing
+ * the components creates a new array, which replaces the old one in a single write. This way, reading the components
+ * needs neither locks nor copies: a reader always sees a consistent state, and can iterate it by index without
+ * allocating anything, or hand out the unmodifiable list and set views of the array.
+ *
+ * @param <E> the type of the components
+ */
+final class ComponentArray<E> {
+
+    private static final ComponentArray<?> EMPTY = new ComponentArray<>(new Object[0]);
+
+    private final Object[] elements;
+    private final List<E> list = new ListView();
+    private final Set<E> set = new SetView();
+
+    private ComponentArray(Object[] elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * @param <E> the type of the components
+     *
+     * @return an array without any components
+     */
+    @SuppressWarnings("unchecked")
+    static <E> ComponentArray<E> empty() {
+        return (ComponentArray<E>) EMPTY;
+    }
+
+    /**
+     * @return the number of components in this array
+     */
+    int size() {
+        return elements.length;
+    }
+
+    /**
+     * @return true if this array has no components
+     */
+    boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    /**
+     * @param index the index of the component, between 0 (inclusive) and {@link #size()} (exclusive)
+     *
+     * @return the component at the given index
+     */
+    @SuppressWarnings("unchecked")
+    E get(int index) {
+        return (E) elements[index];
+    }
+
+    /**
+     * @param element the component to search for
+     *
+     * @return the index of the first occurrence of the given component, or -1 if this array does not contain it
+     */
+    int indexOf(Object element) {
+        for (int i = 0; i < elements.length; i++) {
+            if (Objects.equals(elements[i], element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param element the component to search for
+     *
+     * @return true if this array contains the given component
+     */
+    boolean contains(Object element) {
+        return indexOf(element) >= 0;
+    }
+
+    /**
+     * Creates a copy of this array with the given component inserted.
+     *
+     * @param index the index to insert the component at, between 0 and {@link #size()} (both inclusive)
+     * @param element the component to insert
+     *
+     * @return a new array containing the given component at the given index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    ComponentArray<E> with(int index, E element) {
+        Objects.checkIndex(index, elements.length + 1);
+        Object[] result = new Object[elements.length + 1];
+        System.arraycopy(elements, 0, result, 0, index);
+        result[index] = element;
+        System.arraycopy(elements, index, result, index + 1, elements.length - index);
+        return new ComponentArray<>(result);
+    }
+
+    /**
+     * Creates a copy of this array without the first occurrence of the given component.
+     *
+     * @param element the component to remove
+     *
+     * @return a new array without the given component, or this array if it does not contain the component
+     */
+    ComponentArray<E> without(Object element) {
+        int index = indexOf(element);
+        if (index < 0) {
+            return this;
+        }
+        if (elements.length == 1) {
+            return empty();
+        }
+        Object[] result = new Object[elements.length - 1];
+        System.arraycopy(elements, 0, result, 0, index);
+        System.arraycopy(elements, index + 1, result, index, elements.length - index - 1);
+        return new ComponentArray<>(result);
+    }
+
+    /**
+     * Creates a copy of this array with all given components inserted, in the order of the collection.
+     *
+     * @param index the index to insert the components at, between 0 and {@link #size()} (both inclusive)
+     * @param added the components to insert
+     *
+     * @return a new array containing the given components starting at the given index
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    ComponentArray<E> withAll(int index, Collection<? extends E> added) {
+        Objects.checkIndex(index, elements.length + 1);
+        Object[] inserted = added.toArray();
+        Object[] result = new Object[elements.length + inserted.length];
+        System.arraycopy(elements, 0, result, 0, index);
+        System.arraycopy(inserted, 0, result, index, inserted.length);
+        System.arraycopy(elements, index, result, index + inserted.length, elements.length - index);
+        return new ComponentArray<>(result);
+    }
+
+    /**
+     * Creates a copy of this array without any occurrences of the given components, in a single pass.
+     *
+     * @param removed the components to remove
+     *
+     * @return a new array without the given components, or this array if it does not contain any of them
+     */
+    ComponentArray<E> withoutAll(Set<?> removed) {
+        Object[] result = new Object[elements.length];
+        int count = 0;
+        for (Object element : elements) {
+            if (!removed.contains(element)) {
+                result[count++] = element;
+            }
+        }
+        if (count == elements.length) {
+            return this;
+        }
+        return count == 0 ? empty() : new ComponentArray<>(Arrays.copyOf(result, count));
+    }
+
+    /**
+     * Finds a run of components stored next to each other, like components {@link #withAll(int, Collection) added
+     * together}. The given index is checked first, so if the run has not moved since it was added, finding it only
+     * takes time linear in the length of the run. Components are compared by identity.
+     *
+     * @param run the components to search for, in the order they are stored
+     * @param hint the index the run is expected at
+     *
+     * @return the index of the first component of the run, or -1 if this array does not contain the components in a
+     *         single run
+     */
+    int indexOfRun(List<?> run, int hint) {
+        if (run.isEmpty()) {
+            return -1;
+        }
+        if (isRunAt(run, hint)) {
+            return hint;
+        }
+        for (int i = 0; i + run.size() <= elements.length; i++) {
+            if (elements[i] == run.get(0) && isRunAt(run, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isRunAt(List<?> run, int index) {
+        if (index < 0 || index + run.size() > elements.length) {
+            return false;
+        }
+        for (int i = 0; i < run.size(); i++) {
+            if (elements[index + i] != run.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates a copy of this array without the given ranges of components. Only the components between the ranges are
+     * copied, without looking at the removed ones.
+     *
+     * @param starts the indices of the first component of each range, in ascending order
+     * @param lengths the number of components in each range. Ranges must not overlap.
+     *
+     * @return a new array without the components in the given ranges
+     */
+    ComponentArray<E> withoutRanges(int[] starts, int[] lengths) {
+        int removed = 0;
+        for (int length : lengths) {
+            removed += length;
+        }
+        if (removed == elements.length) {
+            return empty();
+        }
+        Object[] result = new Object[elements.length - removed];
+        int from = 0;
+        int to = 0;
+        for (int i = 0; i < starts.length; i++) {
+            System.arraycopy(elements, from, result, to, starts[i] - from);
+            to += starts[i] - from;
+            from = starts[i] + lengths[i];
+        }
+        System.arraycopy(elements, from, result, to, elements.length - from);
+        return new ComponentArray<>(result);
+    }
+
+    /**
+     * @param element the component to search for
+     *
+     * @return the index of the last occurrence of the given component (compared by identity), or -1 if this array does
+     *         not contain it. Takes time linear in the distance of the component from the end of the array.
+     */
+    int lastIndexOf(Object element) {
+        for (int i = elements.length - 1; i >= 0; i--) {
+            if (elements[i] == element) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return an unmodifiable list view of this array
+     */
+    List<E> asList() {
+        return list;
+    }
+
+    /**
+     * @return an unmodifiable set view of this array, only meaningful if the array does not contain duplicates
+     */
+    Set<E> asSet() {
+        return set;
+    }
+
+    private final class ListView extends AbstractList<E> implements RandomAccess {
+        @Override
+        public E get(int index) {
+            return ComponentArray.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return ComponentArray.this.indexOf(o);
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return ComponentArray.this.contains(o);
+        }
+
+        @Override
+        public Object[] toArray() {
+            return Arrays.copyOf(elements, elements.length);
+        }
+    }
+
+    private final class SetView extends AbstractSet<E> {
+        @Override
+        public Iterator<E> iterator() {
+            return list.iterator();
+        }
+
+        @Override
+        public int size() {
+            return elements.length;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return ComponentArray.this.contains(o);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.tikelespike.nilee.core.property;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+/**
+ * An {@link IntPropertyBaseSupplier} whose value is calculated from the value of another {@link IntProperty} only, like
+ * the modifier of an ability score. Declaring this (instead of reading the property in
+ * {@link #getIntBaseValue()}) allows an {@link IntEvaluationPlan} to pass the value of the source property directly,
+ * without asking the property for it.
+ * <p>
+ * The supplier {@link #dependOn(Property) depends on} its source property, so it is notified of all its changes.
+ */
+public abstract class DerivedIntBaseSupplier extends IntPropertyBaseSupplier {
+
+    private final IntProperty source;
+
+    /**
+     * Creates a new supplier deriving its value from the given property.
+     *
+     * @param source the property the value of this supplier is calculated from
+     */
+    protected DerivedIntBaseSupplier(@NotNull IntProperty source) {
+        this.source = Objects.requireNonNull(source);
+        dependOn(source);
+    }
+
+    /**
+     * Calculates the value of this supplier from the value of its source property. The result may only depend on the
+     * given value, unless the implementing class calls {@link #update()} whenever anything else it depends on changes.
+     *
+     * @param sourceValue the current value of the source property
+     *
+     * @return the base value supplied for the given value of the source property
+     */
+    public abstract int derive(int sourceValue);
+
+    /**
+     * @return the property the value of this supplier is calculated from
+     */
+    public IntProperty getSource() {
+        return source;
+    }
+
+    @Override
+    public final int getIntBaseValue() {
+        return derive(source.getIntValue());
+    }
+}
@@ -0,0 +1,79 @@
+package com.tikelespike.nilee.core.property;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The modifiers of an {@link IntProperty}, with each run of consecutive {@link AffineModifier AffineModifiers} folded
+ * into a single {@code value * factor + offset} step. Other modifiers act as barriers between the runs and are applied
+ * as they are. The factors and offsets are captured when the chain is built, so it has to be rebuilt whenever the
+ * modifiers or an affine modifier change.
+ * <p>
+ * Fusing is exact: int arithmetic wraps around consistently, so overflows produce the same results as applying the
+ * modifiers one by one.
+ */
+final class FusedModifierChain {
+
+    // step i applies factors[i] and offsets[i], followed by barriers.get(i) (if i < barriers.size())
+    private final int[] factors;
+    private final int[] offsets;
+    private final List<PropertyModifier<Integer>> barriers;
+
+    private FusedModifierChain(int[] factors, int[] offsets, List<PropertyModifier<Integer>> barriers) {
+        this.factors = factors;
+        this.offsets = offsets;
+        this.barriers = barriers;
+    }
+
+    /**
+     * Fuses the given modifiers, in the order they are applied.
+     *
+     * @param modifiers the modifiers to fuse
+     *
+     * @return the fused chain of the modifiers
+     */
+    static FusedModifierChain of(List<PropertyModifier<Integer>> modifiers) {
+        List<PropertyModifier<Integer>> barriers = new ArrayList<>();
+        for (PropertyModifier<Integer> modifier : modifiers) {
+            if (!(modifier instanceof AffineModifier)) {
+                barriers.add(modifier);
+            }
+        }
+        int[] factors = new int[barriers.size() + 1];
+        int[] offsets = new int[barriers.size() + 1];
+        int step = 0;
+        factors[0] = 1;
+        for (PropertyModifier<Integer> modifier : modifiers) {
+            if (modifier instanceof AffineModifier affine) {
+                // (x * f + o) * f' + o' = x * (f * f') + (o * f' + o')
+                int factor = affine.getAffineFactor();
+                factors[step] *= factor;
+                offsets[step] = offsets[step] * factor + affine.getAffineOffset();
+            } else {
+                step++;
+                factors[step] = 1;
+            }
+        }
+        return new FusedModifierChain(factors, offsets, List.copyOf(barriers));
+    }
+
+    /**
+     * Applies all modifiers to the given value.
+     *
+     * @param value the value to modify
+     *
+     * @return the modified value
+     * @throws IllegalStateException if a modifier that is not int-specialized returns null
+     */
+    int apply(int value) {
+        int count = barriers.size();
+        for (int i = 0; i < count; i++) {
+            value = value * factors[i] + offsets[i];
+            PropertyModifier<Integer> barrier = barriers.get(i);
+            value = barrier instanceof IntPropertyModifier intModifier
+                    ? intModifier.applyAsInt(value)
+                    : IntProperty.unbox(barrier.apply(value));
+        }
+        return value * factors[count] + offsets[count];
+    }
+}
@@ -0,0 +1,37 @@
+package com.tikelespike.nilee.core.property;
+
+/**
+ * An {@link IntValueSelector} selecting the greatest value by an order on ints, like the highest or the lowest value.
+ * Since the selected value only depends on this order, an {@link IntProperty} using such a selector does not have to
+ * select its base value from scratch whenever one of its base value suppliers changes. Instead, it keeps the values of
+ * all suppliers in a heap ordered by {@link #compare(int, int)}, so retrieving the selected value takes constant time,
+ * and a change of a single supplier is processed in logarithmic time (in the number of suppliers).
+ * <p>
+ * The order must be constant. Implementing classes that change it have to call {@link #update()}, which causes all
+ * properties using the selector to rebuild their heap.
+ */
+public abstract class IncrementalIntValueSelector extends IntValueSelector {
+
+    /**
+     * Compares two values by the order this selector selects by. The selected value is the one ranked highest by this
+     * order.
+     *
+     * @param first the first value to compare
+     * @param second the second value to compare
+     *
+     * @return a negative number, zero, or a positive number if the first value is ranked lower than, equal to, or
+     *         higher than the second value
+     */
+    public abstract int compare(int first, int second);
+
+    @Override
+    public final int selectAsInt(int[] values, int count) {
+        int selected = values[0];
+        for (int i = 1; i < count; i++) {
+            if (compare(values[i], selected) > 0) {
+                selected = values[i];
+            }
+        }
+        return selected;
+    }
+}
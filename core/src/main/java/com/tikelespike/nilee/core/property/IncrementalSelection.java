@@ -0,0 +1,152 @@
+package com.tikelespike.nilee.core.property;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The base values of an {@link IntProperty} using an {@link IncrementalIntValueSelector}, kept in an indexed binary
+ * heap ordered by the selector. Suppliers that changed are only {@link #markChanged(Object) marked}, and their values
+ * are read and moved to their new place in the heap the next time the selected value is retrieved.
+ * <p>
+ * A selection is built for a fixed selector and set of suppliers. Since the suppliers of a property are stored in an
+ * immutable {@link ComponentArray}, the property can tell whether the selection is still usable by comparing the
+ * identities of its current suppliers and selector with the ones of the selection (see {@link #isFor}).
+ */
+final class IncrementalSelection {
+
+    private final IncrementalIntValueSelector selector;
+    private final ComponentArray<PropertyBaseSupplier<Integer>> suppliers;
+    // slot of each supplier, which is its index in the supplier array
+    private final Map<Object, Integer> slots = new IdentityHashMap<>();
+
+    // value of each slot, the heap of slots (highest ranked value first), and the heap position of each slot
+    private final int[] values;
+    private final int[] heap;
+    private final int[] positions;
+
+    // slots whose suppliers changed since their values were last read
+    private final int[] changed;
+    private final boolean[] isChanged;
+    private int changedCount;
+
+    /**
+     * Reads the values of all suppliers and builds the heap, which takes linear time.
+     *
+     * @param selector the selector defining the order of the heap
+     * @param suppliers the suppliers to select from, at least one
+     */
+    IncrementalSelection(IncrementalIntValueSelector selector,
+                         ComponentArray<PropertyBaseSupplier<Integer>> suppliers) {
+        this.selector = selector;
+        this.suppliers = suppliers;
+        int size = suppliers.size();
+        values = new int[size];
+        heap = new int[size];
+        positions = new int[size];
+        changed = new int[size];
+        isChanged = new boolean[size];
+        for (int slot = 0; slot < size; slot++) {
+            slots.put(suppliers.get(slot), slot);
+            values[slot] = read(slot);
+            heap[slot] = slot;
+            positions[slot] = slot;
+        }
+        for (int position = size / 2 - 1; position >= 0; position--) {
+            siftDown(position);
+        }
+    }
+
+    /**
+     * @param selector the current selector of the property
+     * @param suppliers the current suppliers of the property
+     *
+     * @return true if this selection was built for exactly the given selector and suppliers
+     */
+    boolean isFor(ValueSelector<Integer> selector, ComponentArray<PropertyBaseSupplier<Integer>> suppliers) {
+        return this.selector == selector && this.suppliers == suppliers;
+    }
+
+    /**
+     * Marks the value of a supplier as outdated. Has no effect if the given object is not one of the suppliers.
+     *
+     * @param supplier the supplier that changed
+     */
+    void markChanged(Object supplier) {
+        Integer slot = slots.get(supplier);
+        if (slot != null && !isChanged[slot]) {
+            isChanged[slot] = true;
+            changed[changedCount++] = slot;
+        }
+    }
+
+    /**
+     * Reads the values of all changed suppliers, restores the heap and returns the value ranked highest.
+     *
+     * @return the selected base value
+     */
+    int select() {
+        for (int i = 0; i < changedCount; i++) {
+            int slot = changed[i];
+            isChanged[slot] = false;
+            int previous = values[slot];
+            values[slot] = read(slot);
+            int comparison = selector.compare(values[slot], previous);
+            if (comparison > 0) {
+                siftUp(positions[slot]);
+            } else if (comparison < 0) {
+                siftDown(positions[slot]);
+            }
+        }
+        changedCount = 0;
+        return values[heap[0]];
+    }
+
+    private int read(int slot) {
+        PropertyBaseSupplier<Integer> supplier = suppliers.get(slot);
+        return supplier instanceof IntPropertyBaseSupplier intSupplier
+                ? intSupplier.getIntBaseValue()
+                : IntProperty.unbox(supplier.getBaseValue());
+    }
+
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!ranksHigher(heap[position], heap[parent])) {
+                return;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    private void siftDown(int position) {
+        while (true) {
+            int highest = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < heap.length && ranksHigher(heap[left], heap[highest])) {
+                highest = left;
+            }
+            if (right < heap.length && ranksHigher(heap[right], heap[highest])) {
+                highest = right;
+            }
+            if (highest == position) {
+                return;
+            }
+            swap(position, highest);
+            position = highest;
+        }
+    }
+
+    private boolean ranksHigher(int slot, int otherSlot) {
+        return selector.compare(values[slot], values[otherSlot]) > 0;
+    }
+
+    private void swap(int position, int otherPosition) {
+        int slot = heap[position];
+        heap[position] = heap[otherPosition];
+        heap[otherPosition] = slot;
+        positions[heap[position]] = position;
+        positions[slot] = otherPosition;
+    }
+}
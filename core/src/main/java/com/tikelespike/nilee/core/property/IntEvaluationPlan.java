@@ -0,0 +1,332 @@
+package com.tikelespike.nilee.core.property;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A compiled form of a graph of integer {@link Property Properties}, calculating the values of all of them at once. The
+ * graph consists of the given properties and, transitively, the source properties of their
+ * {@link DerivedIntBaseSupplier DerivedIntBaseSuppliers}. Compiling it assigns each property a slot in a flat array of
+ * ints, with the source properties of each property in lower slots. {@link #evaluate()} then calculates the properties
+ * in this order in a single loop, passing the values of source properties to derived suppliers directly from their
+ * slots, and applying the fused modifiers of each {@link IntProperty}. As long as all suppliers, selectors and
+ * modifiers are int-specialized, the loop does not allocate any objects.
+ * <p>
+ * The calculated values are stored as the cached values of the {@link IntProperty IntProperties} of the plan, unless
+ * they changed while being calculated, so reading them afterwards does not calculate them again. Evaluating a plan does
+ * not notify any listeners. To make a plan the way a set of properties is evaluated, recompiling it whenever their
+ * structure changes, use an {@link IntPropertyEvaluator}.
+ * <p>
+ * The structure of the graph (which suppliers, modifiers and selector each property uses) is captured when compiling,
+ * while the values of the components are read on every evaluation. Once the structure changes, the plan is
+ * {@link #isOutdated() outdated} and has to be compiled again:
+ * <pre>{@code
+ * if (plan == null || plan.isOutdated()) {
+ *     plan = IntEvaluationPlan.compile(List.of(armorClass, hitPointMax));
+ * }
+ * plan.evaluate();
+ * int ac = plan.getValue(plan.slotOf(armorClass));
+ * }</pre>
+ * A plan must only be evaluated by one thread at a time, which an {@link IntPropertyEvaluator} takes care of.
+ */
+public final class IntEvaluationPlan {
+
+    private final List<Property<Integer>> properties;
+    // the int-specialized property of each slot, or null if the property of the slot is not an int property
+    private final IntProperty[] intProperties;
+    private final Map<Property<?>, Integer> slots;
+    private final int[] values;
+    // the modification count of each int property at the start of the current evaluation
+    private final long[] modifications;
+
+    // the structure captured per slot, to detect changes
+    private final List<ComponentArray<PropertyBaseSupplier<Integer>>> compiledSuppliers;
+    private final List<ComponentArray<PropertyModifier<Integer>>> compiledModifiers;
+    private final List<ValueSelector<Integer>> selectors;
+    // every property of the plan is a root or a dependency of one, so their versions reflect all structural changes
+    private final List<Property<Integer>> roots;
+    private final long[] rootVersions;
+
+    // the suppliers of slot i are suppliers[supplierEnds[i - 1] .. supplierEnds[i]), likewise for the modifiers
+    private final List<PropertyBaseSupplier<Integer>> suppliers;
+    // slot of the source property of each supplier, or -1 if the supplier is evaluated on its own
+    private final int[] supplierSources;
+    private final int[] supplierEnds;
+    // only applied to properties that are not int properties, which do not fuse their modifiers
+    private final List<PropertyModifier<Integer>> modifiers;
+    private final int[] modifierEnds;
+
+    // reused for selecting base values
+    private final int[] baseValues;
+
+    private IntEvaluationPlan(List<Property<Integer>> roots, List<Property<Integer>> ordered) {
+        int count = ordered.size();
+        properties = List.copyOf(ordered);
+        intProperties = new IntProperty[count];
+        slots = new IdentityHashMap<>();
+        for (int slot = 0; slot < count; slot++) {
+            slots.put(properties.get(slot), slot);
+            if (properties.get(slot) instanceof IntProperty intProperty) {
+                intProperties[slot] = intProperty;
+            }
+        }
+        values = new int[count];
+        modifications = new long[count];
+        supplierEnds = new int[count];
+        modifierEnds = new int[count];
+        this.roots = List.copyOf(roots);
+        rootVersions = new long[roots.size()];
+        captureRootVersions();
+
+        List<ComponentArray<PropertyBaseSupplier<Integer>>> capturedSuppliers = new ArrayList<>(count);
+        List<ComponentArray<PropertyModifier<Integer>>> capturedModifiers = new ArrayList<>(count);
+        List<ValueSelector<Integer>> capturedSelectors = new ArrayList<>(count);
+        List<PropertyBaseSupplier<Integer>> allSuppliers = new ArrayList<>();
+        List<PropertyModifier<Integer>> allModifiers = new ArrayList<>();
+        int maxSuppliers = 0;
+        for (int slot = 0; slot < count; slot++) {
+            Property<Integer> property = properties.get(slot);
+            ComponentArray<PropertyBaseSupplier<Integer>> slotSuppliers = property.internalBaseValueSuppliers();
+            ComponentArray<PropertyModifier<Integer>> slotModifiers = property.internalModifiers();
+            capturedSuppliers.add(slotSuppliers);
+            capturedModifiers.add(slotModifiers);
+            capturedSelectors.add(property.getBaseValueSelector());
+            allSuppliers.addAll(slotSuppliers.asList());
+            if (intProperties[slot] == null) {
+                allModifiers.addAll(slotModifiers.asList());
+            }
+            supplierEnds[slot] = allSuppliers.size();
+            modifierEnds[slot] = allModifiers.size();
+            maxSuppliers = Math.max(maxSuppliers, slotSuppliers.size());
+        }
+        compiledSuppliers = List.copyOf(capturedSuppliers);
+        compiledModifiers = List.copyOf(capturedModifiers);
+        selectors = List.copyOf(capturedSelectors);
+        suppliers = List.copyOf(allSuppliers);
+        modifiers = List.copyOf(allModifiers);
+        supplierSources = new int[suppliers.size()];
+        for (int i = 0; i < suppliers.size(); i++) {
+            supplierSources[i] = suppliers.get(i) instanceof DerivedIntBaseSupplier derived
+                    ? slots.get(derived.getSource())
+                    : -1;
+        }
+        baseValues = new int[maxSuppliers];
+    }
+
+    /**
+     * Compiles a plan calculating the given properties and all properties their values are derived from (using
+     * {@link DerivedIntBaseSupplier DerivedIntBaseSuppliers}). Takes linear time in the number of properties and their
+     * components. Compiling only reads the current components of the properties, so unlike changing them, it may
+     * happen on any thread.
+     *
+     * @param roots the properties to calculate
+     *
+     * @return a plan calculating the given properties
+     */
+    public static IntEvaluationPlan compile(@NotNull Collection<? extends Property<Integer>> roots) {
+        Objects.requireNonNull(roots);
+        List<Property<Integer>> compiledRoots = List.copyOf(roots);
+        // depth-first, adding each property after its sources, so sources are always evaluated first
+        Map<Property<Integer>, Boolean> visited = new IdentityHashMap<>();
+        List<Property<Integer>> ordered = new ArrayList<>();
+        Deque<Property<Integer>> pending = new ArrayDeque<>();
+        for (Property<Integer> root : compiledRoots) {
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Property<Integer> property = pending.peek();
+                if (visited.putIfAbsent(property, Boolean.FALSE) == null) {
+                    // first visit: evaluate the sources, then come back to this property
+                    for (PropertyBaseSupplier<Integer> supplier : property.internalBaseValueSuppliers().asList()) {
+                        if (supplier instanceof DerivedIntBaseSupplier derived
+                                && !visited.containsKey(derived.getSource())) {
+                            pending.push(derived.getSource());
+                        }
+                    }
+                } else {
+                    pending.pop();
+                    if (visited.put(property, Boolean.TRUE) == Boolean.FALSE) {
+                        ordered.add(property);
+                    }
+                }
+            }
+        }
+        return new IntEvaluationPlan(compiledRoots, ordered);
+    }
+
+    /**
+     * Checks whether the structure of any property of this plan changed since it was compiled, so that the plan has to
+     * be compiled again. As long as no dependencies were added to or removed from the properties of the plan or
+     * anything they depend on, this only compares a version per property the plan was compiled for. Changes to
+     * unrelated properties, like those of other characters, do not matter. Otherwise, the check takes linear time in
+     * the number of properties of the plan.
+     *
+     * @return true if this plan no longer reflects the structure of its properties
+     */
+    public boolean isOutdated() {
+        boolean unchanged = true;
+        for (int i = 0; i < roots.size() && unchanged; i++) {
+            unchanged = roots.get(i).getStructureVersion() == rootVersions[i];
+        }
+        if (unchanged) {
+            return false;
+        }
+        if (!matchesStructure()) {
+            return true;
+        }
+        // the changes only affected components of the properties (like modifiers depending on other properties)
+        captureRootVersions();
+        return false;
+    }
+
+    // compares the components of each property by identity, which is safe while the properties are being changed
+    private boolean matchesStructure() {
+        for (int slot = 0; slot < properties.size(); slot++) {
+            Property<Integer> property = properties.get(slot);
+            if (property.internalBaseValueSuppliers() != compiledSuppliers.get(slot)
+                    || property.internalModifiers() != compiledModifiers.get(slot)
+                    || property.getBaseValueSelector() != selectors.get(slot)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void captureRootVersions() {
+        for (int i = 0; i < roots.size(); i++) {
+            rootVersions[i] = roots.get(i).getStructureVersion();
+        }
+    }
+
+    /**
+     * Calculates the values of all properties of this plan from the current values of their components, and stores
+     * them as the cached values of the int properties of this plan. Afterwards, the values can also be retrieved using
+     * {@link #getValue(int)}.
+     *
+     * @throws IllegalStateException if this plan is outdated, if a property has no base value suppliers, or if one of
+     *         its components returns null
+     */
+    public void evaluate() {
+        if (!evaluateIfCurrent()) {
+            throw new IllegalStateException("The structure of the properties changed since the plan was compiled");
+        }
+    }
+
+    /**
+     * Evaluates this plan like {@link #evaluate()}, unless its structure is outdated. Values that change while being
+     * calculated are not stored, so this may be called while the properties are being changed by another thread.
+     *
+     * @return false if this plan is outdated and nothing was calculated
+     */
+    boolean evaluateIfCurrent() {
+        // captured before checking the structure, so a value calculated with a structure changed afterwards is stamped
+        // with an outdated modification count and never stored
+        for (int slot = 0; slot < properties.size(); slot++) {
+            IntProperty property = intProperties[slot];
+            modifications[slot] = property != null ? property.getModificationCount() : 0;
+        }
+        if (!matchesStructure()) {
+            return false;
+        }
+        int supplier = 0;
+        int modifier = 0;
+        for (int slot = 0; slot < properties.size(); slot++) {
+            int supplierEnd = supplierEnds[slot];
+            if (supplier == supplierEnd) {
+                throw new IllegalStateException("No base value suppliers has been defined for this property");
+            }
+            int count = 0;
+            for (; supplier < supplierEnd; supplier++) {
+                baseValues[count++] = supplyBaseValue(supplier);
+            }
+            int value = selectBaseValue(slot, count);
+            IntProperty property = intProperties[slot];
+            if (property != null) {
+                value = property.modifierChain().apply(value);
+                property.storeIntValue(modifications[slot], value);
+            } else {
+                for (int modifierEnd = modifierEnds[slot]; modifier < modifierEnd; modifier++) {
+                    value = modifiers.get(modifier) instanceof IntPropertyModifier intModifier
+                            ? intModifier.applyAsInt(value)
+                            : IntProperty.unbox(modifiers.get(modifier).apply(value));
+                }
+            }
+            values[slot] = value;
+        }
+        return true;
+    }
+
+    /**
+     * @param property a property of this plan
+     *
+     * @return the slot of the given property in this plan, or -1 if the plan does not calculate it
+     */
+    public int slotOf(@NotNull Property<?> property) {
+        Integer slot = slots.get(Objects.requireNonNull(property));
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * Returns the value of a property calculated by the last call to {@link #evaluate()}.
+     *
+     * @param slot the slot of the property, see {@link #slotOf(Property)}
+     *
+     * @return the value of the property in the given slot, as of the last evaluation
+     */
+    public int getValue(int slot) {
+        return values[slot];
+    }
+
+    /**
+     * @return the number of properties calculated by this plan
+     */
+    public int size() {
+        return properties.size();
+    }
+
+    /**
+     * @return the int properties calculated by this plan, in the order of their slots
+     */
+    List<IntProperty> getIntProperties() {
+        List<IntProperty> result = new ArrayList<>(intProperties.length);
+        for (IntProperty property : intProperties) {
+            if (property != null) {
+                result.add(property);
+            }
+        }
+        return result;
+    }
+
+    private int supplyBaseValue(int supplier) {
+        PropertyBaseSupplier<Integer> baseValueSupplier = suppliers.get(supplier);
+        int source = supplierSources[supplier];
+        if (source >= 0) {
+            return ((DerivedIntBaseSupplier) baseValueSupplier).derive(values[source]);
+        }
+        return baseValueSupplier instanceof IntPropertyBaseSupplier intSupplier
+                ? intSupplier.getIntBaseValue()
+                : IntProperty.unbox(baseValueSupplier.getBaseValue());
+    }
+
+    private int selectBaseValue(int slot, int count) {
+        ValueSelector<Integer> selector = selectors.get(slot);
+        if (selector instanceof IntValueSelector intSelector) {
+            return intSelector.selectAsInt(baseValues, count);
+        }
+        List<Integer> boxed = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boxed.add(baseValues[i]);
+        }
+        Optional<Integer> selected = selector.select(boxed);
+        //noinspection OptionalGetWithoutIsPresent - optional may only be empty if the list is empty
+        return IntProperty.unbox(selected.get());
+    }
+}
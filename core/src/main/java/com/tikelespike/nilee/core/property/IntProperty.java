@@ -0,0 +1,254 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.property.convenience.IntFirstValueSelector;
+import com.tikelespike.nilee.core.property.events.DependencyNode;
+import com.tikelespike.nilee.core.property.events.IntValueChangeEvent;
+import com.tikelespike.nilee.core.property.events.UpdateEvent;
+import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Property} of primitive int values, like ability scores or the armor class. If its base value suppliers,
+ * modifiers and base value selector are int-specialized ({@link IntPropertyBaseSupplier}, {@link IntPropertyModifier}
+ * and {@link IntValueSelector}), the value is calculated on primitive ints, so calculating it does not allocate any
+ * objects. Other suppliers, modifiers and selectors of integers can be used as well, but their values are boxed.
+ * Consecutive {@link AffineModifier AffineModifiers} (like bonuses and factors) are fused into a single step, so
+ * stacking many of them does not slow down calculating the value. With an {@link IncrementalIntValueSelector} (like
+ * the {@link com.tikelespike.nilee.core.property.convenience.IntMaxValueSelector}), only the base value suppliers that
+ * changed are evaluated again, and the selected base value is retrieved from a heap.
+ * <p>
+ * Cached values and fused modifiers are retrieved without locking. Selecting the base value uses state shared by all
+ * calculations, so when a value is not cached, its base value is selected while holding the lock on the property, and
+ * concurrent readers of the same property wait for each other. Properties that are part of an
+ * {@link IntPropertyEvaluator} (like the statistics of a character) are calculated together by the evaluator instead,
+ * without locking any of them.
+ * <p>
+ * Listeners of this property receive {@link IntValueChangeEvent IntValueChangeEvents} for all changes where both the
+ * old and the new value are known.
+ * <p>
+ * As for all properties, the value of an int property may never be null.
+ */
+public class IntProperty extends Property<Integer> {
+
+    // the value returned by getIntValue(), only valid while the modification count it was calculated at is current
+    private volatile CachedIntValue cachedIntValue;
+
+    // evaluates this property together with others, or null if it is evaluated on its own
+    private volatile IntPropertyEvaluator evaluator;
+
+    // incremented whenever an affine modifier changes, so fused chains built before are never used afterwards
+    private final AtomicLong chainVersion = new AtomicLong();
+    // the modifiers with affine runs fused, only valid for the modifiers and chain version it was built for
+    private volatile FusedChain fusedChain;
+
+    // the state below is shared by all calculations of the base value, so it is only accessed while holding the lock
+    // on this property
+
+    // reused for selecting the base value, grown as needed
+    private int[] baseValues;
+
+    // the base values ordered by an incremental selector, null if it has to be rebuilt
+    private IncrementalSelection selection;
+
+    /**
+     * Creates a new int property with no base value suppliers or modifiers, selecting the first base value. You must
+     * add at least one base value supplier before calling {@link #getIntValue()}.
+     */
+    protected IntProperty() {
+        setBaseValueSelector(new IntFirstValueSelector());
+    }
+
+    /**
+     * Creates an int property with the given default base value supplier.
+     *
+     * @param baseValueSupplier supplies the default value returned when calling {@link #getIntBaseValue()}
+     */
+    public IntProperty(@NotNull PropertyBaseSupplier<Integer> baseValueSupplier) {
+        this();
+        addBaseValueSupplier(Objects.requireNonNull(baseValueSupplier));
+    }
+
+    /**
+     * Calculates the value of this property like {@link #getValue()}, but as a primitive int. The value (as well as
+     * the fused modifiers) is cached until this property is notified of a change. Like {@link #getValue()}, this may be
+     * called from any thread. Retrieving the cached value neither locks nor allocates. If this property is part of an
+     * {@link IntPropertyEvaluator}, a value that is not cached is calculated by evaluating all of its properties.
+     * Otherwise (or if the evaluator is busy), calculating the base value holds the lock on this property (see
+     * {@link #getIntBaseValue()}).
+     *
+     * @return the effective value of this property
+     * @throws IllegalStateException if no base value suppliers have been added before calling this method, or if a
+     *         modifier that is not int-specialized returns null
+     */
+    public int getIntValue() {
+        long modifications = getModificationCount();
+        CachedIntValue cached = cachedIntValue;
+        if (cached != null && cached.modifications() == modifications) {
+            return cached.value();
+        }
+        IntPropertyEvaluator current = evaluator;
+        if (current != null && current.tryEvaluate()) {
+            // the evaluator stores the value unless it changed in the meantime
+            cached = cachedIntValue;
+            if (cached != null && cached.modifications() == getModificationCount()) {
+                return cached.value();
+            }
+        }
+        int value = modifierChain().apply(getIntBaseValue());
+        storeIntValue(modifications, value);
+        return value;
+    }
+
+    /**
+     * Caches a value calculated for this property, unless the property changed since the calculation started.
+     *
+     * @param modifications the {@link #getModificationCount() modification count} before the calculation started
+     * @param value the calculated value
+     */
+    void storeIntValue(long modifications, int value) {
+        if (getModificationCount() == modifications) {
+            cachedIntValue = new CachedIntValue(modifications, value);
+        }
+    }
+
+    /**
+     * Sets the evaluator calculating this property together with others on cache misses.
+     *
+     * @param evaluator the evaluator of this property, or null to evaluate it on its own
+     */
+    void setEvaluator(IntPropertyEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * @return the evaluator calculating this property together with others, or null if it is evaluated on its own
+     */
+    IntPropertyEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * Calculates the base value of this property like {@link #getBaseValue()}, but as a primitive int. The base values
+     * are selected using state shared by all calculations (like the heap of an incremental selector), so concurrent
+     * calculations of the base value of the same property are performed one at a time.
+     *
+     * @return the base value of this property, as selected by the base value selector
+     * @throws IllegalStateException if no base value suppliers have been added before calling this method
+     */
+    public synchronized int getIntBaseValue() {
+        ComponentArray<PropertyBaseSupplier<Integer>> suppliers = internalBaseValueSuppliers();
+        if (!(getBaseValueSelector() instanceof IntValueSelector selector)) {
+            return unbox(super.getBaseValue());
+        }
+        if (suppliers.isEmpty()) {
+            throw new IllegalStateException("No base value suppliers has been defined for this property");
+        }
+        if (selector instanceof IncrementalIntValueSelector incremental) {
+            if (selection == null || !selection.isFor(incremental, suppliers)) {
+                selection = new IncrementalSelection(incremental, suppliers);
+            }
+            return selection.select();
+        }
+        if (baseValues == null || baseValues.length < suppliers.size()) {
+            baseValues = new int[suppliers.size()];
+        }
+        int count = suppliers.size();
+        for (int i = 0; i < count; i++) {
+            PropertyBaseSupplier<Integer> supplier = suppliers.get(i);
+            baseValues[i] = supplier instanceof IntPropertyBaseSupplier intSupplier
+                    ? intSupplier.getIntBaseValue()
+                    : unbox(supplier.getBaseValue());
+        }
+        return selector.selectAsInt(baseValues, count);
+    }
+
+    @Override
+    public Integer getValue() {
+        return getIntValue();
+    }
+
+    @Override
+    public Integer getBaseValue() {
+        return getIntBaseValue();
+    }
+
+    @Override
+    protected synchronized void onDependencyChanged(DependencyNode dependency) {
+        // the fused chain captures the factors and offsets of affine modifiers, other changes do not affect it
+        if (dependency instanceof AffineModifier) {
+            chainVersion.incrementAndGet();
+        }
+        if (selection != null) {
+            if (dependency == getBaseValueSelector()) {
+                selection = null;
+            } else {
+                selection.markChanged(dependency);
+            }
+        }
+        super.onDependencyChanged(dependency);
+    }
+
+    @Override
+    public void onEvent(UpdateEvent event) {
+        // changes are usually marked when the dependents of the changed supplier are invalidated, but events without
+        // a source (or not sent by update()) may not have been
+        synchronized (this) {
+            if (selection != null) {
+                if (event.getSource() == null || event.getSource() == getBaseValueSelector()) {
+                    selection = null;
+                } else {
+                    selection.markChanged(event.getSource());
+                }
+            }
+        }
+        super.onEvent(event);
+    }
+
+    @Override
+    protected ValueChangeEvent<Integer> createValueChangeEvent(Integer oldValue, Integer newValue) {
+        if (oldValue == null || newValue == null) {
+            return super.createValueChangeEvent(oldValue, newValue);
+        }
+        return new IntValueChangeEvent(oldValue, newValue);
+    }
+
+    /**
+     * Returns the modifiers of this property with affine runs fused. Chains are immutable and replaced whenever the
+     * modifiers or an affine modifier change, so retrieving the current chain does not lock.
+     *
+     * @return the fused chain of the current modifiers of this property
+     */
+    FusedModifierChain modifierChain() {
+        long version = chainVersion.get();
+        ComponentArray<PropertyModifier<Integer>> modifiers = internalModifiers();
+        FusedChain chain = fusedChain;
+        // compared by identity, since the modifiers may be replaced while the chain of the old ones is being built
+        if (chain != null && chain.version() == version && chain.modifiers() == modifiers) {
+            return chain.chain();
+        }
+        FusedModifierChain fused = FusedModifierChain.of(modifiers.asList());
+        if (chainVersion.get() == version) {
+            fusedChain = new FusedChain(modifiers, version, fused);
+        }
+        return fused;
+    }
+
+    static int unbox(Integer value) {
+        if (value == null) {
+            throw new IllegalStateException("The value of an int property may not be null");
+        }
+        return value;
+    }
+
+    private record CachedIntValue(long modifications, int value) {
+
+    }
+
+    private record FusedChain(ComponentArray<PropertyModifier<Integer>> modifiers, long version,
+                              FusedModifierChain chain) {
+
+    }
+}
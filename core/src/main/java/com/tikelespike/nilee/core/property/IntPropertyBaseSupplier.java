@@ -0,0 +1,22 @@
+package com.tikelespike.nilee.core.property;
+
+/**
+ * A {@link PropertyBaseSupplier} providing primitive int values. When used by an {@link IntProperty}, the base value is
+ * retrieved using {@link #getIntBaseValue()}, so it never has to be boxed.
+ */
+public abstract class IntPropertyBaseSupplier extends PropertyBaseSupplier<Integer> {
+
+    /**
+     * Returns the base value as described by the implementing class, like {@link #getBaseValue()}, but as a primitive
+     * int. If the value changes, the implementing class should notify its observers by firing an
+     * {@link com.tikelespike.nilee.core.property.events.UpdateEvent}.
+     *
+     * @return the base value
+     */
+    public abstract int getIntBaseValue();
+
+    @Override
+    public final Integer getBaseValue() {
+        return getIntBaseValue();
+    }
+}
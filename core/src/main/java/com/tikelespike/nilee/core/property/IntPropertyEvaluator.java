@@ -0,0 +1,90 @@
+package com.tikelespike.nilee.core.property;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Makes an {@link IntEvaluationPlan} the way a set of integer properties (and all properties they are derived from) is
+ * calculated. Whenever one of the properties is read and its value is not cached, the whole plan is evaluated in a
+ * single loop, and the values of all properties are cached at once. Reading the other properties afterwards does not
+ * calculate them again, until they change.
+ * <p>
+ * The plan is compiled again on the next read after the structure of the properties changed, so adding or removing
+ * suppliers and modifiers is supported as usual. Reads may happen on any thread, like reads of the properties
+ * themselves. Evaluating never waits for another thread: if the plan is already being evaluated (or a component of a
+ * property reads another property of the plan while it is being evaluated), the property is calculated on its own
+ * instead. If a property of the plan cannot be calculated (for example, because it has no base value suppliers), all
+ * properties are calculated on their own, so only reading the failing property fails.
+ * <p>
+ * Each property should only be part of one evaluator. A property that is part of multiple evaluators is only evaluated
+ * by the last one created or recompiled.
+ */
+public final class IntPropertyEvaluator {
+
+    private final List<Property<Integer>> roots;
+
+    // the thread currently evaluating the plan, or null if nobody is
+    private final AtomicReference<Thread> evaluating = new AtomicReference<>();
+    // only replaced by the evaluating thread
+    private volatile IntEvaluationPlan plan;
+
+    /**
+     * Creates a new evaluator of the given properties and all properties their values are derived from, and compiles
+     * its plan.
+     *
+     * @param roots the properties to evaluate together
+     */
+    public IntPropertyEvaluator(@NotNull Collection<? extends Property<Integer>> roots) {
+        this.roots = List.copyOf(Objects.requireNonNull(roots));
+        plan = IntEvaluationPlan.compile(this.roots);
+        plan.getIntProperties().forEach(property -> property.setEvaluator(this));
+    }
+
+    /**
+     * @return the plan compiled last, which may be outdated until a property of this evaluator is read again
+     */
+    public IntEvaluationPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Evaluates the plan, compiling it again first if the structure of the properties changed. Does nothing if the plan
+     * is already being evaluated.
+     *
+     * @return true if the plan was evaluated (even if some values changed during the evaluation and were not stored)
+     */
+    boolean tryEvaluate() {
+        if (!evaluating.compareAndSet(null, Thread.currentThread())) {
+            return false;
+        }
+        try {
+            IntEvaluationPlan current = plan;
+            if (current.evaluateIfCurrent()) {
+                return true;
+            }
+            IntEvaluationPlan compiled = IntEvaluationPlan.compile(roots);
+            rebind(current, compiled);
+            plan = compiled;
+            // if the structure changed again already, nothing is stored, and the next read compiles again
+            return compiled.evaluateIfCurrent();
+        } catch (RuntimeException e) {
+            // a property of the plan cannot be calculated, so only reads of that property itself should fail
+            return false;
+        } finally {
+            evaluating.set(null);
+        }
+    }
+
+    private void rebind(IntEvaluationPlan previous, IntEvaluationPlan compiled) {
+        for (IntProperty property : previous.getIntProperties()) {
+            if (compiled.slotOf(property) < 0 && property.getEvaluator() == this) {
+                property.setEvaluator(null);
+            }
+        }
+        compiled.getIntProperties().forEach(property -> property.setEvaluator(this));
+    }
+}
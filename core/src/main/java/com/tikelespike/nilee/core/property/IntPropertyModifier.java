@@ -0,0 +1,23 @@
+package com.tikelespike.nilee.core.property;
+
+/**
+ * A {@link PropertyModifier} transforming primitive int values. When applied by an {@link IntProperty}, the
+ * transformation is computed using {@link #applyAsInt(int)}, so values never have to be boxed.
+ */
+public abstract class IntPropertyModifier extends PropertyModifier<Integer> {
+
+    /**
+     * Applies a transformation to the given value and returns the result, like {@link #apply(Integer)}, but on
+     * primitive ints.
+     *
+     * @param value the value to modify
+     *
+     * @return the modified value. May be the same as the input value.
+     */
+    public abstract int applyAsInt(int value);
+
+    @Override
+    public final Integer apply(Integer value) {
+        return value == null ? null : applyAsInt(value);
+    }
+}
@@ -0,0 +1,34 @@
+package com.tikelespike.nilee.core.property;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A {@link ValueSelector} selecting from primitive int values. When used by an {@link IntProperty}, the base values are
+ * passed in a reused array, so selecting a base value does not allocate any objects.
+ */
+public abstract class IntValueSelector extends ValueSelector<Integer> {
+
+    /**
+     * Chooses one of the first {@code count} values of the given array and returns it, like {@link #select(List)}. The
+     * array must neither be modified nor kept by the implementing class.
+     *
+     * @param values the array containing the values to select from, may be longer than {@code count}
+     * @param count the number of values to select from, at least one
+     *
+     * @return one of the first {@code count} values of the array
+     */
+    public abstract int selectAsInt(int[] values, int count);
+
+    @Override
+    public final Optional<Integer> select(List<Integer> values) {
+        if (values.isEmpty()) {
+            return Optional.empty();
+        }
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return Optional.of(selectAsInt(array, array.length));
+    }
+}
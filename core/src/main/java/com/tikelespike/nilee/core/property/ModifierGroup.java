@@ -0,0 +1,172 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * All modifiers a single source (like an item, a spell or a condition) applies to the properties of a character. For
+ * example, a magic armor might add a bonus to the armor class and impose a penalty on stealth checks. Instead of adding
+ * and removing each of these modifiers separately when the armor is equipped or unequipped, they can be collected in a
+ * group, which is then {@link #attach() attached} and {@link #detach() detached} as a whole.
+ * <p>
+ * Attaching or detaching a group runs in a single {@link PropertyTransaction}, and adds or removes all modifiers of a
+ * property at once (see {@link Property#addModifiers(java.util.Collection)} and
+ * {@link Property#removeModifiers(java.util.Collection)}). Each affected property is therefore notified only once, no
+ * matter how many modifiers the group applies to it. The modifiers a group adds to a property are stored next to each
+ * other, and the group remembers where, so removing its k modifiers from a property only looks at these k modifiers
+ * (unless modifiers were added to or removed from the property before them in the meantime, in which case the
+ * modifiers are searched for first).
+ * <p>
+ * The modifiers of a group are expected to share its {@link #getSourceName() source name}, as returned by
+ * {@link PropertyModifier#getSourceName()}, but this is not enforced. To find and detach the group of a source
+ * later, register it in a {@link ModifierGroupRegistry}.
+ */
+public class ModifierGroup {
+
+    private final LocalizedString sourceName;
+
+    // the modifiers of this group per property, in the order they were added
+    private final Map<Property<?>, Members<?>> members = new LinkedHashMap<>();
+
+    private boolean attached;
+
+    /**
+     * Creates a new, detached group without any modifiers.
+     *
+     * @param sourceName the name of the source applying the modifiers of this group (e.g. "Leather Armor")
+     */
+    public ModifierGroup(@NotNull LocalizedString sourceName) {
+        this.sourceName = Objects.requireNonNull(sourceName);
+    }
+
+    /**
+     * @return the name of the source applying the modifiers of this group
+     */
+    public LocalizedString getSourceName() {
+        return sourceName;
+    }
+
+    /**
+     * Adds a modifier to this group, which is applied to the given property while this group is attached. If this
+     * group is currently attached, the modifier is added to the property immediately.
+     *
+     * @param property the property to apply the modifier to
+     * @param modifier the modifier to apply
+     * @param <T> the type of the property
+     */
+    public <T> void add(@NotNull Property<T> property, @NotNull PropertyModifier<T> modifier) {
+        Objects.requireNonNull(property);
+        Objects.requireNonNull(modifier);
+        if (attached) {
+            property.addModifier(modifier);
+        }
+        membersOf(property).modifiers.add(modifier);
+    }
+
+    /**
+     * Adds the modifiers of this group to their properties, if they are not already attached. All properties are
+     * notified once, after all modifiers have been added.
+     */
+    public void attach() {
+        if (attached) {
+            return;
+        }
+        PropertyTransaction.run(() -> members.values().forEach(Members::attach));
+        attached = true;
+    }
+
+    /**
+     * Removes the modifiers of this group from their properties, if they are currently attached. All properties are
+     * notified once, after all modifiers have been removed.
+     */
+    public void detach() {
+        if (!attached) {
+            return;
+        }
+        PropertyTransaction.run(() -> members.values().forEach(Members::detach));
+        attached = false;
+    }
+
+    /**
+     * Detaches multiple groups at once, in a single {@link PropertyTransaction}. The modifiers all groups apply to the
+     * same property are removed from it in one pass, so each property is notified once and its modifiers are only
+     * traversed once, no matter how many of the groups modify it. Groups that are not attached are skipped.
+     *
+     * @param groups the groups to detach
+     */
+    public static void detachAll(@NotNull Collection<ModifierGroup> groups) {
+        Objects.requireNonNull(groups);
+        Map<Property<?>, List<Members<?>>> removals = new LinkedHashMap<>();
+        for (ModifierGroup group : groups) {
+            if (group.attached) {
+                group.members.forEach((property, members) ->
+                        removals.computeIfAbsent(property, p -> new ArrayList<>()).add(members));
+                group.attached = false;
+            }
+        }
+        PropertyTransaction.run(() -> removals.values().forEach(ModifierGroup::detachRuns));
+    }
+
+    /**
+     * @return an unmodifiable view of the properties this group applies modifiers to, in the order they were added
+     */
+    public Set<Property<?>> getProperties() {
+        return Collections.unmodifiableSet(members.keySet());
+    }
+
+    /**
+     * @return true if the modifiers of this group are currently applied to their properties
+     */
+    public boolean isAttached() {
+        return attached;
+    }
+
+    // removes the modifiers of multiple groups from the same property at once
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> void detachRuns(List<Members<?>> runs) {
+        List<Members<T>> typed = (List) runs;
+        int[] hints = new int[typed.size()];
+        List<List<PropertyModifier<T>>> modifiers = new ArrayList<>(typed.size());
+        for (int i = 0; i < hints.length; i++) {
+            hints[i] = typed.get(i).position;
+            modifiers.add(typed.get(i).modifiers);
+        }
+        typed.get(0).property.removeModifierRuns(modifiers, hints);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Members<T> membersOf(Property<T> property) {
+        return (Members<T>) members.computeIfAbsent(property, p -> new Members<>(property));
+    }
+
+    private static final class Members<T> {
+        private final Property<T> property;
+        private final List<PropertyModifier<T>> modifiers = new ArrayList<>();
+        // the index the modifiers were added at when last attached
+        private int position = -1;
+
+        private Members(Property<T> property) {
+            this.property = property;
+        }
+
+        private void attach() {
+            property.addModifiers(modifiers);
+            // searched from the end, where the modifiers were usually just added
+            position = modifiers.isEmpty() ? -1 : property.internalModifiers().lastIndexOf(modifiers.get(0));
+        }
+
+        private void detach() {
+            property.removeModifierRuns(List.of(modifiers), new int[] {position});
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The {@link ModifierGroup ModifierGroups} of a single character, indexed by the source applying them (like an item, a
+ * spell or a feat). Everything a source applies to the character is collected in one group, so it can be found and
+ * detached in a single operation when the source goes away (for example, when an item is unequipped), without looking
+ * at any property or modifier the source does not affect.
+ * <p>
+ * Sources are compared using {@link Object#equals(Object)}, so they should either not override it (like most game
+ * objects) or be immutable.
+ */
+public class ModifierGroupRegistry {
+
+    private final Map<Object, ModifierGroup> groups = new LinkedHashMap<>();
+
+    /**
+     * Returns the group of the given source, creating a new, detached group if the source has none yet.
+     *
+     * @param source the source applying the modifiers of the group
+     * @param sourceName the name of the source, used if the group has to be created
+     *
+     * @return the group of the given source
+     */
+    public ModifierGroup groupOf(@NotNull Object source, @NotNull LocalizedString sourceName) {
+        Objects.requireNonNull(source);
+        Objects.requireNonNull(sourceName);
+        return groups.computeIfAbsent(source, s -> new ModifierGroup(sourceName));
+    }
+
+    /**
+     * @param source a source of this registry
+     *
+     * @return the group of the given source, or an empty optional if the source is not part of this registry
+     */
+    public Optional<ModifierGroup> getGroup(@NotNull Object source) {
+        return Optional.ofNullable(groups.get(Objects.requireNonNull(source)));
+    }
+
+    /**
+     * Detaches everything the given source applies, and removes the source from this registry. Each affected property
+     * is notified once.
+     *
+     * @param source the source whose modifiers to remove
+     *
+     * @return true if the source was part of this registry
+     */
+    public boolean detachSource(@NotNull Object source) {
+        ModifierGroup group = groups.remove(Objects.requireNonNull(source));
+        if (group == null) {
+            return false;
+        }
+        group.detach();
+        return true;
+    }
+
+    /**
+     * Detaches everything the given sources apply at once (see {@link ModifierGroup#detachAll(Collection)}), and
+     * removes the sources from this registry. Properties affected by multiple of the sources are only notified once.
+     * Sources that are not part of this registry are skipped.
+     *
+     * @param sources the sources whose modifiers to remove
+     */
+    public void detachSources(@NotNull Collection<?> sources) {
+        Objects.requireNonNull(sources);
+        List<ModifierGroup> removed = new ArrayList<>(sources.size());
+        for (Object source : sources) {
+            ModifierGroup group = groups.remove(Objects.requireNonNull(source));
+            if (group != null) {
+                removed.add(group);
+            }
+        }
+        ModifierGroup.detachAll(removed);
+    }
+
+    /**
+     * @return an unmodifiable view of all sources with a group in this registry, in the order they were added
+     */
+    public Set<Object> getSources() {
+        return Collections.unmodifiableSet(groups.keySet());
+    }
+}
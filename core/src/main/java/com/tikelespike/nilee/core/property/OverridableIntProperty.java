@@ -0,0 +1,99 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.property.convenience.IntManualOverrideModifier;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An {@link IntProperty} that can be overridden (usually by the user) with a fixed value, like an
+ * {@link OverridableProperty}. The override is applied by an {@link IntManualOverrideModifier}, which is always kept
+ * as the last modifier of the property when other modifiers are added.
+ */
+public class OverridableIntProperty extends IntProperty {
+
+    private final IntManualOverrideModifier overrideModifier = new IntManualOverrideModifier(0);
+    // invariant: overridden iff. overrideModifier is in this property's list of modifiers
+    private boolean overridden;
+
+    /**
+     * Creates a new {@link OverridableIntProperty} with no base value supplier.
+     * <p>
+     * You must add a base value supplier before you can use this property.
+     */
+    public OverridableIntProperty() {
+        super();
+    }
+
+    /**
+     * Creates a property with the given default base value supplier.
+     *
+     * @param baseValueSupplier supplies the default value returned when calling {@link #getIntBaseValue()}.
+     */
+    public OverridableIntProperty(@NotNull PropertyBaseSupplier<Integer> baseValueSupplier) {
+        super(baseValueSupplier);
+    }
+
+    /**
+     * Overrides this property with the given value. If the given value is null, the override is removed and the value
+     * is calculated as usual.
+     *
+     * @param override the new, user-defined/hardcoded value of this property
+     */
+    public void setOverride(Integer override) {
+        if (override == null) {
+            overridden = false;
+            removeModifier(overrideModifier);
+        } else {
+            overrideModifier.setOverrideValue(override);
+            if (!overridden) {
+                overridden = true;
+                addModifier(overrideModifier);
+            }
+        }
+    }
+
+    /**
+     * Removes the override of this property.
+     */
+    public void removeOverride() {
+        setOverride(null);
+    }
+
+    /**
+     * @return the value this property is overridden with, or null if it is not overridden
+     */
+    public Integer getOverride() {
+        return overridden ? overrideModifier.getOverrideValue() : null;
+    }
+
+    /**
+     * @return true if this property is currently overridden, false otherwise
+     */
+    public boolean isOverridden() {
+        return overridden;
+    }
+
+    @Override
+    public void addModifier(PropertyModifier<Integer> modifier) {
+        // see OverridableProperty#addModifier
+        List<PropertyModifier<Integer>> modifiers = getModifiers();
+        if (!modifiers.isEmpty() && modifiers.get(modifiers.size() - 1).equals(overrideModifier)) {
+            super.addModifier(modifiers.size() - 1, modifier);
+        } else {
+            super.addModifier(modifier);
+        }
+    }
+
+    @Override
+    public void addModifiers(@NotNull Collection<? extends PropertyModifier<Integer>> modifiers) {
+        // see OverridableProperty#addModifier
+        List<PropertyModifier<Integer>> current = getModifiers();
+        if (!current.isEmpty() && current.get(current.size() - 1).equals(overrideModifier)) {
+            super.addModifiers(current.size() - 1, modifiers);
+        } else {
+            super.addModifiers(modifiers);
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.tikelespike.nilee.core.property;
 import com.tikelespike.nilee.core.property.convenience.ManualOverrideModifier;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * A {@link Property} that can be overridden (usually by the user) with a fixed value. This is done by adding a
  * {@link ManualOverrideModifier} to the property. When other modifiers are added while the property is overridden, they
@@ -83,10 +86,22 @@ public class OverridableProperty<T> extends Property<T> {
         // (except when the override modifier is already not the last in the list, which indicates the intent to add
         // modifiers with higher priority than the override modifier
 
-        if (!getModifiers().isEmpty() && getModifiers().get(getModifiers().size() - 1).equals(overrideModifier)) {
-            super.addModifier(getModifiers().size() - 1, modifier);
+        List<PropertyModifier<T>> modifiers = getModifiers();
+        if (!modifiers.isEmpty() && modifiers.get(modifiers.size() - 1).equals(overrideModifier)) {
+            super.addModifier(modifiers.size() - 1, modifier);
         } else {
             super.addModifier(modifier);
         }
     }
+
+    @Override
+    public void addModifiers(@NotNull Collection<? extends PropertyModifier<T>> modifiers) {
+        // see addModifier
+        List<PropertyModifier<T>> current = getModifiers();
+        if (!current.isEmpty() && current.get(current.size() - 1).equals(overrideModifier)) {
+            super.addModifiers(current.size() - 1, modifiers);
+        } else {
+            super.addModifiers(modifiers);
+        }
+    }
 }
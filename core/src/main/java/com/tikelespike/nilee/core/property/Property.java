@@ -2,20 +2,28 @@ package com.tikelespike.nilee.core.property;
 
 import com.tikelespike.nilee.core.events.EventBus;
 import com.tikelespike.nilee.core.events.EventListener;
+import com.tikelespike.nilee.core.events.EventPublisher;
+import com.tikelespike.nilee.core.events.OverflowPolicy;
 import com.tikelespike.nilee.core.events.Registration;
 import com.tikelespike.nilee.core.property.convenience.FirstValueSelector;
+import com.tikelespike.nilee.core.property.events.DependencyNode;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
 import com.tikelespike.nilee.core.property.events.UpdateEvent;
 import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
 import jakarta.validation.constraints.NotNull;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Describes a value constructed from a base value and modifiers. The base value is chosen from all base values provided
@@ -27,16 +35,27 @@ import java.util.Set;
  * base AC as something like {@code 12 + DEX}. The modifiers represent a number of temporary bonuses and penalties, such
  * as a +2 bonus from a shield, or a -1 penalty from a spell. The final value is automatically calculated from the
  * selected base value (default is the first one added) and the application of all modifiers.
+ * <p>
+ * The base value suppliers and modifiers are stored in immutable arrays that are replaced whenever they change.
+ * Retrieving them (for example, by the UI thread of another user viewing the same character) is therefore safe while
+ * the property is being changed, and does not copy anything. The same holds for {@link #getValue()}: it may be called
+ * from any thread, and returns a value the property had at some point during the call, but never caches a value that
+ * a concurrent change made outdated. Changes still have to be made by one thread at a time.
+ * <p>
+ * Retrieving a cached value neither locks nor allocates. Calculating a value that is not cached does not lock either,
+ * but collects the base values into a new list for the {@link ValueSelector}. {@link IntProperty} avoids this list,
+ * but selects its base value while holding the lock on the property.
  *
  * @param <T> the type of the value (typically, an integer or a dice roll like 3d4)
  */
-public class Property<T> implements EventListener<UpdateEvent> {
+public class Property<T> extends DependencyNode implements EventListener<UpdateEvent> {
 
-    private final Set<PropertyBaseSupplier<T>> baseValueSuppliers = new LinkedHashSet<>();
+    // replaced on every change, so readers always see a consistent state without locking or copying
+    private volatile ComponentArray<PropertyBaseSupplier<T>> baseValueSuppliers = ComponentArray.empty();
 
-    private final List<PropertyModifier<T>> modifiers = new ArrayList<>();
+    private volatile ComponentArray<PropertyModifier<T>> modifiers = ComponentArray.empty();
 
-    private ValueSelector<T> baseValueSelector = new FirstValueSelector<>();
+    private volatile ValueSelector<T> baseValueSelector = new FirstValueSelector<>();
 
     private final Map<PropertyModifier<T>, Registration> modifierRegistrations = new HashMap<>();
 
@@ -46,7 +65,14 @@ public class Property<T> implements EventListener<UpdateEvent> {
 
     private final EventBus eventBus = new EventBus();
 
+    // the value last notified to the listeners, only valid if lastKnownValueValid is set (i.e. while observed)
     private T lastKnownValue;
+    private boolean lastKnownValueValid;
+
+    // incremented whenever the cached value is discarded, so values calculated before are never returned afterwards
+    private final AtomicLong modificationCount = new AtomicLong();
+    // the value returned by getValue(), only valid while the modification count it was calculated at is current
+    private volatile CachedValue<T> cachedValue;
 
     /**
      * Creates a new property with no base value suppliers or modifiers. You must add at least one base value supplier
@@ -70,14 +96,28 @@ public class Property<T> implements EventListener<UpdateEvent> {
     /**
      * Calculates the value of this property by selecting a base value and applying all modifiers. There has to be at
      * least one base value supplier added before calling this method.
+     * <p>
+     * The value is only calculated once and then cached until its base value suppliers, modifiers or base value
+     * selector change (or something they {@link DependencyNode depend on}). Changes invalidate the cached value
+     * immediately, even if the notification of the change is deferred by a {@link PropertyTransaction}.
      *
      * @return the effective value of this property
      * @throws IllegalStateException if no base value suppliers have been added before calling this method
      */
     public T getValue() {
+        long modifications = modificationCount.get();
+        CachedValue<T> cached = cachedValue;
+        if (cached != null && cached.modifications() == modifications) {
+            return cached.value();
+        }
         T value = getBaseValue();
-        for (PropertyModifier<T> modifier : getModifiers()) {
-            value = modifier.apply(value);
+        ComponentArray<PropertyModifier<T>> chain = modifiers;
+        for (int i = 0; i < chain.size(); i++) {
+            value = chain.get(i).apply(value);
+        }
+        if (modificationCount.get() == modifications) {
+            // even if a change slips in right now, the value is stamped with the old count and never returned
+            cachedValue = new CachedValue<>(modifications, value);
         }
         return value;
     }
@@ -93,25 +133,29 @@ public class Property<T> implements EventListener<UpdateEvent> {
      * @throws IllegalStateException if no base value suppliers have been added before calling this method
      */
     public T getBaseValue() {
-        if (getBaseValueSuppliers().isEmpty()) {
+        ComponentArray<PropertyBaseSupplier<T>> suppliers = baseValueSuppliers;
+        if (suppliers.isEmpty()) {
             throw new IllegalStateException("No base value suppliers has been defined for this property");
         }
-        Optional<T> opt = baseValueSelector.select(
-                getBaseValueSuppliers().stream().map(PropertyBaseSupplier::getBaseValue).toList());
+        List<T> baseValues = new ArrayList<>(suppliers.size());
+        for (int i = 0; i < suppliers.size(); i++) {
+            baseValues.add(suppliers.get(i).getBaseValue());
+        }
+        Optional<T> opt = baseValueSelector.select(baseValues);
         //noinspection OptionalGetWithoutIsPresent - optional may only be empty if the list is empty
         return opt.get();
     }
 
 
     /**
-     * Retrieves the set of modifiers affecting to this property. A modifier is applied after the base value is
-     * calculated, and the modifiers are applied in order. The returned set is a copy of the internal set, so any
-     * changes to the returned set will not affect the property.
+     * Retrieves the list of modifiers affecting to this property. A modifier is applied after the base value is
+     * calculated, and the modifiers are applied in order. The returned list is an unmodifiable snapshot, so it does not
+     * reflect later changes to the modifiers of this property. Retrieving it does not copy the modifiers.
      *
-     * @return a copy of the set of modifiers applied to this property
+     * @return an unmodifiable snapshot of the modifiers applied to this property
      */
     public List<PropertyModifier<T>> getModifiers() {
-        return new ArrayList<>(modifiers);
+        return modifiers.asList();
     }
 
     /**
@@ -139,8 +183,9 @@ public class Property<T> implements EventListener<UpdateEvent> {
      */
     public void addModifier(int index, @NotNull PropertyModifier<T> modifier) {
         Objects.requireNonNull(modifier);
+        addDependency(modifier);
         Registration registration = modifier.addUpdateListener(this);
-        modifiers.add(index, modifier);
+        modifiers = modifiers.with(index, modifier);
         modifierRegistrations.put(modifier, registration);
         notifyListeners();
     }
@@ -158,18 +203,153 @@ public class Property<T> implements EventListener<UpdateEvent> {
         if (!modifiers.contains(modifier)) {
             return;
         }
-        modifiers.remove(modifier);
+        modifiers = modifiers.without(modifier);
+        removeDependency(modifier);
         modifierRegistrations.get(modifier).unregisterAll();
         modifierRegistrations.remove(modifier);
         notifyListeners();
     }
 
+    /**
+     * Adds multiple modifiers to this property at once, like calling {@link #addModifier(PropertyModifier)} for each of
+     * them, but only triggering a single value change event. The modifiers are applied in the order of the given
+     * collection, after all modifiers already added.
+     *
+     * @param modifiers the modifiers to add to this property
+     *
+     * @see ModifierGroup
+     */
+    public void addModifiers(@NotNull Collection<? extends PropertyModifier<T>> modifiers) {
+        addModifiers(this.modifiers.size(), modifiers);
+    }
+
+    /**
+     * Adds multiple modifiers to this property at once, like calling {@link #addModifier(int, PropertyModifier)} for
+     * each of them, but only triggering a single value change event. The modifiers are applied in the order of the
+     * given collection, starting at the given index. If any of the modifiers cannot be added, none of them are.
+     *
+     * @param index the index at which to add the first modifier. Has to be between 0 and the number of modifiers
+     *         already added
+     * @param modifiers the modifiers to add to this property
+     *
+     * @throws IllegalArgumentException if one of the modifiers depends on this property
+     */
+    public void addModifiers(int index, @NotNull Collection<? extends PropertyModifier<T>> modifiers) {
+        Objects.requireNonNull(modifiers);
+        modifiers.forEach(Objects::requireNonNull);
+        Objects.checkIndex(index, this.modifiers.size() + 1);
+        if (modifiers.isEmpty()) {
+            return;
+        }
+        List<PropertyModifier<T>> linked = new ArrayList<>(modifiers.size());
+        try {
+            for (PropertyModifier<T> modifier : modifiers) {
+                addDependency(modifier);
+                linked.add(modifier);
+            }
+        } catch (IllegalArgumentException e) {
+            linked.forEach(this::removeDependency);
+            throw e;
+        }
+        for (PropertyModifier<T> modifier : modifiers) {
+            modifierRegistrations.put(modifier, modifier.addUpdateListener(this));
+        }
+        this.modifiers = this.modifiers.withAll(index, modifiers);
+        notifyListeners();
+    }
+
+    /**
+     * Removes multiple modifiers from this property at once, like calling {@link #removeModifier(PropertyModifier)}
+     * for each of them, but only triggering a single value change event (and none if none of the modifiers were
+     * added). The modifiers are removed in a single pass over the modifiers of this property.
+     *
+     * @param modifiers the modifiers to remove from this property
+     *
+     * @see ModifierGroup
+     */
+    public void removeModifiers(@NotNull Collection<? extends PropertyModifier<T>> modifiers) {
+        Objects.requireNonNull(modifiers);
+        ComponentArray<PropertyModifier<T>> previous = this.modifiers;
+        Set<PropertyModifier<T>> removed = new HashSet<>(modifiers);
+        this.modifiers = previous.withoutAll(removed);
+        if (this.modifiers == previous) {
+            return;
+        }
+        for (int i = 0; i < previous.size(); i++) {
+            PropertyModifier<T> modifier = previous.get(i);
+            if (removed.contains(modifier)) {
+                unlinkModifier(modifier);
+            }
+        }
+        notifyListeners();
+    }
+
+    /**
+     * Removes runs of modifiers that were added together (see {@link #addModifiers(Collection)}), like
+     * {@link #removeModifiers(Collection)}. Each run is first looked for at the given index, so if the runs have not
+     * moved since they were added, removing them takes time linear in the number of removed modifiers, plus copying
+     * the remaining ones. Falls back to {@link #removeModifiers(Collection)} if a run is no longer stored in one piece.
+     *
+     * @param runs the runs of modifiers to remove
+     * @param hints the index each run is expected at
+     */
+    void removeModifierRuns(List<? extends List<? extends PropertyModifier<T>>> runs, int[] hints) {
+        ComponentArray<PropertyModifier<T>> previous = modifiers;
+        // each range packed as (start << 32 | length), so sorting the ranges sorts them by start
+        long[] ranges = new long[runs.size()];
+        int count = 0;
+        for (int i = 0; i < runs.size(); i++) {
+            List<? extends PropertyModifier<T>> run = runs.get(i);
+            if (run.isEmpty()) {
+                continue;
+            }
+            int start = previous.indexOfRun(run, hints[i]);
+            if (start < 0) {
+                removeModifiers(runs.stream().flatMap(List::stream).toList());
+                return;
+            }
+            ranges[count++] = (long) start << 32 | run.size();
+        }
+        if (count == 0) {
+            return;
+        }
+        Arrays.sort(ranges, 0, count);
+        int[] starts = new int[count];
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = (int) (ranges[i] >>> 32);
+            lengths[i] = (int) ranges[i];
+            if (i > 0 && starts[i] < starts[i - 1] + lengths[i - 1]) {
+                // the same modifiers were given twice
+                removeModifiers(runs.stream().flatMap(List::stream).toList());
+                return;
+            }
+        }
+        modifiers = previous.withoutRanges(starts, lengths);
+        for (int i = 0; i < count; i++) {
+            for (int j = starts[i]; j < starts[i] + lengths[i]; j++) {
+                unlinkModifier(previous.get(j));
+            }
+        }
+        notifyListeners();
+    }
+
+    private void unlinkModifier(PropertyModifier<T> modifier) {
+        removeDependency(modifier);
+        Registration registration = modifierRegistrations.remove(modifier);
+        if (registration != null) {
+            registration.unregisterAll();
+        }
+    }
+
     /**
      * Removes all modifiers from this property. The property will no longer be affected by any modifiers. Calling this
      * method will trigger a value change event.
      */
     public void clearModifiers() {
-        modifiers.clear();
+        ComponentArray<PropertyModifier<T>> removed = modifiers;
+        modifiers = ComponentArray.empty();
+        removed.asList().forEach(this::removeDependency);
         modifierRegistrations.values().forEach(Registration::unregisterAll);
         modifierRegistrations.clear();
         notifyListeners();
@@ -178,14 +358,15 @@ public class Property<T> implements EventListener<UpdateEvent> {
 
     /**
      * Retrieves the set of base value suppliers used by this property. The base value suppliers are used to calculate
-     * the base value of this property, which is then modified by the modifiers. The returned set is a copy of the
-     * internal set, so any changes to the returned set will not affect the property. The base value is selected using
-     * the base value selector, which can be set using {@link #setBaseValueSelector(ValueSelector)}.
+     * the base value of this property, which is then modified by the modifiers. The returned set is an unmodifiable
+     * snapshot (in the order the suppliers were added), so it does not reflect later changes to the suppliers of this
+     * property. The base value is selected using the base value selector, which can be set using
+     * {@link #setBaseValueSelector(ValueSelector)}.
      *
-     * @return a copy of the set of base value suppliers used by this property
+     * @return an unmodifiable snapshot of the base value suppliers used by this property
      */
     public Set<PropertyBaseSupplier<T>> getBaseValueSuppliers() {
-        return new LinkedHashSet<>(baseValueSuppliers);
+        return baseValueSuppliers.asSet();
     }
 
     /**
@@ -199,8 +380,14 @@ public class Property<T> implements EventListener<UpdateEvent> {
      */
     public void addBaseValueSupplier(@NotNull PropertyBaseSupplier<T> baseValueSupplier) {
         Objects.requireNonNull(baseValueSupplier);
+        boolean added = !baseValueSuppliers.contains(baseValueSupplier);
+        if (added) {
+            addDependency(baseValueSupplier);
+        }
         Registration registration = baseValueSupplier.addUpdateListener(this);
-        baseValueSuppliers.add(baseValueSupplier);
+        if (added) {
+            baseValueSuppliers = baseValueSuppliers.with(baseValueSuppliers.size(), baseValueSupplier);
+        }
         baseRegistrations.put(baseValueSupplier, registration);
         notifyListeners();
     }
@@ -215,7 +402,8 @@ public class Property<T> implements EventListener<UpdateEvent> {
      */
     public void removeBaseValueSupplier(@NotNull PropertyBaseSupplier<T> baseValueSupplier) {
         Objects.requireNonNull(baseValueSupplier);
-        baseValueSuppliers.remove(baseValueSupplier);
+        baseValueSuppliers = baseValueSuppliers.without(baseValueSupplier);
+        removeDependency(baseValueSupplier);
         baseRegistrations.get(baseValueSupplier).unregisterAll();
         baseRegistrations.remove(baseValueSupplier);
         notifyListeners();
@@ -234,6 +422,8 @@ public class Property<T> implements EventListener<UpdateEvent> {
      */
     public void setBaseValueSelector(@NotNull ValueSelector<T> baseValueSelector) {
         Objects.requireNonNull(baseValueSelector);
+        addDependency(baseValueSelector);
+        removeDependency(this.baseValueSelector);
         this.baseValueSelector = baseValueSelector;
         baseSelectorRegistration.unregisterAll();
         this.baseSelectorRegistration = baseValueSelector.addUpdateListener(this);
@@ -255,9 +445,13 @@ public class Property<T> implements EventListener<UpdateEvent> {
      * selector changes. If the implementation of the modifiers and base value providers of this property notify this
      * property when they change, the listener will also be called on those changes. However, it is not guaranteed that
      * the listener will be called on every change, as the implementation of the modifiers and base value providers may
-     * not notify this property of every change. It is also not guaranteed that the new value will be different from the
-     * old value, since changes to the property may not affect the end result (for example, changes to a base value
-     * supplier that is not selected by the selection strategy).
+     * not notify this property of every change. Changes that do not affect the end result (for example, changes to a
+     * base value supplier that is not selected by the selection strategy) are not reported, so the new value of an
+     * event is never equal to its old value.
+     * <p>
+     * Properties without listeners do not calculate their value when they change, but only when it is retrieved. The
+     * first listener registered to such a property therefore calculates the current value once, to be able to report
+     * it as the old value of the next change.
      *
      * @param listener the listener to register
      *
@@ -268,20 +462,144 @@ public class Property<T> implements EventListener<UpdateEvent> {
         Objects.requireNonNull(listener);
         // requires this class to only send value change events of type T, otherwise, the listeners will also be
         // triggered by value change events of other type, which will cause a class cast exception
+        rememberValueIfUnknown();
         return eventBus.registerListener(ValueChangeEvent.class, (EventListener) listener);
     }
 
     /**
-     * Notifies all listeners that the value of this property might have changed.
+     * Registers a listener to be notified when the way this property is calculated changes, like
+     * {@link #addValueChangeListener(EventListener)}, but without keeping the listener from being garbage collected.
+     * This is useful for listeners belonging to short-lived objects (like UI components) observing a long-lived
+     * property. The caller has to keep a strong reference to the listener for as long as it should be notified.
+     *
+     * @param listener the listener to register, only weakly referenced by this property
+     *
+     * @return a registration object that can be used to unregister the listener
+     * @see EventBus#registerWeakListener(Class, EventListener)
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Registration addWeakValueChangeListener(@NotNull EventListener<ValueChangeEvent<T>> listener) {
+        Objects.requireNonNull(listener);
+        // see addValueChangeListener
+        rememberValueIfUnknown();
+        return eventBus.registerWeakListener(ValueChangeEvent.class, (EventListener) listener);
+    }
+
+    /**
+     * Creates a publisher of the values of this property, for consumers that want to receive the value as it changes,
+     * but at their own rate. Every subscriber first receives the current value (if this property has a base value
+     * supplier), and then the new value after each change. Values are conflated: if a subscriber requests values slower
+     * than they change, it skips the outdated values and only receives the latest one.
+     * <p>
+     * Values are published on a background thread, see {@link EventPublisher}.
+     *
+     * @return a new publisher of the values of this property
+     */
+    public Flow.Publisher<T> getValuePublisher() {
+        return new EventPublisher<ValueChangeEvent<T>, T>(this::addValueChangeListener, ValueChangeEvent::getNewValue,
+                () -> baseValueSuppliers.isEmpty() ? null : getValue(), 1, OverflowPolicy.LATEST);
+    }
+
+    /**
+     * Notifies all listeners that the value of this property might have changed, discarding the cached values of this
+     * property and all properties depending on it. If a {@link PropertyTransaction} is running, the listeners are
+     * notified once at the end of the transaction instead, with the value before the transaction as old value. The
+     * listeners are only notified if the value actually changed, and if there are none, the new value is not even
+     * calculated.
      */
     protected void notifyListeners() {
-        T newValue = baseValueSuppliers.isEmpty() ? null : getValue();
-        eventBus.fireEvent(new ValueChangeEvent<>(lastKnownValue, newValue));
+        invalidateCachedValue();
+        invalidateDependents();
+        PropertyTransaction.dispatchValueChange(this, this::fireValueChange);
+    }
+
+    @Override
+    protected void onDependencyChanged(DependencyNode dependency) {
+        invalidateCachedValue();
+    }
+
+    /**
+     * Discards the cached value of this property, so it is calculated again the next time it is retrieved. Subclasses
+     * caching values derived from the value of this property have to override this method to discard them as well, or
+     * check the {@link #getModificationCount() modification count} their values were calculated at.
+     */
+    protected void invalidateCachedValue() {
+        modificationCount.incrementAndGet();
+        cachedValue = null;
+    }
+
+    /**
+     * Returns the number of times the cached value of this property was discarded. A value calculated while this
+     * number stayed the same reflects the current state of the property, so subclasses can use it to cache values
+     * safely, even if they are retrieved by other threads while the property is being changed.
+     *
+     * @return the number of times the cached value of this property was discarded
+     */
+    protected final long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    private void fireValueChange() {
+        if (!eventBus.hasListeners()) {
+            // nobody observes this property, so the value is only calculated once it is retrieved
+            lastKnownValueValid = false;
+            lastKnownValue = null;
+            notifyDependents();
+            return;
+        }
+        T oldValue = lastKnownValue;
+        T newValue = currentValueOrNull();
         lastKnownValue = newValue;
+        lastKnownValueValid = true;
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        eventBus.fireEvent(createValueChangeEvent(oldValue, newValue));
+        notifyDependents();
+    }
+
+    // captures the value before the next change, as it is only known while the property is observed
+    private void rememberValueIfUnknown() {
+        if (!lastKnownValueValid) {
+            lastKnownValue = currentValueOrNull();
+            lastKnownValueValid = true;
+        }
+    }
+
+    private T currentValueOrNull() {
+        return baseValueSuppliers.isEmpty() ? null : getValue();
+    }
+
+    /**
+     * Creates the event fired to notify the listeners of this property about a change. Subclasses may override this to
+     * fire a more specific event.
+     *
+     * @param oldValue the value of this property before the change, or null if it is not known
+     * @param newValue the value of this property after the change, or null if it has no base value suppliers
+     *
+     * @return the event to fire
+     */
+    protected ValueChangeEvent<T> createValueChangeEvent(T oldValue, T newValue) {
+        return new ValueChangeEvent<>(oldValue, newValue);
+    }
+
+    // the current components, for subclasses evaluating the property without going through the views
+
+    ComponentArray<PropertyBaseSupplier<T>> internalBaseValueSuppliers() {
+        return baseValueSuppliers;
+    }
+
+    ComponentArray<PropertyModifier<T>> internalModifiers() {
+        return modifiers;
     }
 
     @Override
     public void onEvent(UpdateEvent event) {
         notifyListeners();
     }
+
+    // immutable, so readers never see a value together with the wrong modification count
+    private record CachedValue<T>(long modifications, T value) {
+
+    }
 }
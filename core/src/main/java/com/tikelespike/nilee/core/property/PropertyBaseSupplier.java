@@ -16,6 +16,8 @@ import com.tikelespike.nilee.core.property.events.UpdateSubject;
  * {@link com.tikelespike.nilee.core.events.EventBus}, overriding the
  * {@link UpdateSubject#addUpdateListener(com.tikelespike.nilee.core.events.EventListener)} method to register listeners
  * to the bus, and firing an {@link com.tikelespike.nilee.core.property.events.UpdateEvent} when the value changes.
+ * Properties cache their value until they are notified, so changes of suppliers not notifying their observers are not
+ * reflected in the value of the properties using them.
  *
  * @param <T> the type of the property value
  */
@@ -0,0 +1,60 @@
+package com.tikelespike.nilee.core.property.conditions;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
+import com.tikelespike.nilee.core.property.events.UpdateSubject;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A condition a creature may be in, like raging, being prone or being in darkness. A condition is either active or
+ * inactive, and {@link ConditionalModifier ConditionalModifiers} only apply while their condition is active.
+ * <p>
+ * Conditional modifiers depend on their condition in the graph of property dependencies. Toggling a condition
+ * therefore only invalidates and notifies the properties using a modifier of this condition (and the properties
+ * derived from them), no matter how many other properties the creature has. To toggle many conditions (for example,
+ * of all creatures in an encounter) at once, toggle them in a single {@link PropertyTransaction}, so each affected
+ * property is notified once.
+ */
+public class Condition extends UpdateSubject {
+
+    private final LocalizedString name;
+    private boolean active;
+
+    /**
+     * Creates a new, inactive condition.
+     *
+     * @param name the name of the condition (e.g. "Raging")
+     */
+    public Condition(@NotNull LocalizedString name) {
+        this.name = Objects.requireNonNull(name);
+    }
+
+    /**
+     * @return the name of this condition (e.g. "Raging")
+     */
+    public LocalizedString getName() {
+        return name;
+    }
+
+    /**
+     * @return true if the creature is currently in this condition, so its conditional modifiers apply
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Activates or deactivates this condition. Has no effect if the condition already is in the given state.
+     *
+     * @param active true if the creature is in this condition from now on, false if it no longer is
+     */
+    public void setActive(boolean active) {
+        if (this.active == active) {
+            return;
+        }
+        this.active = active;
+        update();
+    }
+}
@@ -0,0 +1,107 @@
+package com.tikelespike.nilee.core.property.conditions;
+
+import com.tikelespike.nilee.core.property.ModifierGroup;
+import com.tikelespike.nilee.core.property.Property;
+import com.tikelespike.nilee.core.property.PropertyModifier;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The conditions of a single creature, and the modifiers they apply to the properties of the creature. The registry
+ * keeps an index from each condition to the properties it affects, so the effects of a condition can be listed (for
+ * example, in the UI) and removed without looking at any other property.
+ * <p>
+ * Modifiers are added as {@link ConditionalModifier ConditionalModifiers}, which stay attached to their properties
+ * while the condition is inactive. Toggling a condition therefore does not change the structure of any property, and
+ * only the properties in the index of the condition are invalidated and notified.
+ */
+public class ConditionRegistry {
+
+    // the conditional modifiers of each condition, grouped per property
+    private final Map<Condition, Entry> index = new LinkedHashMap<>();
+
+    /**
+     * Adds a modifier to a property that only applies while the given condition is active.
+     *
+     * @param condition the condition under which the modifier applies
+     * @param property the property to modify
+     * @param modifier the modifier to apply while the condition is active
+     * @param <T> the type of the property
+     *
+     * @return the conditional modifier added to the property
+     */
+    public <T> ConditionalModifier<T> addModifier(@NotNull Condition condition, @NotNull Property<T> property,
+                                                  @NotNull PropertyModifier<T> modifier) {
+        Objects.requireNonNull(condition);
+        Objects.requireNonNull(property);
+        ConditionalModifier<T> conditional = new ConditionalModifier<>(condition, modifier);
+        Entry entry = index.computeIfAbsent(condition, c -> {
+            ModifierGroup newGroup = new ModifierGroup(c.getName());
+            newGroup.attach();
+            return new Entry(newGroup, new ArrayList<>());
+        });
+        entry.group().add(property, conditional);
+        entry.modifiers().add(conditional);
+        return conditional;
+    }
+
+    /**
+     * Removes all modifiers of a condition from their properties, and the condition from this registry. Each affected
+     * property is notified once. The removed modifiers are {@link ConditionalModifier#release() released}, so the
+     * condition no longer keeps track of them.
+     *
+     * @param condition the condition whose modifiers to remove
+     */
+    public void removeCondition(@NotNull Condition condition) {
+        Objects.requireNonNull(condition);
+        Entry entry = index.remove(condition);
+        if (entry != null) {
+            entry.group().detach();
+            entry.modifiers().forEach(ConditionalModifier::release);
+        }
+    }
+
+    /**
+     * @param condition a condition of this registry
+     *
+     * @return an unmodifiable view of the properties modified while the given condition is active, which is empty if
+     *         the condition is not part of this registry
+     */
+    public Set<Property<?>> getAffectedProperties(@NotNull Condition condition) {
+        Entry entry = index.get(Objects.requireNonNull(condition));
+        return entry != null ? entry.group().getProperties() : Set.of();
+    }
+
+    /**
+     * @return an unmodifiable view of all conditions that modify properties in this registry
+     */
+    public Set<Condition> getConditions() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Activates or deactivates multiple conditions at once, in a single {@link PropertyTransaction}. Properties
+     * affected by multiple of the conditions are only notified once. The conditions do not have to be part of this
+     * registry.
+     *
+     * @param conditions the conditions to toggle
+     * @param active true to activate the conditions, false to deactivate them
+     */
+    public static void setActive(@NotNull Collection<Condition> conditions, boolean active) {
+        Objects.requireNonNull(conditions);
+        PropertyTransaction.run(() -> conditions.forEach(condition -> condition.setActive(active)));
+    }
+
+    private record Entry(ModifierGroup group, List<ConditionalModifier<?>> modifiers) {
+
+    }
+}
@@ -0,0 +1,86 @@
+package com.tikelespike.nilee.core.property.conditions;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.PropertyModifier;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
+
+/**
+ * A {@link PropertyModifier} that applies another modifier only while a {@link Condition} is active, and leaves the
+ * value unchanged otherwise. For example, raging grants a bonus to strength checks only while the character is raging.
+ * <p>
+ * The modifier depends on both its condition and the wrapped modifier, so properties using it are notified when the
+ * condition is toggled or the wrapped modifier changes. Since the condition (and the wrapped modifier) in turn keep
+ * track of the modifier, it has to be {@link #release() released} once it is no longer used, or it stays reachable
+ * (and is told about every change) as long as the condition is.
+ *
+ * @param <T> the type of the value to modify
+ */
+public class ConditionalModifier<T> extends PropertyModifier<T> {
+
+    private final Condition condition;
+    private final PropertyModifier<T> modifier;
+
+    /**
+     * Creates a new modifier applying the given modifier while the given condition is active.
+     *
+     * @param condition the condition under which the modifier applies
+     * @param modifier the modifier to apply while the condition is active
+     */
+    public ConditionalModifier(@NotNull Condition condition, @NotNull PropertyModifier<T> modifier) {
+        this.condition = Objects.requireNonNull(condition);
+        this.modifier = Objects.requireNonNull(modifier);
+        dependOn(condition);
+        dependOn(modifier);
+    }
+
+    @Override
+    public T apply(T value) {
+        return condition.isActive() ? modifier.apply(value) : value;
+    }
+
+    @Override
+    public LocalizedString getAbstractDescription() {
+        return describe(modifier.getAbstractDescription());
+    }
+
+    @Override
+    public LocalizedString getConcreteDescription() {
+        return describe(modifier.getConcreteDescription());
+    }
+
+    @Override
+    public LocalizedString getSourceName() {
+        return modifier.getSourceName();
+    }
+
+    /**
+     * Stops depending on the condition and the wrapped modifier, so they no longer keep track of this modifier. Has to
+     * be called once this modifier has been removed from all properties, after which it must not be used anymore. Has
+     * no effect if this modifier was already released.
+     */
+    public void release() {
+        removeDependency(condition);
+        removeDependency(modifier);
+    }
+
+    /**
+     * @return the condition under which the modifier applies
+     */
+    public Condition getCondition() {
+        return condition;
+    }
+
+    /**
+     * @return the modifier applied while the condition is active
+     */
+    public PropertyModifier<T> getModifier() {
+        return modifier;
+    }
+
+    private LocalizedString describe(LocalizedString description) {
+        return t -> t.translate("core.character.modifier.conditional.description", description.getTranslation(t),
+                condition.getName().getTranslation(t));
+    }
+}
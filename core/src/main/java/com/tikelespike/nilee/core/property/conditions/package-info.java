@@ -0,0 +1,4 @@
+/**
+ * Contains conditions (like raging, prone or being in darkness) and modifiers that only apply while a condition holds.
+ */
+package com.tikelespike.nilee.core.property.conditions;
@@ -1,12 +1,13 @@
 package com.tikelespike.nilee.core.property.convenience;
 
 import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.AffineModifier;
 import com.tikelespike.nilee.core.property.PropertyModifier;
 
 /**
  * A {@link PropertyModifier} that adds a fixed value to the value of the property it is applied to.
  */
-public class AdditiveModifier extends PropertyModifier<Integer> {
+public class AdditiveModifier extends AffineModifier {
 
     private int bonus;
     private LocalizedString source;
@@ -23,8 +24,13 @@ public class AdditiveModifier extends PropertyModifier<Integer> {
     }
 
     @Override
-    public Integer apply(Integer value) {
-        return value == null ? null : value + bonus;
+    public int getAffineFactor() {
+        return 1;
+    }
+
+    @Override
+    public int getAffineOffset() {
+        return bonus;
     }
 
     @Override
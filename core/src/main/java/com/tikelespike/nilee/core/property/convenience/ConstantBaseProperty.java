@@ -1,14 +1,14 @@
 package com.tikelespike.nilee.core.property.convenience;
 
 import com.tikelespike.nilee.core.i18n.LocalizedString;
-import com.tikelespike.nilee.core.property.Property;
+import com.tikelespike.nilee.core.property.IntProperty;
 
 /**
- * A {@link Property} that has a standard/default base value that can be set and retrieved. For example, a character's
- * strength score has a standard value set during character creation, which represents the "canonical" base value of the
- * property.
+ * An {@link IntProperty} that has a standard/default base value that can be set and retrieved. For example, a
+ * character's strength score has a standard value set during character creation, which represents the "canonical" base
+ * value of the property.
  */
-public class ConstantBaseProperty extends Property<Integer> {
+public class ConstantBaseProperty extends IntProperty {
 
     private final ConstantBaseValue constantBaseValue;
 
@@ -41,6 +41,6 @@ public class ConstantBaseProperty extends Property<Integer> {
      * @return baseValue the new default base value of the property
      */
     public int getDefaultBaseValue() {
-        return constantBaseValue.getBaseValue();
+        return constantBaseValue.getIntBaseValue();
     }
 }
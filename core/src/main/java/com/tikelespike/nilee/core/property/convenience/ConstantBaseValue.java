@@ -1,14 +1,14 @@
 package com.tikelespike.nilee.core.property.convenience;
 
 import com.tikelespike.nilee.core.i18n.LocalizedString;
-import com.tikelespike.nilee.core.property.PropertyBaseSupplier;
+import com.tikelespike.nilee.core.property.IntPropertyBaseSupplier;
 
 /**
- * A {@link PropertyBaseSupplier} that wraps a constant value that can be accessed with getters and setters.
+ * An {@link IntPropertyBaseSupplier} that wraps a constant value that can be accessed with getters and setters.
  */
-public class ConstantBaseValue extends PropertyBaseSupplier<Integer> {
+public class ConstantBaseValue extends IntPropertyBaseSupplier {
 
-    private Integer baseValue;
+    private int baseValue;
     private LocalizedString sourceName;
 
     /**
@@ -25,7 +25,7 @@ public class ConstantBaseValue extends PropertyBaseSupplier<Integer> {
     }
 
     @Override
-    public Integer getBaseValue() {
+    public int getIntBaseValue() {
         return baseValue;
     }
 
@@ -41,7 +41,7 @@ public class ConstantBaseValue extends PropertyBaseSupplier<Integer> {
 
     @Override
     public LocalizedString getAbstractDescription() {
-        return t -> baseValue.toString();
+        return t -> String.valueOf(baseValue);
     }
 
     @Override
@@ -0,0 +1,14 @@
+package com.tikelespike.nilee.core.property.convenience;
+
+import com.tikelespike.nilee.core.property.IntValueSelector;
+
+/**
+ * An {@link IntValueSelector} that always returns the first value, like {@link FirstValueSelector}.
+ */
+public class IntFirstValueSelector extends IntValueSelector {
+
+    @Override
+    public int selectAsInt(int[] values, int count) {
+        return values[0];
+    }
+}
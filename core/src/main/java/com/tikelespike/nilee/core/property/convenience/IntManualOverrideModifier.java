@@ -0,0 +1,65 @@
+package com.tikelespike.nilee.core.property.convenience;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.AffineModifier;
+
+/**
+ * A {@link ManualOverrideModifier} of int properties. Overriding is the affine transformation {@code value * 0 +
+ * override}, so an {@link com.tikelespike.nilee.core.property.IntProperty} fuses it with the modifiers before it.
+ */
+public class IntManualOverrideModifier extends AffineModifier {
+
+    private int overrideValue;
+
+    /**
+     * Creates a new {@link IntManualOverrideModifier} with the given override value.
+     *
+     * @param overrideValue the value to override the property with
+     */
+    public IntManualOverrideModifier(int overrideValue) {
+        this.overrideValue = overrideValue;
+    }
+
+    /**
+     * Sets the override value of this modifier.
+     *
+     * @param overrideValue the value to override the property with
+     */
+    public void setOverrideValue(int overrideValue) {
+        this.overrideValue = overrideValue;
+        update();
+    }
+
+    /**
+     * @return the override value of this modifier
+     */
+    public int getOverrideValue() {
+        return overrideValue;
+    }
+
+    @Override
+    public int getAffineFactor() {
+        return 0;
+    }
+
+    @Override
+    public int getAffineOffset() {
+        return overrideValue;
+    }
+
+    @Override
+    public LocalizedString getAbstractDescription() {
+        return t -> t.translate("core.character.modifier.override.operator",
+                t.translate("core.character.modifier.override.value"));
+    }
+
+    @Override
+    public LocalizedString getConcreteDescription() {
+        return t -> t.translate("core.character.modifier.override.operator", overrideValue);
+    }
+
+    @Override
+    public LocalizedString getSourceName() {
+        return t -> t.translate("core.character.modifier.override.source");
+    }
+}
@@ -0,0 +1,14 @@
+package com.tikelespike.nilee.core.property.convenience;
+
+import com.tikelespike.nilee.core.property.IncrementalIntValueSelector;
+
+/**
+ * An {@link IncrementalIntValueSelector} that always returns the highest value, like {@link MaxValueSelector}.
+ */
+public class IntMaxValueSelector extends IncrementalIntValueSelector {
+
+    @Override
+    public int compare(int first, int second) {
+        return Integer.compare(first, second);
+    }
+}
@@ -14,6 +14,16 @@ public class MaxValueSelector<T extends Comparable<T>> extends ValueSelector<T>
 
     @Override
     public Optional<T> select(List<T> values) {
-        return values.stream().max(Comparable::compareTo);
+        if (values.isEmpty()) {
+            return Optional.empty();
+        }
+        T max = values.get(0);
+        for (int i = 1; i < values.size(); i++) {
+            T value = values.get(i);
+            if (value.compareTo(max) > 0) {
+                max = value;
+            }
+        }
+        return Optional.of(max);
     }
 }
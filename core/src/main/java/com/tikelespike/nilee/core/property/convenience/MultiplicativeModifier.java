@@ -1,12 +1,13 @@
 package com.tikelespike.nilee.core.property.convenience;
 
 import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.AffineModifier;
 import com.tikelespike.nilee.core.property.PropertyModifier;
 
 /**
  * A {@link PropertyModifier} that multiplies the value by a given factor.
  */
-public class MultiplicativeModifier extends PropertyModifier<Integer> {
+public class MultiplicativeModifier extends AffineModifier {
 
     private int factor;
     private LocalizedString source;
@@ -24,8 +25,13 @@ public class MultiplicativeModifier extends PropertyModifier<Integer> {
     }
 
     @Override
-    public Integer apply(Integer value) {
-        return value == null ? null : value * factor;
+    public int getAffineFactor() {
+        return factor;
+    }
+
+    @Override
+    public int getAffineOffset() {
+        return 0;
     }
 
     @Override
@@ -0,0 +1,210 @@
+package com.tikelespike.nilee.core.property.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A node in the dependency graph of properties. A {@link com.tikelespike.nilee.core.property.Property} depends on its
+ * base value suppliers, modifiers and base value selector, which in turn may depend on other properties (see
+ * {@link UpdateSubject#dependOn(com.tikelespike.nilee.core.property.Property)}).
+ * <p>
+ * The graph serves two purposes. First, when a node changes, all nodes depending on it are invalidated immediately
+ * (see {@link #onDependencyChanged(DependencyNode)}), so values cached by them are never outdated, even while the
+ * notifications of the change are still pending. Second, every node has a {@link #getRank() rank} greater than the
+ * ranks of all nodes it depends on. {@link PropertyTransaction} notifies the listeners of properties in the order of
+ * their ranks, so a property is only notified once all properties it depends on have been notified. This way, each
+ * affected property is only recalculated once per change, and listeners never observe inconsistent intermediate values.
+ * <p>
+ * The graph has to be acyclic, so adding a dependency that would create a cycle fails.
+ */
+public abstract class DependencyNode {
+
+    // identifies a single traversal of the dependents of a node
+    private static final AtomicLong TRAVERSALS = new AtomicLong();
+
+    private final List<DependencyNode> dependencies = new ArrayList<>();
+    private final List<DependencyNode> dependents = new ArrayList<>();
+
+    // incremented whenever a dependency of this node, or of a node it transitively depends on, is added or removed
+    private long structureVersion;
+    private int rank;
+    private long rankVersion = -1;
+    private long lastTraversal;
+
+    /**
+     * Records that this node depends on the given node. A node may depend on the same node multiple times, in which
+     * case the dependency has to be removed as often as it was added.
+     *
+     * @param dependency the node this node depends on
+     *
+     * @throws IllegalArgumentException if the given node (transitively) depends on this node, so that adding the
+     *         dependency would create a cycle
+     */
+    protected final void addDependency(@NotNull DependencyNode dependency) {
+        Objects.requireNonNull(dependency);
+        if (dependency.dependsOn(this)) {
+            throw new IllegalArgumentException("Adding this dependency would create a cycle: " + dependency
+                    + " already depends on " + this);
+        }
+        dependencies.add(dependency);
+        dependency.dependents.add(this);
+        structureChanged();
+    }
+
+    /**
+     * Removes a dependency previously added by {@link #addDependency(DependencyNode)}. Has no effect if this node does
+     * not depend on the given node.
+     *
+     * @param dependency the node this node no longer depends on
+     */
+    protected final void removeDependency(@NotNull DependencyNode dependency) {
+        Objects.requireNonNull(dependency);
+        // searched from the end, since recently added dependencies (like temporary modifiers) are removed most often
+        int index = dependencies.lastIndexOf(dependency);
+        if (index >= 0) {
+            dependencies.remove(index);
+            dependency.dependents.remove(this);
+            structureChanged();
+        }
+    }
+
+    /**
+     * Checks whether this node is the given node or (directly or transitively) depends on it.
+     *
+     * @param node the node to check
+     *
+     * @return true if changes of the given node may affect this node
+     */
+    public final boolean dependsOn(@NotNull DependencyNode node) {
+        Objects.requireNonNull(node);
+        Set<DependencyNode> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<DependencyNode> pending = new ArrayDeque<>();
+        pending.push(this);
+        while (!pending.isEmpty()) {
+            DependencyNode current = pending.pop();
+            if (current == node) {
+                return true;
+            }
+            if (visited.add(current)) {
+                current.dependencies.forEach(pending::push);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns a number that changes whenever a dependency is added to or removed from this node or any node it
+     * (transitively) depends on. As long as it stays the same, the part of the graph this node depends on is unchanged,
+     * so anything derived from it (like the order in which these nodes have to be evaluated) remains valid. Changes in
+     * unrelated parts of the graph, like the properties of another character, do not affect it.
+     *
+     * @return the current version of the structure of the graph this node depends on
+     */
+    public final long getStructureVersion() {
+        return structureVersion;
+    }
+
+    // bumps the structure version of this node and all nodes (transitively) depending on it
+    private void structureChanged() {
+        long traversal = TRAVERSALS.incrementAndGet();
+        Deque<DependencyNode> pending = new ArrayDeque<>();
+        pending.push(this);
+        lastTraversal = traversal;
+        while (!pending.isEmpty()) {
+            DependencyNode current = pending.pop();
+            current.structureVersion++;
+            for (DependencyNode dependent : current.dependents) {
+                if (dependent.lastTraversal != traversal) {
+                    dependent.lastTraversal = traversal;
+                    pending.push(dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the rank of this node in the dependency graph, which is zero for nodes without dependencies, and one more
+     * than the highest rank of its dependencies otherwise. A node changing can only affect nodes of higher rank.
+     *
+     * @return the rank of this node
+     */
+    public final int getRank() {
+        // the rank only depends on the nodes this node depends on, so it stays valid while their structure is unchanged
+        if (rankVersion != structureVersion) {
+            int highest = -1;
+            for (DependencyNode dependency : dependencies) {
+                highest = Math.max(highest, dependency.getRank());
+            }
+            rank = highest + 1;
+            rankVersion = structureVersion;
+        }
+        return rank;
+    }
+
+    /**
+     * Immediately invalidates all nodes (directly or transitively) depending on this node, by calling their
+     * {@link #onDependencyChanged(DependencyNode)} method. This is meant to be called when this node changes, before
+     * its listeners are notified.
+     */
+    protected final void invalidateDependents() {
+        long invalidation = TRAVERSALS.incrementAndGet();
+        lastTraversal = invalidation;
+        invalidateDependents(invalidation);
+    }
+
+    private void invalidateDependents(long invalidation) {
+        for (DependencyNode dependent : dependents) {
+            dependent.onDependencyChanged(this);
+            // nodes reachable on multiple paths are told about each changed dependency, but only traversed once
+            if (dependent.lastTraversal != invalidation) {
+                dependent.lastTraversal = invalidation;
+                dependent.invalidateDependents(invalidation);
+            }
+        }
+    }
+
+    /**
+     * Called when a node this node directly depends on, or one of its dependencies, has changed. Nodes caching values
+     * derived from their dependencies have to discard them here. Implementations must neither notify listeners nor
+     * change the dependency graph. Does nothing by default.
+     *
+     * @param dependency the node this node directly depends on that changed or was affected by a change
+     */
+    protected void onDependencyChanged(DependencyNode dependency) {
+
+    }
+
+    /**
+     * Tells all nodes directly depending on this node that it has changed, by calling their
+     * {@link #onDependencyUpdated(DependencyNode)} method. Unlike {@link #invalidateDependents()}, this is meant to be
+     * called when the change is notified (for example, at the end of a {@link PropertyTransaction}), and only if it may
+     * actually affect the dependents.
+     */
+    protected final void notifyDependents() {
+        // copied, since dependents may change the graph when notified
+        for (DependencyNode dependent : dependents.toArray(new DependencyNode[0])) {
+            dependent.onDependencyUpdated(this);
+        }
+    }
+
+    /**
+     * Called when a node this node directly depends on notifies its dependents of a change, see
+     * {@link #notifyDependents()}. Nodes notifying listeners of their own should do so here. Unlike
+     * {@link #onDependencyChanged(DependencyNode)}, this is not called for every (transitive) change immediately, but
+     * only once the change is notified. Does nothing by default.
+     *
+     * @param dependency the node this node directly depends on that changed
+     */
+    protected void onDependencyUpdated(DependencyNode dependency) {
+
+    }
+}
@@ -0,0 +1,47 @@
+package com.tikelespike.nilee.core.property.events;
+
+/**
+ * A {@link ValueChangeEvent} fired by an {@link com.tikelespike.nilee.core.property.IntProperty}, carrying the old and
+ * new value as primitive ints. It is fired for every change where both values are known, so listeners may use
+ * {@link #getOldIntValue()} and {@link #getNewIntValue()} instead of the boxed values.
+ */
+public class IntValueChangeEvent extends ValueChangeEvent<Integer> {
+    private final int oldValue;
+    private final int newValue;
+
+    /**
+     * Creates a new {@link IntValueChangeEvent}. Old and new value may be equal.
+     *
+     * @param oldValue the value of the property before the change causing this event
+     * @param newValue the value of the property after the change causing this event
+     */
+    public IntValueChangeEvent(int oldValue, int newValue) {
+        super(null, null);
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * @return the value of the property before the change. May be equal to {@link #getNewIntValue()}
+     */
+    public int getOldIntValue() {
+        return oldValue;
+    }
+
+    /**
+     * @return the value of the property after the change. May be equal to {@link #getOldIntValue()}
+     */
+    public int getNewIntValue() {
+        return newValue;
+    }
+
+    @Override
+    public Integer getOldValue() {
+        return oldValue;
+    }
+
+    @Override
+    public Integer getNewValue() {
+        return newValue;
+    }
+}
@@ -0,0 +1,161 @@
+package com.tikelespike.nilee.core.property.events;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+/**
+ * Groups multiple changes to properties and their dependencies so that listeners are only notified once all changes
+ * have been made. While a transaction is running on a thread, notifications of {@link UpdateSubject UpdateSubjects} and
+ * {@link com.tikelespike.nilee.core.property.Property Properties} changed on that thread are deferred until the
+ * transaction ends. Repeated notifications of the same subject are merged, so each subject notifies its listeners at
+ * most once per transaction. For properties, this means that a single {@link ValueChangeEvent} is fired, containing the
+ * value before the first change and the value after the last change.
+ * <p>
+ * For example, restoring all ability scores of a character would normally recalculate and fire a change event for
+ * every dependent property (like hit points) after each single ability score. Inside a transaction, these properties
+ * are only recalculated once:
+ * <pre>{@code
+ * PropertyTransaction.run(() -> {
+ *     abilityScores.getStrength().setDefaultBaseValue(10);
+ *     abilityScores.getConstitution().setDefaultBaseValue(14);
+ * });
+ * }</pre>
+ * Transactions are bound to the thread they were started on. Transactions started while another transaction is running
+ * on the same thread become part of the outer transaction. Values retrieved during a transaction are always up-to-date
+ * (as far as the dependencies of properties are declared, see {@link DependencyNode}), only the notifications are
+ * deferred.
+ * <p>
+ * Single changes made outside a transaction run in a transaction of their own. When a transaction ends, properties are
+ * notified in the order of their {@link DependencyNode#getRank() rank}, so each property is only notified after all
+ * properties it depends on, and each affected property is only recalculated once, even if it depends on the changed
+ * property in multiple ways.
+ */
+public final class PropertyTransaction {
+
+    private static final ThreadLocal<PropertyTransaction> CURRENT = new ThreadLocal<>();
+
+    // subjects in the order of their notification, and their pending notification
+    private final Map<Object, Runnable> pendingUpdates = new LinkedHashMap<>();
+    // pending value changes by rank and order of their (latest) notification; outdated entries are skipped
+    private final Queue<PendingValueChange> pendingValueChanges =
+            new PriorityQueue<>(Comparator.comparingInt(PendingValueChange::rank)
+                    .thenComparingLong(PendingValueChange::sequence));
+    private final Map<Object, PendingValueChange> latestValueChanges = new HashMap<>();
+    private long sequence;
+
+    private PropertyTransaction() {
+
+    }
+
+    /**
+     * Runs the given changes in a transaction. Listeners of all subjects changed by the given changes are notified
+     * after the changes have been made, even if they throw an exception. If a transaction is already running on the
+     * current thread, the changes become part of that transaction instead, and the listeners are only notified once the
+     * outer transaction ends.
+     *
+     * @param changes the changes to make in a transaction
+     */
+    public static void run(@NotNull Runnable changes) {
+        Objects.requireNonNull(changes);
+        if (CURRENT.get() != null) {
+            changes.run();
+            return;
+        }
+        PropertyTransaction transaction = new PropertyTransaction();
+        CURRENT.set(transaction);
+        try {
+            changes.run();
+        } finally {
+            try {
+                transaction.flush();
+            } finally {
+                CURRENT.remove();
+            }
+        }
+    }
+
+    /**
+     * @return true if a transaction is currently running on the calling thread
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Notifies the listeners of a subject at the end of the current transaction, or immediately (in a transaction of
+     * its own) if no transaction is running on the calling thread. If a notification of the same subject is already
+     * pending, the given notification is dropped. This is meant to be called by observable objects (like
+     * {@link UpdateSubject}) instead of firing their change events directly, with a notification that determines the
+     * current state when it is run.
+     *
+     * @param subject the object whose listeners are notified, pending notifications are merged per subject
+     * @param notification notifies the listeners of the subject about its current state
+     */
+    public static void dispatch(@NotNull Object subject, @NotNull Runnable notification) {
+        Objects.requireNonNull(subject);
+        Objects.requireNonNull(notification);
+        PropertyTransaction transaction = CURRENT.get();
+        if (transaction == null) {
+            run(() -> dispatch(subject, notification));
+            return;
+        }
+        transaction.pendingUpdates.putIfAbsent(subject, notification);
+    }
+
+    /**
+     * Notifies the listeners of a subject whose value is computed from other subjects, at the end of the current
+     * transaction or immediately (in a transaction of its own) if no transaction is running on the calling thread.
+     * Works like {@link #dispatch(Object, Runnable)}, but at the end of a transaction, the notification is only run
+     * once no other notifications dispatched using {@link #dispatch(Object, Runnable)} are pending, and after the
+     * notifications of all subjects of lower rank and the value change notifications of the same rank dispatched before
+     * it. This way, a value depending on multiple changed subjects is only computed and notified once.
+     *
+     * @param subject the node whose listeners are notified, pending notifications are merged per subject
+     * @param notification computes the current value of the subject and notifies its listeners about it
+     */
+    public static void dispatchValueChange(@NotNull DependencyNode subject, @NotNull Runnable notification) {
+        Objects.requireNonNull(subject);
+        Objects.requireNonNull(notification);
+        PropertyTransaction transaction = CURRENT.get();
+        if (transaction == null) {
+            run(() -> dispatchValueChange(subject, notification));
+            return;
+        }
+        // replaces a pending notification, so it runs after the subjects notifying it since it was first dispatched
+        PendingValueChange pending = transaction.latestValueChanges.get(subject);
+        PendingValueChange change = new PendingValueChange(subject, subject.getRank(), transaction.sequence++,
+                pending != null ? pending.notification() : notification);
+        transaction.latestValueChanges.put(subject, change);
+        transaction.pendingValueChanges.add(change);
+    }
+
+    private void flush() {
+        // notifications may cause further notifications (e.g. a property notified by its base value supplier), so
+        // the transaction stays active and those are queued behind the current ones
+        while (!pendingUpdates.isEmpty() || !latestValueChanges.isEmpty()) {
+            if (!pendingUpdates.isEmpty()) {
+                Iterator<Runnable> next = pendingUpdates.values().iterator();
+                Runnable notification = next.next();
+                next.remove();
+                notification.run();
+                continue;
+            }
+            PendingValueChange change = pendingValueChanges.poll();
+            if (latestValueChanges.get(change.subject()) == change) {
+                latestValueChanges.remove(change.subject());
+                change.notification().run();
+            }
+        }
+    }
+
+    private record PendingValueChange(DependencyNode subject, int rank, long sequence, Runnable notification) {
+    }
+}
@@ -8,4 +8,29 @@ import com.tikelespike.nilee.core.events.Event;
  * should fire an UpdateEvent to notify corresponding properties that their result value may have changed.
  */
 public class UpdateEvent extends Event {
+
+    private final UpdateSubject source;
+
+    /**
+     * Creates a new update event without a known source.
+     */
+    public UpdateEvent() {
+        this(null);
+    }
+
+    /**
+     * Creates a new update event fired by the given subject.
+     *
+     * @param source the subject that changed, or null if unknown
+     */
+    public UpdateEvent(UpdateSubject source) {
+        this.source = source;
+    }
+
+    /**
+     * @return the subject that changed, or null if unknown
+     */
+    public UpdateSubject getSource() {
+        return source;
+    }
 }
@@ -3,6 +3,10 @@ package com.tikelespike.nilee.core.property.events;
 import com.tikelespike.nilee.core.events.EventBus;
 import com.tikelespike.nilee.core.events.EventListener;
 import com.tikelespike.nilee.core.events.Registration;
+import com.tikelespike.nilee.core.property.Property;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.Objects;
 
 /**
  * A subject that can fire {@link UpdateEvent UpdateEvents}. If a class is derived from this superclass, it means that
@@ -11,8 +15,12 @@ import com.tikelespike.nilee.core.events.Registration;
  * <p>
  * If a class is constant and never changes returned values, it may derive from this superclass without overriding its
  * default implementation, which is to simply ignore any observers (assuming no events will be fired anyway).
+ * <p>
+ * If the values provided by a subject are derived from a property (or another subject), the subject should declare this
+ * using {@link #dependOn(Property)} (or {@link #dependOn(UpdateSubject)}), which also takes care of firing update
+ * events when the property changes.
  */
-public abstract class UpdateSubject {
+public abstract class UpdateSubject extends DependencyNode {
 
     private final EventBus bus = new EventBus();
 
@@ -29,9 +37,51 @@ public abstract class UpdateSubject {
     }
 
     /**
-     * Fires an {@link UpdateEvent} on the {@link EventBus} of this subject.
+     * Fires an {@link UpdateEvent} with this subject as source on the {@link EventBus} of this subject. If a
+     * {@link PropertyTransaction} is running, the event is fired once at the end of the transaction, no matter how
+     * often this method is called during it. Properties using this subject are invalidated immediately, though.
      */
     protected void update() {
-        bus.fireEvent(new UpdateEvent());
+        invalidateDependents();
+        PropertyTransaction.dispatch(this, () -> {
+            bus.fireEvent(new UpdateEvent(this));
+            notifyDependents();
+        });
+    }
+
+    /**
+     * Declares that the values provided by this subject are derived from the given property, so that {@link #update()}
+     * is called whenever the value of the property changes. Declaring dependencies (instead of just listening to the
+     * property) allows properties using this subject to be invalidated immediately and to be notified in the order of
+     * their dependencies, see {@link DependencyNode}. It also does not count as observing the property, so the
+     * property does not have to calculate its value on every change if it is not observed otherwise.
+     *
+     * @param property the property this subject depends on
+     *
+     * @throws IllegalArgumentException if the property depends on this subject, so that depending on it would
+     *         create a cycle
+     */
+    protected final void dependOn(@NotNull Property<?> property) {
+        Objects.requireNonNull(property);
+        addDependency(property);
+    }
+
+    /**
+     * Declares that the values provided by this subject are derived from the given subject, so that {@link #update()}
+     * is called whenever the given subject is updated. Works like {@link #dependOn(Property)}.
+     *
+     * @param subject the subject this subject depends on
+     *
+     * @throws IllegalArgumentException if the given subject depends on this subject, so that depending on it would
+     *         create a cycle
+     */
+    protected final void dependOn(@NotNull UpdateSubject subject) {
+        Objects.requireNonNull(subject);
+        addDependency(subject);
+    }
+
+    @Override
+    protected void onDependencyUpdated(DependencyNode dependency) {
+        update();
     }
 }
@@ -4,7 +4,8 @@ import com.tikelespike.nilee.core.events.Event;
 
 /**
  * Is fired when a {@link com.tikelespike.nilee.core.property.Property} changes its value, or something about the way a
- * value is calculated. Old and new value can be equal.
+ * value is calculated. Properties only fire it if the value actually changed, so old and new value are never equal
+ * (although events created elsewhere may not guarantee this).
  *
  * @param <T> the type of the value that changed, corresponds to the type of the
  *         {@link com.tikelespike.nilee.core.property.Property}
@@ -14,7 +15,8 @@ public class ValueChangeEvent<T> extends Event {
     private final T newValue;
 
     /**
-     * Creates a new {@link ValueChangeEvent}. Old and new value may be equal.
+     * Creates a new {@link ValueChangeEvent}. Does not check that old and new value differ, callers firing it on behalf
+     * of a property have to ensure they do (see the class documentation).
      *
      * @param oldValue the value {@link com.tikelespike.nilee.core.property.Property#getValue()} returned before
      *         the change causing this event
@@ -27,16 +29,16 @@ public class ValueChangeEvent<T> extends Event {
     }
 
     /**
-     * @return the value {@link com.tikelespike.nilee.core.property.Property#getValue()} returned before the change. May
-     *         be equal to {@link #getNewValue()}
+     * @return the value {@link com.tikelespike.nilee.core.property.Property#getValue()} returned before the change.
+     *         Never equal to {@link #getNewValue()} if fired by a property
      */
     public T getOldValue() {
         return oldValue;
     }
 
     /**
-     * @return the value {@link com.tikelespike.nilee.core.property.Property#getValue()} returns after the change. May
-     *         be equal to {@link #getOldValue()}
+     * @return the value {@link com.tikelespike.nilee.core.property.Property#getValue()} returns after the change.
+     *         Never equal to {@link #getOldValue()} if fired by a property
      */
     public T getNewValue() {
         return newValue;
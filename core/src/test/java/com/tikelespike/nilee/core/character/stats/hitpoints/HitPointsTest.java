@@ -1,10 +1,15 @@
 package com.tikelespike.nilee.core.character.stats.hitpoints;
 
 import com.tikelespike.nilee.core.character.stats.ability.AbilityScore;
+import com.tikelespike.nilee.core.character.stats.hitpoints.events.CurrentHPChangeEvent;
 import com.tikelespike.nilee.core.events.SimpleListener;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -79,4 +84,22 @@ class HitPointsTest {
         assertEquals(maxHitPoints, hitPoints.getCurrentHitPoints());
     }
 
+    @Test
+    void test_changesMergedInTransaction() {
+        List<CurrentHPChangeEvent> events = new ArrayList<>();
+        hitPoints.registerCurrentHPChangeListener(events::add);
+        PropertyTransaction.run(() -> {
+            hitPoints.setCurrentHitPoints(maxHitPoints);
+            hitPoints.setTemporaryHitPoints(5);
+            hitPoints.takeDamage(6);
+            assertTrue(events.isEmpty(), "Listeners should only be notified at the end of the transaction");
+            assertEquals(maxHitPoints - 1, hitPoints.getCurrentHitPoints(), "Values should be up-to-date");
+        });
+        assertEquals(1, events.size(), "Changes in a transaction should be merged into a single event");
+        assertEquals(0, events.get(0).getOldValue());
+        assertEquals(maxHitPoints - 1, events.get(0).getNewValue());
+        assertEquals(1, hpListener.getNumCalls());
+        assertEquals(0, tempHpListener.getNumCalls(), "Changes undone in the transaction should not be notified");
+    }
+
 }
\ No newline at end of file
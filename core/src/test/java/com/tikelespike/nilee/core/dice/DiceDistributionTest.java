@@ -0,0 +1,91 @@
+package com.tikelespike.nilee.core.dice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiceDistributionTest {
+
+    private static final double EPSILON = 1e-9;
+
+    // CUT
+    private DiceDistribution distribution;
+
+    @BeforeEach
+    void setUp() {
+        distribution = DiceDistribution.of(new DiceSum(new Dice(2, 6), new DiceConstant(1)));
+    }
+
+    @Test
+    void test_exactProbabilities() {
+        assertEquals(3, distribution.getMin());
+        assertEquals(13, distribution.getMax());
+        assertEquals(6.0 / 36, distribution.probabilityOf(8), EPSILON);
+        assertEquals(1.0 / 36, distribution.probabilityOf(13), EPSILON);
+        assertEquals(0, distribution.probabilityOf(14));
+        assertEquals(3.0 / 36, distribution.probabilityAtLeast(12), EPSILON);
+        assertEquals(1, distribution.probabilityAtLeast(Integer.MIN_VALUE), EPSILON);
+        assertEquals(1.0 / 36, distribution.probabilityAtMost(3), EPSILON);
+        assertEquals(8, distribution.getMean(), EPSILON);
+        assertEquals(2 * 35.0 / 12, distribution.getVariance(), EPSILON);
+    }
+
+    @Test
+    void test_largePools() {
+        distribution = DiceDistribution.of(new DiceSum(new Dice(40, 6), new DiceConstant(12)));
+        assertEquals(52, distribution.getMin());
+        assertEquals(252, distribution.getMax());
+        assertEquals(40 * 3.5 + 12, distribution.getMean(), EPSILON);
+        assertEquals(40 * 35.0 / 12, distribution.getVariance(), 1e-6);
+        assertEquals(Math.pow(1.0 / 6, 40), distribution.probabilityOf(52), 1e-40);
+        double total = 0;
+        for (int result = distribution.getMin(); result <= distribution.getMax(); result++) {
+            total += distribution.probabilityOf(result);
+        }
+        assertEquals(1, total, EPSILON, "Probabilities should sum up to one");
+    }
+
+    @Test
+    void test_negativeDice() {
+        distribution = DiceDistribution.of(new DiceSum(Dice.D20, new Dice(-1, 4)));
+        assertEquals(-3, distribution.getMin());
+        assertEquals(19, distribution.getMax());
+        assertEquals(10.5 - 2.5, distribution.getMean(), EPSILON);
+        assertEquals(1.0 / 80, distribution.probabilityOf(-3), EPSILON);
+    }
+
+    @Test
+    void test_cachedByCanonicalForm() {
+        DiceExpression reordered = new DiceSum(Dice.D6, new DiceConstant(3), Dice.D6, new DiceConstant(-2));
+        assertSame(distribution, DiceDistribution.of(reordered),
+                "Expressions with the same canonical form should share their distribution");
+        assertNotSame(distribution, DiceDistribution.of(new Dice(2, 6)));
+        assertThrows(IllegalArgumentException.class, () -> DiceDistribution.of(new Dice(1, 0)));
+    }
+
+    @Test
+    void test_supportLimit() {
+        // 1 + 101 * 99 = 10,000 possible results
+        distribution = DiceDistribution.of(new Dice(101, 100));
+        assertEquals(DiceDistribution.MAX_SUPPORT, distribution.getMax() - distribution.getMin() + 1);
+
+        assertThrows(IllegalArgumentException.class, () -> DiceDistribution.of(new Dice(102, 100)),
+                "Expressions with too many possible results should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> DiceDistribution.of(new Dice(1, Integer.MAX_VALUE)),
+                "Huge dice should be rejected before allocating their distribution");
+        assertThrows(IllegalArgumentException.class,
+                () -> DiceDistribution.of(new DiceSum(new Dice(Integer.MAX_VALUE, 100), new Dice(-5, 3))),
+                "Huge pools should be rejected without overflowing");
+        assertThrows(IllegalArgumentException.class, () -> DiceDistribution.die(DiceDistribution.MAX_SUPPORT + 1));
+        assertThrows(IllegalArgumentException.class, () -> DiceDistribution.die(100).times(102));
+        assertEquals(Integer.MAX_VALUE - 1, DiceDistribution.of(
+                new DiceSum(new Dice(Integer.MAX_VALUE - 1, 1))).getMax(), "Many one-sided dice have a single result");
+        assertThrows(IllegalArgumentException.class,
+                () -> DiceDistribution.of(new DiceSum(new Dice(Integer.MAX_VALUE, 6), new Dice(1, 6))),
+                "Dice counts overflowing an int should be rejected");
+        assertThrows(IllegalArgumentException.class,
+                () -> DiceDistribution.of(new DiceSum(new DiceConstant(Integer.MAX_VALUE), new DiceConstant(1))),
+                "Constants overflowing an int should be rejected");
+    }
+}
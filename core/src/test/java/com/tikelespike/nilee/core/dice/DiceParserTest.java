@@ -0,0 +1,119 @@
+package com.tikelespike.nilee.core.dice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiceParserTest {
+
+    // CUT
+    private CompiledDiceExpression expression;
+
+    private RandomSource random;
+
+    @BeforeEach
+    void setUp() {
+        expression = DiceParser.parse("2d8 + 1d6 - 1");
+        random = RandomSource.splittable(42);
+    }
+
+    @Test
+    void test_parseSum() {
+        assertEquals("2d8+1d6-1", expression.getNotation());
+        assertEquals(List.of(new Dice(2, 8), new Dice(1, 6), new DiceConstant(-1)).toString(),
+                expression.getTerms().toString());
+        for (int i = 0; i < 1000; i++) {
+            int result = expression.evaluate(random);
+            assertTrue(result >= 2 && result <= 21, "2d8+1d6-1 should evaluate to 2 to 21, got " + result);
+        }
+        assertEquals(List.of(new Dice(-1, 20)), DiceParser.parse("-D20").getTerms(), "Counts should default to one");
+    }
+
+    @Test
+    void test_parseKeep() {
+        CompiledDiceExpression abilityScore = DiceParser.parse("4d6kh3");
+        assertEquals(List.of(new KeepDice(4, 6, 3, true)), abilityScore.getTerms());
+        assertEquals(List.of(new KeepDice(4, 6, 3, true)), DiceParser.parse("4d6k3").getTerms());
+        CompiledDiceExpression disadvantage = DiceParser.parse("2d20kl1+5");
+        assertEquals(List.of(new KeepDice(2, 20, 1, false), new DiceConstant(5)).toString(),
+                disadvantage.getTerms().toString());
+
+        boolean minSeen = false;
+        for (int i = 0; i < 10_000; i++) {
+            int result = abilityScore.evaluate(random);
+            assertTrue(result >= 3 && result <= 18, "4d6kh3 should evaluate to 3 to 18, got " + result);
+            minSeen |= result == 3;
+        }
+        assertTrue(minSeen);
+        double mean = 0;
+        for (int i = 0; i < 10_000; i++) {
+            mean += disadvantage.evaluate(random) / 10_000.0;
+        }
+        assertEquals(5 + 7.175, mean, 0.3, "Keeping the lowest d20 should roll with disadvantage");
+    }
+
+    @Test
+    void test_cached() {
+        assertSame(expression, DiceParser.parse(" 2D8+1d6 -1 "),
+                "Notations only differing in whitespace and case should share their expression");
+        assertEquals(DiceDistribution.of(new DiceSum(new Dice(2, 8), Dice.D6, new DiceConstant(-1))).getMean(),
+                DiceDistribution.of(expression).getMean(), "Parsed expressions should have a distribution");
+    }
+
+    @Test
+    void test_invalidNotation() {
+        for (String notation : List.of("", "2d", "d", "2d8+", "2d8 3", "4d6kh5", "0d6", "2d0", "1d6kx1", "1d٦",
+                "99999999999d6")) {
+            assertThrows(IllegalArgumentException.class, () -> DiceParser.parse(notation),
+                    "'" + notation + "' should not be parsed");
+        }
+    }
+
+    @Test
+    void test_maxSides() {
+        assertEquals(List.of(new Dice(1, DiceParser.MAX_SIDES)),
+                DiceParser.parse("1d" + DiceParser.MAX_SIDES).getTerms());
+        assertThrows(IllegalArgumentException.class, () -> DiceParser.parse("1d" + (DiceParser.MAX_SIDES + 1)),
+                "Dice with too many sides should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> DiceParser.parse("2d" + Integer.MAX_VALUE + "k1"),
+                "Kept dice with too many sides should be rejected");
+    }
+
+    @Test
+    void test_maxDiceInTotal() {
+        int half = DiceParser.MAX_DICE / 2;
+        DiceParser.parse(half + "d6+" + half + "d6");
+        assertThrows(IllegalArgumentException.class, () -> DiceParser.parse(half + "d6+" + (half + 1) + "d6"),
+                "The dice of all terms together should be limited");
+        assertThrows(IllegalArgumentException.class,
+                () -> DiceParser.parse(DiceParser.MAX_DICE + "d6-" + Integer.MAX_VALUE + "d6"));
+    }
+
+    @Test
+    void test_maxTerms() {
+        DiceParser.parse("1d6" + "+1".repeat(DiceParser.MAX_TERMS - 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> DiceParser.parse("1d6" + "+1".repeat(DiceParser.MAX_TERMS)),
+                "Expressions with too many terms should be rejected");
+    }
+
+    @Test
+    void test_noOverflow() {
+        CompiledDiceExpression largest = DiceParser.parse(
+                (Integer.MAX_VALUE - DiceParser.MAX_SIDES) + "+1d" + DiceParser.MAX_SIDES);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(largest.evaluate(random) > 0, "Results fitting into an int should never overflow");
+        }
+        assertThrows(IllegalArgumentException.class, () -> DiceParser.parse(
+                (Integer.MAX_VALUE - DiceParser.MAX_SIDES + 1) + "+1d" + DiceParser.MAX_SIDES),
+                "Expressions whose results may not fit into an int should be rejected");
+        assertThrows(IllegalArgumentException.class,
+                () -> DiceParser.parse("-" + Integer.MAX_VALUE + "-" + Integer.MAX_VALUE + "+10000d10000"));
+        assertThrows(IllegalArgumentException.class, () -> RandomSource.splittable(1).sumOfDice(3, Integer.MAX_VALUE),
+                "Pools whose sum may not fit into an int should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> new KeepDice(3, Integer.MAX_VALUE, 2, true));
+    }
+}
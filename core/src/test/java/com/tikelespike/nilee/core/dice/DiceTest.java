@@ -0,0 +1,52 @@
+package com.tikelespike.nilee.core.dice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiceTest {
+
+    // CUT
+    private Dice dice;
+
+    private RandomSource random;
+
+    @BeforeEach
+    void setUp() {
+        dice = new Dice(3, 6);
+        random = RandomSource.splittable(42);
+    }
+
+    @Test
+    void test_evaluateInRange() {
+        boolean minSeen = false;
+        boolean maxSeen = false;
+        for (int i = 0; i < 10_000; i++) {
+            int result = dice.evaluate(random);
+            assertTrue(result >= 3 && result <= 18, "3d6 should evaluate to 3 to 18, got " + result);
+            minSeen |= result == 3;
+            maxSeen |= result == 18;
+        }
+        assertTrue(minSeen && maxSeen, "All results should be possible");
+    }
+
+    @Test
+    void test_negativeDice() {
+        for (int i = 0; i < 100; i++) {
+            int result = new Dice(-2, 4).evaluate(random);
+            assertTrue(result >= -8 && result <= -2, "Negative counts should negate the result");
+            result = new Dice(2, -4).evaluate(random);
+            assertTrue(result >= -8 && result <= -2, "Negative sides should negate the result");
+        }
+    }
+
+    @Test
+    void test_sameSourceSameRolls() {
+        DiceExpression sum = new DiceSum(dice, Dice.D20, new DiceConstant(5));
+        RandomSource other = RandomSource.splittable(42);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(sum.evaluate(random), sum.evaluate(other), "Rolls should only depend on the random source");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.tikelespike.nilee.core.dice;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomSourceTest {
+
+    private static final long SEED = 42;
+    private static final int SAMPLES = 60_000;
+
+    // CUT
+    private RandomSource random;
+
+    @BeforeEach
+    void setUp() {
+        random = RandomSource.splittable(SEED);
+    }
+
+    @Test
+    void test_boundedUniform() {
+        int[] counts = new int[6];
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[random.nextInt(6)]++;
+        }
+        for (int count : counts) {
+            assertTrue(Math.abs(count - SAMPLES / 6) < SAMPLES / 60, "Results should be uniformly distributed");
+        }
+        assertThrows(IllegalArgumentException.class, () -> random.nextInt(0));
+    }
+
+    @Test
+    void test_rejectsBiasedProducts() {
+        // with a bound of 3 * 2^29, products with a lower half below 2^30 are biased, so their bits have to be redrawn
+        int[] bits = {0, 3, Integer.MIN_VALUE + 1};
+        int[] next = {0};
+        RandomSource fixed = () -> bits[next[0]++];
+        int bound = 3 << 29;
+        assertEquals(Integer.toUnsignedLong(Integer.MIN_VALUE + 1) * bound >>> 32, fixed.nextInt(bound),
+                "Bits yielding biased results should be redrawn");
+        assertEquals(3, next[0]);
+    }
+
+    @Test
+    void test_reproducibleWithSeed() {
+        RandomSource other = RandomSource.splittable(SEED);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(random.nextInt(), other.nextInt(), "Sources with the same seed should yield the same bits");
+        }
+    }
+
+    @Test
+    void test_jdkAlgorithms() {
+        RandomSource lxm = RandomSource.of("L64X128MixRandom");
+        RandomSource generator = RandomSource.of(new SplittableRandom(SEED));
+        for (int i = 0; i < 1000; i++) {
+            int result = lxm.nextInt(20);
+            assertTrue(result >= 0 && result < 20);
+            result = generator.nextInt(20);
+            assertTrue(result >= 0 && result < 20);
+        }
+        assertThrows(IllegalArgumentException.class, () -> RandomSource.of("NoSuchAlgorithm"));
+    }
+
+    @Test
+    void test_bulkDiceUniform() {
+        int[] results = new int[SAMPLES];
+        random.rollDice(6, results);
+        int[] counts = new int[7];
+        for (int result : results) {
+            assertTrue(result >= 1 && result <= 6, "Dice should roll between 1 and their number of sides");
+            counts[result]++;
+        }
+        for (int side = 1; side <= 6; side++) {
+            assertTrue(Math.abs(counts[side] - SAMPLES / 6) < SAMPLES / 60, "Results should be uniformly distributed");
+        }
+        int sum = random.sumOfDice(1000, 100);
+        assertTrue(sum >= 1000 && sum <= 100_000);
+        assertTrue(Math.abs(sum - 50_500) < 5000, "Sum of 1000d100 should be close to its mean, got " + sum);
+        assertEquals(0, random.sumOfDice(0, 6));
+    }
+
+    @Test
+    void test_bulkRejectsBiasedWords() {
+        long[] words = {0, -1};
+        int[] next = {0};
+        RandomSource fixed = new RandomSource() {
+            @Override
+            public int nextInt() {
+                throw new AssertionError("Bulk rolls should draw 64 bits at once");
+            }
+
+            @Override
+            public long nextLong() {
+                return words[next[0]++];
+            }
+        };
+        // 0 * 6 leaves a lower half of 0, which is below 2^64 mod 6, so the word is redrawn
+        assertEquals(6, fixed.sumOfDice(1, 6), "Words yielding biased results should be redrawn");
+        assertEquals(2, next[0]);
+    }
+}
@@ -0,0 +1,117 @@
+package com.tikelespike.nilee.core.effects;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EffectClockTest {
+
+    // CUT
+    private RoundClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new RoundClock();
+    }
+
+    @Test
+    void test_runsOnDeadline() {
+        List<String> ran = new ArrayList<>();
+        clock.schedule(1, () -> ran.add("first"));
+        clock.schedule(3, () -> ran.add("third"));
+
+        clock.nextRound();
+        assertEquals(List.of("first"), ran);
+        clock.nextRound();
+        assertEquals(List.of("first"), ran, "Tasks should not run before their deadline");
+        clock.nextRound();
+        assertEquals(List.of("first", "third"), ran);
+        assertEquals(0, clock.getPendingCount());
+        assertThrows(IllegalArgumentException.class, () -> clock.schedule(0, () -> { }));
+    }
+
+    @Test
+    void test_cancel() {
+        List<String> ran = new ArrayList<>();
+        Timeout timeout = clock.schedule(2, () -> ran.add("cancelled"));
+        clock.schedule(2, () -> ran.add("kept"));
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel(), "Cancelling twice should have no effect");
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.isPending());
+        clock.advanceRounds(2);
+        assertEquals(List.of("kept"), ran, "Cancelled tasks should not run");
+    }
+
+    @Test
+    void test_distantDeadlinesCascade() {
+        // deadlines spread over all levels of the wheel and beyond
+        Random random = new Random(42);
+        long[] deadlines = new long[200];
+        long[] ranAt = new long[deadlines.length];
+        for (int i = 0; i < deadlines.length; i++) {
+            long ticks = 1 + (long) Math.pow(2, random.nextDouble() * 26);
+            int index = i;
+            deadlines[i] = clock.schedule(ticks, () -> ranAt[index] = clock.getTime()).getDeadline();
+        }
+
+        while (clock.getPendingCount() > 0) {
+            clock.advanceRounds(1 + random.nextInt(5000));
+        }
+        for (int i = 0; i < deadlines.length; i++) {
+            assertTrue(ranAt[i] >= deadlines[i], "Tasks should not run before their deadline");
+            assertTrue(ranAt[i] < deadlines[i] + 5000, "Tasks should run on the advance passing their deadline");
+        }
+    }
+
+    @Test
+    void test_exactTickAcrossLevels() {
+        long[] delays = {63, 64, 65, 4095, 4096, 4097, 262_143, 262_144, 262_145, 16_777_217};
+        clock.advanceRounds(17);
+        for (long delay : delays) {
+            long[] ranAt = {-1};
+            clock.schedule(delay, () -> ranAt[0] = clock.getRound());
+            long start = clock.getRound();
+            clock.advanceRounds(delay - 1);
+            assertEquals(-1, ranAt[0], "Task with delay " + delay + " should not run early");
+            clock.nextRound();
+            assertEquals(start + delay, ranAt[0], "Task with delay " + delay + " should run on its deadline");
+        }
+    }
+
+    @Test
+    void test_advanceSkipsIdleTicks() {
+        // visiting every tick would take far too long
+        long delay = 1L << 40;
+        long[] ranAt = {-1};
+        clock.schedule(delay, () -> ranAt[0] = clock.getRound());
+        clock.advanceRounds(delay - 1);
+        assertEquals(-1, ranAt[0], "Distant tasks should not run early");
+        assertEquals(delay - 1, clock.getRound());
+        clock.nextRound();
+        assertEquals(delay, ranAt[0], "Distant tasks should run on their deadline");
+    }
+
+    @Test
+    void test_wallClock() {
+        long[] now = {0};
+        WallClock wallClock = new WallClock(Duration.ofSeconds(1), () -> now[0], false);
+        List<String> ran = new ArrayList<>();
+        wallClock.schedule(Duration.ofMillis(1500), () -> ran.add("done"));
+
+        now[0] = 1_500_000_000L;
+        wallClock.poll();
+        assertTrue(ran.isEmpty(), "Delays should be rounded up to whole ticks");
+        now[0] = 2_000_000_000L;
+        wallClock.poll();
+        assertEquals(List.of("done"), ran);
+        assertEquals(2, wallClock.getTime());
+    }
+}
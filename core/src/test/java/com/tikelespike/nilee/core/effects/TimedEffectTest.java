@@ -0,0 +1,127 @@
+package com.tikelespike.nilee.core.effects;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.ModifierGroup;
+import com.tikelespike.nilee.core.property.convenience.AdditiveModifier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseProperty;
+import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimedEffectTest {
+
+    private static final int TEST_VALUE = 12;
+    private static final LocalizedString SOURCE = t -> "Bless";
+    // the clock is advanced by the test itself, which owns the properties
+    private static final Executor DIRECT = Runnable::run;
+
+    // CUT
+    private TimedEffect effect;
+
+    private RoundClock clock;
+    private ConstantBaseProperty armorClass;
+    private ModifierGroup group;
+
+    @BeforeEach
+    void setUp() {
+        clock = new RoundClock();
+        armorClass = new ConstantBaseProperty(TEST_VALUE, t -> "AC");
+        group = new ModifierGroup(SOURCE);
+        group.add(armorClass, new AdditiveModifier(2, SOURCE));
+        effect = TimedEffect.start(group, clock, 10, DIRECT);
+    }
+
+    @Test
+    void test_expires() {
+        assertTrue(effect.isActive());
+        assertEquals(TEST_VALUE + 2, armorClass.getValue(), "Started effects should be attached");
+
+        clock.advanceRounds(9);
+        assertEquals(TEST_VALUE + 2, armorClass.getValue(), "Effects should last their whole duration");
+        clock.nextRound();
+        assertFalse(effect.isActive());
+        assertFalse(group.isAttached());
+        assertEquals(TEST_VALUE, armorClass.getValue(), "Expired effects should be detached");
+    }
+
+    @Test
+    void test_endEarly() {
+        effect.end();
+        assertFalse(effect.isActive());
+        assertEquals(TEST_VALUE, armorClass.getValue(), "Ended effects should be detached");
+        assertEquals(0, clock.getPendingCount(), "Ending an effect should cancel its expiry");
+    }
+
+    @Test
+    void test_batchedExpiry() {
+        for (int i = 0; i < 5; i++) {
+            ModifierGroup other = new ModifierGroup(SOURCE);
+            other.add(armorClass, new AdditiveModifier(1, SOURCE));
+            TimedEffect.start(other, clock, 10, DIRECT);
+        }
+        List<ValueChangeEvent<Integer>> events = new ArrayList<>();
+        armorClass.addValueChangeListener(events::add);
+
+        clock.advanceRounds(10);
+        assertEquals(1, events.size(), "Effects expiring together should notify each property once");
+        assertEquals(TEST_VALUE, events.get(0).getNewValue());
+        assertTrue(armorClass.getModifiers().isEmpty(), "All expired modifiers should be removed");
+    }
+
+    @Test
+    void test_expiryHandedToOwner() throws Exception {
+        effect.end();
+        List<Runnable> mailbox = new ArrayList<>();
+        ModifierGroup owned = new ModifierGroup(SOURCE);
+        owned.add(armorClass, new AdditiveModifier(1, SOURCE));
+        TimedEffect ownedEffect = TimedEffect.start(owned, clock, 10, mailbox::add);
+        List<Thread> notifiedOn = new ArrayList<>();
+        armorClass.addValueChangeListener(event -> notifiedOn.add(Thread.currentThread()));
+
+        Thread gameMaster = new Thread(() -> clock.advanceRounds(10));
+        gameMaster.start();
+        gameMaster.join();
+        assertFalse(ownedEffect.isActive());
+        assertTrue(owned.isAttached(), "Expired effects should only be detached by their owner");
+        assertTrue(notifiedOn.isEmpty(), "Properties of other owners should not be changed on the advancing thread");
+        assertEquals(1, mailbox.size(), "Effects of an owner expiring together should be handed over in one task");
+
+        mailbox.get(0).run();
+        assertFalse(owned.isAttached());
+        assertEquals(TEST_VALUE, armorClass.getValue(), "The owner should detach the expired effect");
+        assertEquals(List.of(Thread.currentThread()), notifiedOn,
+                "Properties should be notified on the thread of the owner");
+    }
+
+    @Test
+    void test_attachedBeforeExpiryScheduled() {
+        effect.end();
+        // runs the expiry as soon as it is scheduled, like a wall clock ticking on its own thread right then
+        EffectClock immediate = new RoundClock() {
+            @Override
+            public Timeout schedule(long ticks, Runnable task) {
+                Timeout timeout = super.schedule(ticks, task);
+                task.run();
+                return timeout;
+            }
+        };
+        TimedEffect.start(group, immediate, 1, DIRECT);
+        assertFalse(group.isAttached(), "Expiries running right away should find the group attached");
+
+        EffectClock failing = new RoundClock() {
+            @Override
+            public Timeout schedule(long ticks, Runnable task) {
+                throw new IllegalStateException("Clock closed");
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> TimedEffect.start(group, failing, 1, DIRECT));
+        assertFalse(group.isAttached(), "Groups should be detached again if scheduling fails");
+        assertEquals(TEST_VALUE, armorClass.getValue());
+    }
+}
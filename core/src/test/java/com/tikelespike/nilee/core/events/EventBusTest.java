@@ -3,6 +3,19 @@ package com.tikelespike.nilee.core.events;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class EventBusTest {
@@ -90,11 +103,283 @@ class EventBusTest {
         assertFalse(success, "Unregistering should not have been successful because already unregistered");
     }
 
+    @Test
+    public void test_unsubscribeInBetween() {
+        List<Integer> calls = new ArrayList<>();
+        List<Registration> registrations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            int index = i;
+            registrations.add(bus.registerListener(Event.class, event -> calls.add(index)));
+        }
+        registrations.get(2).unregister();
+        registrations.get(0).unregister();
+        registrations.get(4).unregister();
+        bus.fireEvent(new Event());
+        assertEquals(calls, List.of(1, 3), "Only the remaining listeners should have been called");
+        assertTrue(registrations.get(1).isActive(), "Unregistering other listeners should not affect a registration");
+        assertFalse(registrations.get(2).isActive(), "Unregistered listener should not be active");
+        registrations.add(bus.registerListener(Event.class, event -> calls.add(5)));
+        bus.fireEvent(new Event());
+        assertEquals(calls, List.of(1, 3, 1, 3, 5), "New registration should not affect the remaining listeners");
+    }
+
+    @Test
+    public void test_registerAfterDispatch() {
+        bus.registerListener(Event.class, simpleListener);
+        bus.fireEvent(new TestEvent("test"));
+        bus.registerListener(TestEvent.class, messageListener);
+        bus.fireEvent(new TestEvent("test"));
+        assertEquals(simpleListener.getNumCalls(), 2, "Listener should have been called for both events");
+        assertEquals(messageListener.getNumCalls(), 1, "Listener registered after the first event should have been called once");
+    }
+
+    @Test
+    public void test_unsubscribeAfterDispatch() {
+        Registration registration = bus.registerListener(TestEvent.class, simpleListener);
+        bus.registerListener(Event.class, messageListener::onUntypedEvent);
+        bus.fireEvent(new TestEvent("test"));
+        registration.unregister();
+        bus.fireEvent(new TestEvent("test"));
+        bus.fireEvent(new Event());
+        assertEquals(simpleListener.getNumCalls(), 1, "Listener should not have been called after unregistering");
+        assertEquals(messageListener.getNumCalls(), 3, "Listener for the supertype should have received all events");
+    }
+
+    @Test
+    public void test_unsubscribeDuringDispatch() {
+        AtomicReference<Registration> selfRegistration = new AtomicReference<>();
+        AtomicInteger calls = new AtomicInteger();
+        selfRegistration.set(bus.registerListener(Event.class, event -> {
+            calls.incrementAndGet();
+            selfRegistration.get().unregister();
+        }));
+        bus.registerListener(Event.class, simpleListener);
+        bus.fireEvent(new Event());
+        bus.fireEvent(new Event());
+        assertEquals(calls.get(), 1, "Listener should have been called once before unregistering itself");
+        assertEquals(simpleListener.getNumCalls(), 2, "Other listeners should not be affected by the unregistration");
+    }
+
+    @Test
+    public void test_registerDuringDispatch() {
+        bus.registerListener(Event.class, event -> bus.registerListener(Event.class, simpleListener));
+        bus.fireEvent(new Event());
+        assertEquals(simpleListener.getNumCalls(), 0, "Listener registered during dispatch should not receive the event");
+        bus.fireEvent(new Event());
+        assertEquals(simpleListener.getNumCalls(), 1, "Listener registered during dispatch should receive later events");
+    }
+
+    @Test
+    public void test_concurrentRegistrationAndDispatch() throws Exception {
+        final int threads = 8;
+        final int iterations = 2000;
+        AtomicInteger stableCalls = new AtomicInteger();
+        AtomicInteger temporaryCalls = new AtomicInteger();
+        bus.registerListener(Event.class, event -> stableCalls.incrementAndGet());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < iterations; i++) {
+                    Registration registration = bus.registerListener(TestEvent.class, event -> temporaryCalls.incrementAndGet());
+                    bus.fireEvent(new TestEvent("test"));
+                    assertTrue(registration.unregister(), "Own registration should still have been active");
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS); // rethrows any exception thrown on the worker threads
+        }
+        executor.shutdown();
+
+        assertEquals(stableCalls.get(), threads * iterations, "Stable listener should have received every event");
+        int temporaryCallsBefore = temporaryCalls.get();
+        assertTrue(temporaryCallsBefore >= threads * iterations, "Each event should have reached its own temporary listener");
+        bus.fireEvent(new TestEvent("test"));
+        assertEquals(temporaryCalls.get(), temporaryCallsBefore, "All temporary listeners should have been removed");
+    }
+
+    @Test
+    public void test_asyncPerListenerOrder() throws Exception {
+        EventBus asyncBus = EventBus.asynchronous();
+        final int events = 1000;
+        List<String> first = Collections.synchronizedList(new ArrayList<>());
+        List<String> second = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(2 * events);
+        asyncBus.registerListener(TestEvent.class, (TestEvent event) -> {
+            first.add(event.getMessage());
+            done.countDown();
+        });
+        asyncBus.registerListener(TestEvent.class, (TestEvent event) -> {
+            second.add(event.getMessage());
+            done.countDown();
+        });
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < events; i++) {
+            expected.add(Integer.toString(i));
+            asyncBus.fireEvent(new TestEvent(Integer.toString(i)));
+        }
+        assertTrue(done.await(30, TimeUnit.SECONDS), "All events should have been delivered");
+        assertEquals(first, expected, "Events should be delivered to each listener in the order they were fired");
+        assertEquals(second, expected, "Events should be delivered to each listener in the order they were fired");
+    }
+
+    @Test
+    public void test_asyncFireDoesNotWaitForListeners() throws Exception {
+        EventBus asyncBus = EventBus.asynchronous();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        asyncBus.registerListener(Event.class, event -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.countDown();
+        });
+        asyncBus.fireEvent(new Event());
+        assertEquals(delivered.getCount(), 1, "Firing should return before the slow listener finished");
+        release.countDown();
+        assertTrue(delivered.await(30, TimeUnit.SECONDS), "Slow listener should eventually receive the event");
+    }
+
+    @Test
+    public void test_asyncBusSynchronousListener() {
+        EventBus asyncBus = EventBus.asynchronous();
+        asyncBus.registerListener(Event.class, new SimpleListener() {
+            @Override
+            public boolean isSynchronous() {
+                return true;
+            }
+
+            @Override
+            public void onEvent(Event event) {
+                simpleListener.onEvent(event);
+            }
+        });
+        asyncBus.fireEvent(new Event());
+        assertEquals(simpleListener.getNumCalls(), 1, "Synchronous listener should be called before fireEvent returns");
+    }
+
+    @Test
+    public void test_bufferedDropOldest() {
+        assertEquals(bufferedMessages(OverflowPolicy.DROP_OLDEST), List.of("3", "4"),
+                "Listener should receive the newest events");
+    }
+
+    @Test
+    public void test_bufferedDropNewest() {
+        assertEquals(bufferedMessages(OverflowPolicy.DROP_NEWEST), List.of("0", "1"),
+                "Listener should receive the oldest events");
+    }
+
+    @Test
+    public void test_bufferedLatest() {
+        assertEquals(bufferedMessages(OverflowPolicy.LATEST), List.of("4"), "Listener should receive the latest event");
+    }
+
+    @Test
+    public void test_bufferedOnSynchronousBus() throws InterruptedException {
+        CountDownLatch delivered = new CountDownLatch(1);
+        BufferedRegistration registration = bus.registerBufferedListener(Event.class, event -> delivered.countDown(),
+                1, OverflowPolicy.DROP_NEWEST);
+        bus.fireEvent(new Event());
+        assertTrue(delivered.await(30, TimeUnit.SECONDS), "Buffered listener on a synchronous bus should be called");
+        assertEquals(registration.getDroppedEventCount(), 0L, "No event should have been dropped");
+        assertTrue(registration.isActive(), "Buffered registration should be active");
+        assertTrue(registration.unregister(), "Buffered registration should be unregistered");
+    }
+
+    @Test
+    public void test_queuedEventsDiscardedAfterUnregister() {
+        Queue<Runnable> pendingTasks = new ArrayDeque<>();
+        EventBus asyncBus = new EventBus(pendingTasks::add);
+        List<String> messages = new ArrayList<>();
+        Registration registration = asyncBus.registerListener(TestEvent.class, event -> messages.add("async"));
+        BufferedRegistration buffered = asyncBus.registerBufferedListener(TestEvent.class,
+                event -> messages.add("buffered"), 4, OverflowPolicy.DROP_OLDEST);
+        for (int i = 0; i < 3; i++) {
+            asyncBus.fireEvent(new TestEvent(String.valueOf(i)));
+        }
+        registration.unregister();
+        buffered.unregister();
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.run();
+        }
+        assertTrue(messages.isEmpty(), "Events queued before unregistering should not be delivered afterwards");
+    }
+
+    @Test
+    public void test_bufferedInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bus.registerBufferedListener(Event.class, simpleListener, 0, OverflowPolicy.DROP_OLDEST));
+    }
+
+    /**
+     * Fires five events on an asynchronous bus to a listener buffering two events, before the listener gets to process
+     * any of them.
+     */
+    private List<String> bufferedMessages(OverflowPolicy overflowPolicy) {
+        Queue<Runnable> pendingTasks = new ArrayDeque<>();
+        EventBus asyncBus = new EventBus(pendingTasks::add);
+        List<String> messages = new ArrayList<>();
+        BufferedRegistration registration = asyncBus.registerBufferedListener(TestEvent.class,
+                event -> messages.add(event.getMessage()), 2, overflowPolicy);
+        for (int i = 0; i < 5; i++) {
+            asyncBus.fireEvent(new TestEvent(String.valueOf(i)));
+        }
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.run();
+        }
+        assertEquals(registration.getDroppedEventCount(), (long) (5 - messages.size()),
+                "All events not received should have been counted as dropped");
+        assertEquals(registration.getOverflowPolicy(), overflowPolicy);
+        return messages;
+    }
+
+    @Test
+    public void test_weakListenerReachable() {
+        Registration registration = bus.registerWeakListener(Event.class, simpleListener);
+        System.gc();
+        bus.fireEvent(new Event());
+        assertEquals(simpleListener.getNumCalls(), 1, "Weak listener should be called while it is strongly reachable");
+        assertTrue(registration.isActive(), "Registration of a reachable weak listener should stay active");
+    }
+
+    @Test
+    public void test_weakListenerCollected() throws InterruptedException {
+        AtomicInteger numCalls = new AtomicInteger();
+        Registration registration = bus.registerWeakListener(Event.class, new EventListener<>() {
+            @Override
+            public void onEvent(Event event) {
+                numCalls.incrementAndGet();
+            }
+        });
+        for (int i = 0; i < 100 && registration.isActive(); i++) {
+            System.gc();
+            Thread.sleep(10);
+            bus.fireEvent(new Event());
+        }
+        assertFalse(registration.isActive(), "Registration should become inactive once the listener was collected");
+        int callsBefore = numCalls.get();
+        bus.fireEvent(new Event());
+        assertEquals(numCalls.get(), callsBefore, "Collected listener should not be called anymore");
+    }
+
     @Test
     public void test_nullValues() {
         assertThrows(NullPointerException.class, () -> bus.registerListener(null, simpleListener));
         assertThrows(NullPointerException.class, () -> bus.registerListener(Event.class, null));
         assertThrows(NullPointerException.class, () -> bus.fireEvent(null));
+        assertThrows(NullPointerException.class, () -> new EventBus(null));
+        assertThrows(NullPointerException.class, () -> bus.registerWeakListener(Event.class, null));
     }
 
     private static class TestEvent extends Event {
@@ -119,6 +404,10 @@ class EventBusTest {
             lastMessage = event.getMessage();
         }
 
+        public void onUntypedEvent(Event event) {
+            numCalls++;
+        }
+
         public int getNumCalls() {
             return numCalls;
         }
@@ -0,0 +1,154 @@
+package com.tikelespike.nilee.core.events;
+
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseProperty;
+import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventPublisherTest {
+
+    private static final int TEST_VALUE = 42;
+
+    private EventBus bus;
+
+    // CUT
+    private EventPublisher<MessageEvent, String> publisher;
+
+    private CollectingSubscriber<String> subscriber;
+
+    @BeforeEach
+    void setUp() {
+        bus = new EventBus();
+        publisher = new EventPublisher<>(listener -> bus.registerListener(MessageEvent.class, listener),
+                MessageEvent::getMessage, null, 2, OverflowPolicy.DROP_OLDEST);
+        subscriber = new CollectingSubscriber<>();
+    }
+
+    @Test
+    void test_noItemsWithoutDemand() throws Exception {
+        Flow.Subscription subscription = subscribe();
+        bus.fireEvent(new MessageEvent("a"));
+        assertNull(subscriber.items.poll(100, TimeUnit.MILLISECONDS), "No item should be published without demand");
+        subscription.request(1);
+        assertEquals("a", subscriber.items.poll(30, TimeUnit.SECONDS), "Buffered item should be published on demand");
+    }
+
+    @Test
+    void test_bufferOverflow() throws Exception {
+        Flow.Subscription subscription = subscribe();
+        bus.fireEvent(new MessageEvent("a"));
+        bus.fireEvent(new MessageEvent("b"));
+        bus.fireEvent(new MessageEvent("c"));
+        subscription.request(Long.MAX_VALUE);
+        assertEquals("b", subscriber.items.poll(30, TimeUnit.SECONDS), "Oldest item should have been dropped");
+        assertEquals("c", subscriber.items.poll(30, TimeUnit.SECONDS));
+        bus.fireEvent(new MessageEvent("d"));
+        assertEquals("d", subscriber.items.poll(30, TimeUnit.SECONDS), "Items should be published with unbounded demand");
+    }
+
+    @Test
+    void test_cancel() throws Exception {
+        Flow.Subscription subscription = subscribe();
+        subscription.cancel();
+        subscription.request(1);
+        bus.fireEvent(new MessageEvent("a"));
+        assertNull(subscriber.items.poll(100, TimeUnit.MILLISECONDS), "No item should be published after cancelling");
+    }
+
+    @Test
+    void test_invalidRequest() throws Exception {
+        Flow.Subscription subscription = subscribe();
+        subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, subscriber.error.get(30, TimeUnit.SECONDS),
+                "Requesting a non-positive number of items should signal an error");
+    }
+
+    @Test
+    void test_propertyValuesConflated() throws Exception {
+        ConstantBaseProperty property = new ConstantBaseProperty(TEST_VALUE, t -> "Test property");
+        CollectingSubscriber<Integer> valueSubscriber = new CollectingSubscriber<>();
+        property.getValuePublisher().subscribe(valueSubscriber);
+        Flow.Subscription subscription = valueSubscriber.subscription.get(30, TimeUnit.SECONDS);
+        property.setDefaultBaseValue(TEST_VALUE + 1);
+        property.setDefaultBaseValue(TEST_VALUE + 2);
+        subscription.request(2);
+        assertEquals(TEST_VALUE + 2, valueSubscriber.items.poll(30, TimeUnit.SECONDS),
+                "Only the latest value should be published");
+        property.setDefaultBaseValue(TEST_VALUE + 3);
+        assertEquals(TEST_VALUE + 3, valueSubscriber.items.poll(30, TimeUnit.SECONDS),
+                "Value should be published immediately with outstanding demand");
+    }
+
+    @Test
+    void test_changeWhileSubscribing() throws Exception {
+        ConstantBaseProperty property = new ConstantBaseProperty(TEST_VALUE, t -> "Test property");
+        // the value changes after subscribing started, but before the listener is registered
+        EventPublisher<ValueChangeEvent<Integer>, Integer> valuePublisher = new EventPublisher<>(listener -> {
+            property.setDefaultBaseValue(TEST_VALUE + 1);
+            return property.addValueChangeListener(listener);
+        }, ValueChangeEvent::getNewValue, property::getValue, 1, OverflowPolicy.LATEST);
+        CollectingSubscriber<Integer> valueSubscriber = new CollectingSubscriber<>();
+        valuePublisher.subscribe(valueSubscriber);
+        valueSubscriber.subscription.get(30, TimeUnit.SECONDS).request(1);
+        assertEquals(TEST_VALUE + 1, valueSubscriber.items.poll(30, TimeUnit.SECONDS),
+                "Changes made while subscribing should not be missed");
+    }
+
+    @Test
+    void test_nullValues() {
+        assertThrows(NullPointerException.class, () -> publisher.subscribe(null));
+        assertThrows(IllegalArgumentException.class, () -> new EventPublisher<MessageEvent, String>(
+                listener -> bus.registerListener(MessageEvent.class, listener), MessageEvent::getMessage, null, 0,
+                OverflowPolicy.LATEST));
+    }
+
+    private Flow.Subscription subscribe() throws Exception {
+        publisher.subscribe(subscriber);
+        return subscriber.subscription.get(30, TimeUnit.SECONDS);
+    }
+
+    private static class MessageEvent extends Event {
+        private final String message;
+
+        MessageEvent(String message) {
+            this.message = message;
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+
+    private static class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+        private final CompletableFuture<Flow.Subscription> subscription = new CompletableFuture<>();
+        private final CompletableFuture<Throwable> error = new CompletableFuture<>();
+        private final BlockingQueue<T> items = new LinkedBlockingQueue<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription.complete(subscription);
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error.complete(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.tikelespike.nilee.core.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitedEventListenerTest {
+
+    private static final Duration WINDOW = Duration.ofMillis(300);
+
+    private EventBus bus;
+
+    private BlockingQueue<String> received;
+
+    @BeforeEach
+    void setUp() {
+        bus = new EventBus();
+        received = new LinkedBlockingQueue<>();
+    }
+
+    @Test
+    void test_debounceDeliversLastEvent() throws InterruptedException {
+        bus.registerListener(MessageEvent.class,
+                new DebouncedEventListener<MessageEvent>(event -> received.add(event.getMessage()), WINDOW));
+        for (int i = 0; i < 5; i++) {
+            bus.fireEvent(new MessageEvent(String.valueOf(i)));
+        }
+        assertTrue(received.isEmpty(), "Debounced listener should not be called during a burst");
+        assertEquals("4", received.poll(30, TimeUnit.SECONDS), "Last event of the burst should be delivered");
+        assertNull(received.poll(WINDOW.toMillis() * 2, TimeUnit.MILLISECONDS),
+                "Only one event should be delivered per burst");
+
+        bus.fireEvent(new MessageEvent("5"));
+        assertEquals("5", received.poll(30, TimeUnit.SECONDS), "Next burst should be delivered as well");
+    }
+
+    @Test
+    void test_throttleDeliversFirstAndLastEvent() throws InterruptedException {
+        bus.registerListener(MessageEvent.class,
+                new ThrottledEventListener<MessageEvent>(event -> received.add(event.getMessage()), WINDOW));
+        for (int i = 0; i < 5; i++) {
+            bus.fireEvent(new MessageEvent(String.valueOf(i)));
+        }
+        assertEquals("0", received.poll(), "First event should be delivered immediately");
+        assertEquals("4", received.poll(30, TimeUnit.SECONDS), "Last event should be delivered after the interval");
+        assertNull(received.poll(WINDOW.toMillis() * 2, TimeUnit.MILLISECONDS),
+                "Events in between should have been coalesced");
+    }
+
+    @Test
+    void test_throttleDoesNotOverlapSlowListener() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        bus.registerListener(MessageEvent.class, new ThrottledEventListener<MessageEvent>(event -> {
+            if (active.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            if (event.getMessage().equals("0")) {
+                started.countDown();
+                awaitQuietly(release);
+            }
+            received.add(event.getMessage());
+            active.decrementAndGet();
+        }, WINDOW));
+        Thread firing = new Thread(() -> bus.fireEvent(new MessageEvent("0")));
+        firing.start();
+        assertTrue(started.await(30, TimeUnit.SECONDS));
+        bus.fireEvent(new MessageEvent("1"));
+        bus.fireEvent(new MessageEvent("2"));
+        assertNull(received.poll(WINDOW.toMillis() * 2, TimeUnit.MILLISECONDS),
+                "Coalesced events should not be delivered while the listener is still running");
+        release.countDown();
+
+        assertEquals("0", received.poll(30, TimeUnit.SECONDS), "Events should be delivered in order");
+        assertEquals("2", received.poll(30, TimeUnit.SECONDS), "Last event should be delivered after the interval");
+        assertFalse(overlapped.get(), "Calls of the decorated listener should not overlap");
+        firing.join();
+    }
+
+    @Test
+    void test_nullValues() {
+        assertThrows(NullPointerException.class, () -> new DebouncedEventListener<MessageEvent>(null, WINDOW));
+        assertThrows(NullPointerException.class, () -> new DebouncedEventListener<MessageEvent>(e -> { }, null));
+        assertThrows(NullPointerException.class, () -> new ThrottledEventListener<MessageEvent>(null, WINDOW));
+        assertThrows(NullPointerException.class, () -> new ThrottledEventListener<MessageEvent>(e -> { }, null));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MessageEvent extends Event {
+        private final String message;
+
+        MessageEvent(String message) {
+            this.message = message;
+        }
+
+        String getMessage() {
+            return message;
+        }
+    }
+}
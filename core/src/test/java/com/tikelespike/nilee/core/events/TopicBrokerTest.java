@@ -0,0 +1,122 @@
+package com.tikelespike.nilee.core.events;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TopicBrokerTest {
+
+    private static final Topic USER_ROLLS = Topic.of("users", "42", "rolls");
+    private static final Topic CHARACTER_ROLLS = Topic.of("users", "42", "characters", "7", "rolls");
+    private static final Topic OTHER_USER_ROLLS = Topic.of("users", "43", "rolls");
+
+    // CUT
+    private TopicBroker broker;
+
+    private List<Topic> received;
+
+    @BeforeEach
+    void setUp() {
+        broker = new TopicBroker();
+        received = new ArrayList<>();
+    }
+
+    @Test
+    void test_exactTopic() {
+        subscribe(USER_ROLLS);
+        publishAll();
+        assertEquals(received, List.of(USER_ROLLS), "Only events of the exact topic should be received");
+    }
+
+    @Test
+    void test_wildcard() {
+        subscribe(Topic.parse("users/+/rolls"));
+        publishAll();
+        assertEquals(received, List.of(USER_ROLLS, OTHER_USER_ROLLS), "Wildcard should match a single segment");
+    }
+
+    @Test
+    void test_multiLevelWildcard() {
+        subscribe(Topic.parse("users/42/#"));
+        publishAll();
+        assertEquals(received, List.of(USER_ROLLS, CHARACTER_ROLLS), "Multi-level wildcard should match all sub-topics");
+
+        received.clear();
+        broker.publish(Topic.of("users", "42"), new TestEvent(Topic.of("users", "42")));
+        assertEquals(received.size(), 1, "Multi-level wildcard should match the parent topic");
+    }
+
+    @Test
+    void test_rootWildcard() {
+        subscribe(Topic.of(Topic.MULTI_LEVEL_WILDCARD));
+        publishAll();
+        assertEquals(received.size(), 3, "Multi-level wildcard at the root should match all topics");
+    }
+
+    @Test
+    void test_eventTypeFilter() {
+        broker.subscribe(Topic.parse("users/#"), TestEvent.class, event -> received.add(event.topic));
+        broker.publish(USER_ROLLS, new Event());
+        assertTrue(received.isEmpty(), "Events of other types should not be received");
+    }
+
+    @Test
+    void test_unsubscribe() {
+        Registration registration = subscribe(USER_ROLLS);
+        registration.unregister();
+        publishAll();
+        assertTrue(received.isEmpty(), "Unsubscribed listener should not receive events");
+    }
+
+    @Test
+    void test_emptyNodesPruned() {
+        Registration userRolls = subscribe(USER_ROLLS);
+        Registration characterRolls = subscribe(CHARACTER_ROLLS);
+        BufferedRegistration otherRolls = broker.subscribeBuffered(OTHER_USER_ROLLS, TestEvent.class,
+                event -> received.add(event.topic), 1, OverflowPolicy.LATEST);
+        assertEquals(9, broker.size());
+
+        characterRolls.unregister();
+        assertEquals(6, broker.size(), "Nodes without listeners or children should be removed");
+        otherRolls.unregister();
+        assertEquals(4, broker.size(), "Nodes of buffered registrations should be removed");
+        userRolls.unregister();
+        assertEquals(1, broker.size(), "Only the root should remain without subscriptions");
+
+        subscribe(USER_ROLLS);
+        publishAll();
+        assertEquals(List.of(USER_ROLLS), received, "Subscribing again should recreate pruned nodes");
+    }
+
+    @Test
+    void test_invalidTopics() {
+        assertThrows(IllegalArgumentException.class, () -> broker.publish(Topic.parse("users/+"), new Event()));
+        assertThrows(IllegalArgumentException.class, () -> Topic.parse("users/#/rolls"));
+        assertThrows(IllegalArgumentException.class, () -> Topic.parse("users//rolls"));
+        assertThrows(IllegalArgumentException.class, () -> Topic.of("users/42"));
+        assertEquals(Topic.parse("users/42/rolls"), USER_ROLLS, "Parsed topic should equal the constructed topic");
+        assertEquals(USER_ROLLS.toString(), "users/42/rolls");
+    }
+
+    private Registration subscribe(Topic filter) {
+        return broker.subscribe(filter, TestEvent.class, event -> received.add(event.topic));
+    }
+
+    private void publishAll() {
+        for (Topic topic : List.of(USER_ROLLS, CHARACTER_ROLLS, OTHER_USER_ROLLS)) {
+            broker.publish(topic, new TestEvent(topic));
+        }
+    }
+
+    private static class TestEvent extends Event {
+        private final Topic topic;
+
+        TestEvent(Topic topic) {
+            this.topic = topic;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.character.stats.ArmorClass;
+import com.tikelespike.nilee.core.character.stats.ability.AbilityScore;
+import com.tikelespike.nilee.core.character.stats.hitpoints.HitPointMax;
+import com.tikelespike.nilee.core.property.convenience.AdditiveModifier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntEvaluationPlanTest {
+
+    private static final int TEST_VALUE = 14;
+
+    // CUT
+    private IntEvaluationPlan plan;
+
+    private AbilityScore dexterity;
+    private AbilityScore constitution;
+    private ArmorClass armorClass;
+    private HitPointMax hitPointMax;
+
+    @BeforeEach
+    void setUp() {
+        dexterity = new AbilityScore(TEST_VALUE, t -> "Dexterity", t -> "DEX");
+        constitution = new AbilityScore(TEST_VALUE, t -> "Constitution", t -> "CON");
+        armorClass = new ArmorClass(dexterity);
+        hitPointMax = new HitPointMax(constitution);
+        plan = IntEvaluationPlan.compile(List.of(armorClass, hitPointMax));
+    }
+
+    @Test
+    void test_sourcesIncluded() {
+        // armor class, dexterity, hit point max, its base property and constitution
+        assertEquals(5, plan.size(), "Sources of derived suppliers should be part of the plan");
+        assertTrue(plan.slotOf(dexterity) >= 0);
+        assertTrue(plan.slotOf(dexterity) < plan.slotOf(armorClass), "Sources should be evaluated first");
+        assertEquals(-1, plan.slotOf(new IntProperty(new ConstantBaseValue(0, t -> "Other"))));
+    }
+
+    @Test
+    void test_valuesMatchProperties() {
+        armorClass.addModifier(new AdditiveModifier(2, t -> "Shield"));
+        armorClass.addBaseValueSupplier(new ConstantBaseValue(TEST_VALUE, t -> "Armor"));
+        plan = IntEvaluationPlan.compile(List.of(armorClass, hitPointMax));
+        plan.evaluate();
+        assertEquals(armorClass.getIntValue(), plan.getValue(plan.slotOf(armorClass)));
+        assertEquals(hitPointMax.getValue(), plan.getValue(plan.slotOf(hitPointMax)));
+
+        dexterity.setDefaultBaseValue(TEST_VALUE + 10);
+        constitution.setDefaultBaseValue(TEST_VALUE + 4);
+        plan.evaluate();
+        assertEquals(armorClass.getIntValue(), plan.getValue(plan.slotOf(armorClass)),
+                "Evaluating should use the current values");
+        assertEquals(hitPointMax.getValue(), plan.getValue(plan.slotOf(hitPointMax)),
+                "Evaluating should use the current values");
+    }
+
+    @Test
+    void test_outdatedOnStructuralChange() {
+        dexterity.setDefaultBaseValue(TEST_VALUE + 2);
+        new IntProperty(new ConstantBaseValue(0, t -> "Other")).addModifier(new AdditiveModifier(1, t -> "Other"));
+        assertFalse(plan.isOutdated(), "Value changes and changes of other properties should not outdate plans");
+
+        hitPointMax.setOverride(TEST_VALUE);
+        assertTrue(plan.isOutdated(), "Adding modifiers should outdate plans");
+        plan = IntEvaluationPlan.compile(List.of(armorClass, hitPointMax));
+        plan.evaluate();
+        assertEquals(TEST_VALUE, plan.getValue(plan.slotOf(hitPointMax)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.character.stats.ArmorClass;
+import com.tikelespike.nilee.core.character.stats.ability.AbilityScore;
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.convenience.AdditiveModifier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseValue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntPropertyEvaluatorTest {
+
+    private static final int TEST_VALUE = 14;
+
+    // CUT
+    private IntPropertyEvaluator evaluator;
+
+    private AbilityScore dexterity;
+    private ArmorClass armorClass;
+    private IntProperty counted;
+    private int supplied;
+
+    @BeforeEach
+    void setUp() {
+        dexterity = new AbilityScore(TEST_VALUE, t -> "Dexterity", t -> "DEX");
+        armorClass = new ArmorClass(dexterity);
+        supplied = 0;
+        counted = new IntProperty(new ConstantBaseValue(TEST_VALUE, t -> "Counted") {
+            @Override
+            public int getIntBaseValue() {
+                supplied++;
+                return super.getIntBaseValue();
+            }
+        });
+        evaluator = new IntPropertyEvaluator(List.of(armorClass, counted));
+    }
+
+    @Test
+    void test_valuesCachedTogether() {
+        int expectedAC = armorClass.getIntValue();
+        assertEquals(1, supplied, "Reading one property should evaluate all properties of the plan");
+        assertEquals(TEST_VALUE, counted.getIntValue());
+        assertEquals(1, supplied, "Values calculated by the plan should be cached");
+
+        armorClass.addModifier(new AdditiveModifier(2, t -> "Shield"));
+        assertEquals(expectedAC + 2, armorClass.getIntValue(), "Fused modifiers should be applied");
+        dexterity.setDefaultBaseValue(TEST_VALUE + 4);
+        assertEquals(expectedAC + 4, armorClass.getIntValue(), "Changed sources should be calculated again");
+    }
+
+    @Test
+    void test_recompiledOnStructuralChange() {
+        IntEvaluationPlan compiled = evaluator.getPlan();
+        armorClass.addBaseValueSupplier(new ConstantBaseValue(TEST_VALUE + 10, t -> "Armor"));
+        assertEquals(TEST_VALUE + 10, armorClass.getIntValue(), "New suppliers should be used");
+        assertNotSame(compiled, evaluator.getPlan(), "Plan should be compiled again after structural changes");
+
+        IntProperty source = new IntProperty(new ConstantBaseValue(TEST_VALUE, t -> "Source"));
+        counted.addBaseValueSupplier(new DerivedIntBaseSupplier(source) {
+            @Override
+            public int derive(int sourceValue) {
+                return sourceValue * 2;
+            }
+
+            @Override
+            public LocalizedString getAbstractDescription() {
+                return t -> "Twice the source";
+            }
+
+            @Override
+            public LocalizedString getSourceName() {
+                return t -> "Derived";
+            }
+        });
+        assertEquals(TEST_VALUE, counted.getIntValue());
+        assertTrue(evaluator.getPlan().slotOf(source) >= 0, "New sources should become part of the plan");
+        assertEquals(TEST_VALUE, source.getIntValue());
+    }
+
+    @Test
+    void test_failingPropertyOnlyFailsItself() {
+        IntProperty empty = new IntProperty() {
+        };
+        new IntPropertyEvaluator(List.of(armorClass, empty));
+        assertDoesNotThrow(armorClass::getIntValue, "Other properties should still be calculated");
+        assertThrows(IllegalStateException.class, empty::getIntValue);
+    }
+}
@@ -0,0 +1,291 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.events.EventStoreListener;
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.convenience.AdditiveModifier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseValue;
+import com.tikelespike.nilee.core.property.convenience.IntMaxValueSelector;
+import com.tikelespike.nilee.core.property.convenience.ManualOverrideModifier;
+import com.tikelespike.nilee.core.property.convenience.MaxValueSelector;
+import com.tikelespike.nilee.core.property.convenience.MultiplicativeModifier;
+import com.tikelespike.nilee.core.property.events.IntValueChangeEvent;
+import com.tikelespike.nilee.core.property.events.PropertyTransaction;
+import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntPropertyTest {
+
+    private static final int TEST_VALUE = 42;
+
+    // CUT
+    private IntProperty property;
+
+    private ConstantBaseValue base;
+
+    @BeforeEach
+    void setUp() {
+        base = new ConstantBaseValue(TEST_VALUE, t -> "Test base");
+        property = new IntProperty(base);
+    }
+
+    @Test
+    void test_intModifiers() {
+        property.addModifier(new AdditiveModifier(1, t -> "Add 1 mod"));
+        property.addModifier(new MultiplicativeModifier(2, t -> "Mul 2 mod"));
+        assertEquals((TEST_VALUE + 1) * 2, property.getIntValue());
+        assertEquals((TEST_VALUE + 1) * 2, property.getValue(), "Boxed value should equal the int value");
+    }
+
+    @Test
+    void test_intSelector() {
+        property.setBaseValueSelector(new IntMaxValueSelector());
+        property.addBaseValueSupplier(new ConstantBaseValue(TEST_VALUE + 1, t -> "Test base 2"));
+        property.addBaseValueSupplier(new ConstantBaseValue(TEST_VALUE - 1, t -> "Test base 3"));
+        assertEquals(TEST_VALUE + 1, property.getIntBaseValue());
+        assertEquals(TEST_VALUE + 1, property.getIntValue());
+    }
+
+    @Test
+    void test_genericComponents() {
+        property.setBaseValueSelector(new MaxValueSelector<>());
+        property.addBaseValueSupplier(new BoxedBaseValue(TEST_VALUE + 1));
+        assertEquals(TEST_VALUE + 1, property.getIntValue(), "Generic selectors and suppliers should be supported");
+        property.addModifier(new ManualOverrideModifier<>(TEST_VALUE - 1));
+        assertEquals(TEST_VALUE - 1, property.getIntValue(), "Generic modifiers should be supported");
+    }
+
+    @Test
+    void test_nullValue() {
+        assertThrows(IllegalStateException.class, () -> {
+            property.addModifier(new ManualOverrideModifier<>(null));
+            property.getIntValue();
+        }, "Int properties should reject null values");
+    }
+
+    @Test
+    void test_affineModifiersAroundBarrier() {
+        AdditiveModifier add = new AdditiveModifier(1, t -> "Add 1 mod");
+        MultiplicativeModifier mul = new MultiplicativeModifier(3, t -> "Mul 3 mod");
+        property.addModifier(add);
+        property.addModifier(mul);
+        property.addModifier(new HalvingModifier());
+        property.addModifier(new AdditiveModifier(-2, t -> "Sub 2 mod"));
+        property.addModifier(new MultiplicativeModifier(2, t -> "Mul 2 mod"));
+        assertEquals(((TEST_VALUE + 1) * 3 / 2 - 2) * 2, property.getIntValue());
+        add.setBonus(2);
+        assertEquals(((TEST_VALUE + 2) * 3 / 2 - 2) * 2, property.getIntValue(),
+                "Changes of fused modifiers should be reflected in the value");
+        property.removeModifier(mul);
+        assertEquals(((TEST_VALUE + 2) / 2 - 2) * 2, property.getIntValue(),
+                "Removing fused modifiers should be reflected in the value");
+    }
+
+    @Test
+    void test_affineModifierChangedInTransaction() {
+        AdditiveModifier add = new AdditiveModifier(1, t -> "Add 1 mod");
+        property.addModifier(add);
+        property.addModifier(new MultiplicativeModifier(2, t -> "Mul 2 mod"));
+        assertEquals((TEST_VALUE + 1) * 2, property.getIntValue());
+        PropertyTransaction.run(() -> {
+            add.setBonus(2);
+            assertEquals((TEST_VALUE + 2) * 2, property.getIntValue(), "Values should be up-to-date in a transaction");
+        });
+        assertEquals((TEST_VALUE + 2) * 2, property.getIntValue());
+    }
+
+    @Test
+    void test_affineModifiersOverflow() {
+        base.setBaseValue(Integer.MAX_VALUE / 2);
+        property.addModifier(new MultiplicativeModifier(4, t -> "Mul 4 mod"));
+        property.addModifier(new AdditiveModifier(7, t -> "Add 7 mod"));
+        property.addModifier(new MultiplicativeModifier(-3, t -> "Mul -3 mod"));
+        assertEquals(((Integer.MAX_VALUE / 2) * 4 + 7) * -3, property.getIntValue(),
+                "Fused modifiers should overflow like modifiers applied one by one");
+    }
+
+    @Test
+    void test_intValueChangeEvent() {
+        EventStoreListener<ValueChangeEvent<Integer>> listener = new EventStoreListener<>();
+        property.addValueChangeListener(listener);
+        base.setBaseValue(TEST_VALUE + 1);
+        base.setBaseValue(TEST_VALUE + 2);
+        ValueChangeEvent<Integer> event = listener.getLatestEvent();
+        IntValueChangeEvent intEvent = assertInstanceOf(IntValueChangeEvent.class, event,
+                "Int properties should fire int value change events");
+        assertEquals(TEST_VALUE + 1, intEvent.getOldIntValue());
+        assertEquals(TEST_VALUE + 2, intEvent.getNewIntValue());
+        assertEquals(TEST_VALUE + 1, event.getOldValue(), "Boxed old value should equal the int value");
+        assertEquals(TEST_VALUE + 2, event.getNewValue(), "Boxed new value should equal the int value");
+    }
+
+    @Test
+    void test_noBaseValueSupplier() {
+        property.removeBaseValueSupplier(base);
+        assertThrows(IllegalStateException.class, () -> property.getIntValue());
+    }
+
+    @Test
+    void test_incrementalMaxSelection() {
+        property.setBaseValueSelector(new IntMaxValueSelector());
+        List<ConstantBaseValue> suppliers = new ArrayList<>(List.of(base));
+        for (int i = 0; i < 20; i++) {
+            ConstantBaseValue supplier = new ConstantBaseValue(i * 7 % 13, t -> "Test base");
+            suppliers.add(supplier);
+            property.addBaseValueSupplier(supplier);
+        }
+        assertEquals(TEST_VALUE, property.getIntBaseValue());
+
+        Random random = new Random(TEST_VALUE);
+        for (int i = 0; i < 200; i++) {
+            suppliers.get(random.nextInt(suppliers.size())).setBaseValue(random.nextInt(100) - 50);
+            int expected = suppliers.stream().mapToInt(ConstantBaseValue::getIntBaseValue).max().orElseThrow();
+            assertEquals(expected, property.getIntBaseValue(), "The highest value should be selected after changes");
+        }
+
+        ConstantBaseValue removed = suppliers.remove(0);
+        property.removeBaseValueSupplier(removed);
+        int expected = suppliers.stream().mapToInt(ConstantBaseValue::getIntBaseValue).max().orElseThrow();
+        assertEquals(expected, property.getIntBaseValue(), "Removed suppliers should no longer be selected");
+    }
+
+    @Test
+    void test_incrementalSelectionReadsChangedOnly() {
+        property.setBaseValueSelector(new IntMaxValueSelector());
+        CountingIntBaseValue first = new CountingIntBaseValue(TEST_VALUE + 1);
+        CountingIntBaseValue second = new CountingIntBaseValue(TEST_VALUE + 2);
+        property.addBaseValueSupplier(first);
+        property.addBaseValueSupplier(second);
+        assertEquals(TEST_VALUE + 2, property.getIntValue());
+
+        first.setValue(TEST_VALUE + 3);
+        assertEquals(TEST_VALUE + 3, property.getIntValue());
+        assertEquals(2, first.calls, "Changed suppliers should be read again");
+        assertEquals(1, second.calls, "Unchanged suppliers should not be read again");
+    }
+
+    @Test
+    void test_concurrentReaders() throws Exception {
+        final int changes = 20_000;
+        AdditiveModifier modifier = new AdditiveModifier(1, t -> "Add 1 mod");
+        property.addModifier(new MultiplicativeModifier(2, t -> "Mul 2 mod"));
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            readers.add(executor.submit(() -> {
+                while (!done.get()) {
+                    int value = property.getIntValue();
+                    assertTrue(value >= 0 && value <= 2 * changes + 1,
+                            "Readers should only see values the property had");
+                }
+                return null;
+            }));
+        }
+        try {
+            for (int i = 1; i <= changes; i++) {
+                base.setBaseValue(i);
+                // adding and removing modifiers replaces the fused chain while readers may be building it
+                if (i % 2 == 0) {
+                    property.addModifier(modifier);
+                } else {
+                    property.removeModifier(modifier);
+                }
+                assertEquals(2 * i + (i % 2 == 0 ? 1 : 0), property.getIntValue(),
+                        "Values calculated by readers should never outlive a change");
+            }
+        } finally {
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS); // rethrows any exception thrown on the reader threads
+            }
+            executor.shutdown();
+        }
+    }
+
+    private static class BoxedBaseValue extends PropertyBaseSupplier<Integer> {
+        private final Integer value;
+
+        BoxedBaseValue(Integer value) {
+            this.value = value;
+        }
+
+        @Override
+        public Integer getBaseValue() {
+            return value;
+        }
+
+        @Override
+        public LocalizedString getAbstractDescription() {
+            return t -> String.valueOf(value);
+        }
+
+        @Override
+        public LocalizedString getSourceName() {
+            return t -> "Boxed base";
+        }
+    }
+
+    private static class HalvingModifier extends IntPropertyModifier {
+        @Override
+        public int applyAsInt(int value) {
+            return value / 2;
+        }
+
+        @Override
+        public LocalizedString getAbstractDescription() {
+            return t -> "/ 2";
+        }
+
+        @Override
+        public LocalizedString getConcreteDescription() {
+            return getAbstractDescription();
+        }
+
+        @Override
+        public LocalizedString getSourceName() {
+            return t -> "Halving";
+        }
+    }
+
+    private static class CountingIntBaseValue extends IntPropertyBaseSupplier {
+        private int value;
+        private int calls;
+
+        CountingIntBaseValue(int value) {
+            this.value = value;
+        }
+
+        void setValue(int value) {
+            this.value = value;
+            update();
+        }
+
+        @Override
+        public int getIntBaseValue() {
+            calls++;
+            return value;
+        }
+
+        @Override
+        public LocalizedString getAbstractDescription() {
+            return t -> String.valueOf(value);
+        }
+
+        @Override
+        public LocalizedString getSourceName() {
+            return t -> "Counting base";
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.convenience.AdditiveModifier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseProperty;
+import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModifierGroupRegistryTest {
+
+    private static final int TEST_VALUE = 42;
+    private static final LocalizedString ARMOR_NAME = t -> "Magic armor";
+    private static final LocalizedString RING_NAME = t -> "Ring of protection";
+
+    // CUT
+    private ModifierGroupRegistry registry;
+
+    private ConstantBaseProperty armorClass;
+    private ConstantBaseProperty stealth;
+    private Object armor;
+    private Object ring;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ModifierGroupRegistry();
+        armorClass = new ConstantBaseProperty(TEST_VALUE, t -> "AC");
+        stealth = new ConstantBaseProperty(TEST_VALUE, t -> "Stealth");
+        armor = new Object();
+        ring = new Object();
+
+        ModifierGroup armorGroup = registry.groupOf(armor, ARMOR_NAME);
+        armorGroup.add(armorClass, new AdditiveModifier(2, ARMOR_NAME));
+        armorGroup.add(stealth, new AdditiveModifier(-1, ARMOR_NAME));
+        armorGroup.attach();
+        ModifierGroup ringGroup = registry.groupOf(ring, RING_NAME);
+        ringGroup.add(armorClass, new AdditiveModifier(1, RING_NAME));
+        ringGroup.attach();
+    }
+
+    @Test
+    void test_groupPerSource() {
+        assertSame(registry.groupOf(armor, ARMOR_NAME), registry.getGroup(armor).orElseThrow(),
+                "Each source should have a single group");
+        assertEquals(Set.of(armor, ring), registry.getSources());
+        assertTrue(registry.getGroup(new Object()).isEmpty());
+        assertEquals(TEST_VALUE + 3, armorClass.getValue());
+    }
+
+    @Test
+    void test_detachSource() {
+        assertTrue(registry.detachSource(armor));
+        assertEquals(TEST_VALUE + 1, armorClass.getValue(), "Only the modifiers of the source should be removed");
+        assertEquals(TEST_VALUE, stealth.getValue(), "All modifiers of the source should be removed");
+        assertEquals(Set.of(ring), registry.getSources(), "Detached sources should be removed from the registry");
+        assertFalse(registry.detachSource(armor), "Sources should only be detached once");
+    }
+
+    @Test
+    void test_detachSourcesNotifiedOnce() {
+        List<ValueChangeEvent<Integer>> events = new ArrayList<>();
+        armorClass.addValueChangeListener(events::add);
+        registry.detachSources(List.of(armor, ring, new Object()));
+        assertEquals(1, events.size(), "Properties affected by multiple sources should be notified once");
+        assertEquals(TEST_VALUE, events.get(0).getNewValue());
+        assertTrue(registry.getSources().isEmpty());
+    }
+
+    @Test
+    void test_nullParameters() {
+        assertThrows(NullPointerException.class, () -> registry.groupOf(null, ARMOR_NAME));
+        assertThrows(NullPointerException.class, () -> registry.groupOf(armor, null));
+        assertThrows(NullPointerException.class, () -> registry.detachSource(null));
+        assertThrows(NullPointerException.class, () -> registry.detachSources(null));
+    }
+}
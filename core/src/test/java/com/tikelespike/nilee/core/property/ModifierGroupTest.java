@@ -0,0 +1,126 @@
+package com.tikelespike.nilee.core.property;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.convenience.AdditiveModifier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseProperty;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseValue;
+import com.tikelespike.nilee.core.property.convenience.MultiplicativeModifier;
+import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModifierGroupTest {
+
+    private static final int TEST_VALUE = 42;
+    private static final LocalizedString SOURCE = t -> "Magic armor";
+
+    // CUT
+    private ModifierGroup group;
+
+    private ConstantBaseProperty armorClass;
+    private ConstantBaseProperty stealth;
+
+    @BeforeEach
+    void setUp() {
+        armorClass = new ConstantBaseProperty(TEST_VALUE, t -> "AC");
+        stealth = new ConstantBaseProperty(TEST_VALUE, t -> "Stealth");
+        group = new ModifierGroup(SOURCE);
+        group.add(armorClass, new AdditiveModifier(2, SOURCE));
+        group.add(armorClass, new MultiplicativeModifier(2, SOURCE));
+        group.add(stealth, new AdditiveModifier(-1, SOURCE));
+    }
+
+    @Test
+    void test_attachAndDetach() {
+        assertFalse(group.isAttached());
+        assertEquals(TEST_VALUE, armorClass.getValue(), "Detached groups should not affect properties");
+
+        group.attach();
+        assertTrue(group.isAttached());
+        assertEquals((TEST_VALUE + 2) * 2, armorClass.getValue(), "Modifiers should be applied in order of addition");
+        assertEquals(TEST_VALUE - 1, stealth.getValue());
+
+        group.detach();
+        assertFalse(group.isAttached());
+        assertEquals(TEST_VALUE, armorClass.getValue(), "Detaching should remove all modifiers of the group");
+        assertEquals(TEST_VALUE, stealth.getValue(), "Detaching should remove all modifiers of the group");
+        assertTrue(armorClass.getModifiers().isEmpty());
+    }
+
+    @Test
+    void test_notifiedOncePerProperty() {
+        List<ValueChangeEvent<Integer>> events = new ArrayList<>();
+        armorClass.addValueChangeListener(events::add);
+
+        group.attach();
+        assertEquals(1, events.size(), "Attaching should notify each property once");
+        assertEquals(TEST_VALUE, events.get(0).getOldValue());
+        assertEquals((TEST_VALUE + 2) * 2, events.get(0).getNewValue());
+
+        group.detach();
+        assertEquals(2, events.size(), "Detaching should notify each property once");
+        assertEquals(TEST_VALUE, events.get(1).getNewValue());
+    }
+
+    @Test
+    void test_otherModifiersKept() {
+        AdditiveModifier other = new AdditiveModifier(1, t -> "Shield");
+        armorClass.addModifier(other);
+        group.attach();
+        group.detach();
+        assertEquals(List.of(other), armorClass.getModifiers(), "Modifiers of other sources should be kept");
+    }
+
+    @Test
+    void test_addWhileAttached() {
+        group.attach();
+        group.add(stealth, new AdditiveModifier(-2, SOURCE));
+        assertEquals(TEST_VALUE - 3, stealth.getValue(), "Modifiers added to attached groups should apply immediately");
+        group.detach();
+        assertEquals(TEST_VALUE, stealth.getValue());
+    }
+
+    @Test
+    void test_overrideStaysLast() {
+        OverridableProperty<Integer> overridable =
+                new OverridableProperty<>(new ConstantBaseValue(TEST_VALUE, t -> "Test base"));
+        overridable.setOverride(TEST_VALUE + 10);
+        group.add(overridable, new AdditiveModifier(2, SOURCE));
+        group.attach();
+        assertEquals(TEST_VALUE + 10, overridable.getValue(), "Groups should not be applied after an override");
+    }
+
+    @Test
+    void test_detachKeepsOrderOfOthers() {
+        AdditiveModifier first = new AdditiveModifier(1, t -> "Shield");
+        AdditiveModifier between = new AdditiveModifier(3, t -> "Ring");
+        AdditiveModifier last = new AdditiveModifier(4, t -> "Cloak");
+        ModifierGroup other = new ModifierGroup(t -> "Spell");
+        other.add(armorClass, new AdditiveModifier(5, t -> "Spell"));
+        armorClass.addModifier(first);
+        group.attach();
+        armorClass.addModifier(between);
+        other.attach();
+        armorClass.addModifier(last);
+
+        armorClass.removeModifier(first);
+        ModifierGroup.detachAll(List.of(group, other));
+        assertEquals(List.of(between, last), armorClass.getModifiers(),
+                "Detaching moved groups should keep the other modifiers in order");
+    }
+
+    @Test
+    void test_detachSplitGroup() {
+        AdditiveModifier inserted = new AdditiveModifier(1, t -> "Shield");
+        group.attach();
+        armorClass.addModifier(1, inserted);
+        group.detach();
+        assertEquals(List.of(inserted), armorClass.getModifiers(),
+                "Groups should be detached even if other modifiers were inserted between theirs");
+    }
+}
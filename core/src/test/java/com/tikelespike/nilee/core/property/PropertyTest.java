@@ -1,11 +1,21 @@
 package com.tikelespike.nilee.core.property;
 
 import com.tikelespike.nilee.core.events.EventStoreListener;
+import com.tikelespike.nilee.core.i18n.LocalizedString;
 import com.tikelespike.nilee.core.property.convenience.*;
 import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PropertyTest {
@@ -178,6 +188,129 @@ class PropertyTest {
         assertEquals(TEST_VALUE + 2, event.getNewValue(), "New value should be the value after the modifier value change");
     }
 
+    @Test
+    void test_valueCached() {
+        CountingBaseValue base = new CountingBaseValue(TEST_VALUE);
+        Property<Integer> counted = new Property<>(base);
+        counted.getValue();
+        counted.getValue();
+        assertEquals(1, base.calls, "Value should only be calculated once while nothing changes");
+    }
+
+    @Test
+    void test_cacheInvalidatedByChanges() {
+        CountingBaseValue base = new CountingBaseValue(TEST_VALUE);
+        Property<Integer> counted = new Property<>(base);
+        counted.getValue();
+        base.setValue(TEST_VALUE + 1);
+        assertEquals(TEST_VALUE + 1, counted.getValue(), "Value should be recalculated after a base value change");
+        AdditiveModifier modifier = new AdditiveModifier(1, t -> "Test modifier");
+        counted.addModifier(modifier);
+        assertEquals(TEST_VALUE + 2, counted.getValue(), "Value should be recalculated after adding a modifier");
+        modifier.setBonus(2);
+        assertEquals(TEST_VALUE + 3, counted.getValue(), "Value should be recalculated after a modifier change");
+        counted.removeModifier(modifier);
+        assertEquals(TEST_VALUE + 1, counted.getValue(), "Value should be recalculated after removing a modifier");
+    }
+
+    @Test
+    void test_cacheInvalidatedForDependents() {
+        Property<Integer> dependent = new Property<>(new CountingBaseValue(0) {
+            {
+                property.addValueChangeListener(event -> update());
+            }
+
+            @Override
+            public Integer getBaseValue() {
+                return property.getValue() * 2;
+            }
+        });
+        assertEquals(TEST_VALUE * 2, dependent.getValue());
+        property.setDefaultBaseValue(TEST_VALUE + 1);
+        assertEquals((TEST_VALUE + 1) * 2, dependent.getValue(), "Changes should invalidate dependent properties");
+    }
+
+    @Test
+    void test_concurrentReaders() throws Exception {
+        final int changes = 20_000;
+        ConstantBaseValue base = new ConstantBaseValue(0, t -> "Test base");
+        Property<Integer> generic = new Property<>(base);
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<Future<?>> readers = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            readers.add(executor.submit(() -> {
+                while (!done.get()) {
+                    Integer value = generic.getValue();
+                    assertNotNull(value, "Readers should never see a discarded value");
+                    assertTrue(value >= 0 && value <= changes, "Readers should only see values the property had");
+                }
+                return null;
+            }));
+        }
+        try {
+            for (int i = 1; i <= changes; i++) {
+                base.setBaseValue(i);
+                assertEquals(i, generic.getValue(), "Values calculated by readers should never outlive a change");
+            }
+        } finally {
+            done.set(true);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS); // rethrows any exception thrown on the reader threads
+            }
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_componentSnapshots() {
+        PropertyModifier<Integer> modifier = new AdditiveModifier(1, t -> "Test modifier");
+        property.addModifier(modifier);
+        List<PropertyModifier<Integer>> modifiers = property.getModifiers();
+        Set<PropertyBaseSupplier<Integer>> suppliers = property.getBaseValueSuppliers();
+        assertSame(modifiers, property.getModifiers(), "Retrieving unchanged modifiers should not copy them");
+        assertThrows(UnsupportedOperationException.class, () -> modifiers.add(modifier));
+        assertThrows(UnsupportedOperationException.class, suppliers::clear);
+
+        property.removeModifier(modifier);
+        property.addBaseValueSupplier(new ConstantBaseValue(TEST_VALUE + 1, t -> "Test base 2"));
+        assertEquals(List.of(modifier), modifiers, "Snapshots should not reflect later changes");
+        assertEquals(1, suppliers.size(), "Snapshots should not reflect later changes");
+        assertTrue(property.getModifiers().isEmpty());
+        assertEquals(2, property.getBaseValueSuppliers().size());
+    }
+
+    @Test
+    void test_unobservedNotCalculated() {
+        CountingBaseValue base = new CountingBaseValue(TEST_VALUE);
+        Property<Integer> unobserved = new Property<>(base);
+        base.setValue(TEST_VALUE + 1);
+        base.setValue(TEST_VALUE + 2);
+        assertEquals(0, base.calls, "Properties without listeners should not be calculated on changes");
+        assertEquals(TEST_VALUE + 2, unobserved.getValue(), "Properties without listeners should calculate on read");
+        assertEquals(1, base.calls);
+    }
+
+    @Test
+    void test_noEventIfUnchanged() {
+        property.addBaseValueSupplier(new ConstantBaseValue(TEST_VALUE + 1, t -> "Test base 2"));
+        property.addValueChangeListener(listener);
+        property.setDefaultBaseValue(TEST_VALUE - 1);
+        assertNull(listener.getLatestEvent(), "No event should be fired if the value did not change");
+    }
+
+    @Test
+    void test_lateListenerOldValue() {
+        property.setDefaultBaseValue(TEST_VALUE + 1);
+        property.addValueChangeListener(listener);
+        property.setDefaultBaseValue(TEST_VALUE + 2);
+        ValueChangeEvent<Integer> event = listener.getLatestEvent();
+        assertNotNull(event);
+        assertEquals(TEST_VALUE + 1, event.getOldValue(),
+                "Old value should be known to listeners added while unobserved");
+        assertEquals(TEST_VALUE + 2, event.getNewValue());
+    }
+
     @Test
     void test_nullParameters() {
         assertThrows(NullPointerException.class, () -> property.addBaseValueSupplier(null));
@@ -187,4 +320,34 @@ class PropertyTest {
         assertThrows(NullPointerException.class, () -> property.setBaseValueSelector(null));
         assertThrows(NullPointerException.class, () -> property.addValueChangeListener(null));
     }
-}
\ No newline at end of file
+
+    private static class CountingBaseValue extends PropertyBaseSupplier<Integer> {
+        private int value;
+        private int calls;
+
+        CountingBaseValue(int value) {
+            this.value = value;
+        }
+
+        void setValue(int value) {
+            this.value = value;
+            update();
+        }
+
+        @Override
+        public Integer getBaseValue() {
+            calls++;
+            return value;
+        }
+
+        @Override
+        public LocalizedString getAbstractDescription() {
+            return t -> String.valueOf(value);
+        }
+
+        @Override
+        public LocalizedString getSourceName() {
+            return t -> "Counting base";
+        }
+    }
+}
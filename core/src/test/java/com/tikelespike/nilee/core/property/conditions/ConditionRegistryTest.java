@@ -0,0 +1,98 @@
+package com.tikelespike.nilee.core.property.conditions;
+
+import com.tikelespike.nilee.core.property.convenience.AdditiveModifier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseProperty;
+import com.tikelespike.nilee.core.property.events.ValueChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionRegistryTest {
+
+    private static final int TEST_VALUE = 42;
+
+    // CUT
+    private ConditionRegistry registry;
+
+    private Condition raging;
+    private Condition prone;
+    private ConstantBaseProperty strength;
+    private ConstantBaseProperty dexterity;
+
+    @BeforeEach
+    void setUp() {
+        registry = new ConditionRegistry();
+        raging = new Condition(t -> "Raging");
+        prone = new Condition(t -> "Prone");
+        strength = new ConstantBaseProperty(TEST_VALUE, t -> "Strength");
+        dexterity = new ConstantBaseProperty(TEST_VALUE, t -> "Dexterity");
+        registry.addModifier(raging, strength, new AdditiveModifier(2, t -> "Rage"));
+        registry.addModifier(prone, strength, new AdditiveModifier(-1, t -> "Prone"));
+    }
+
+    @Test
+    void test_appliesWhileActive() {
+        assertEquals(TEST_VALUE, strength.getValue(), "Modifiers of inactive conditions should not apply");
+        raging.setActive(true);
+        assertEquals(TEST_VALUE + 2, strength.getValue(), "Modifiers of active conditions should apply");
+        raging.setActive(false);
+        assertEquals(TEST_VALUE, strength.getValue());
+    }
+
+    @Test
+    void test_onlyAffectedPropertiesNotified() {
+        List<ValueChangeEvent<Integer>> strengthEvents = new ArrayList<>();
+        List<ValueChangeEvent<Integer>> dexterityEvents = new ArrayList<>();
+        strength.addValueChangeListener(strengthEvents::add);
+        dexterity.addValueChangeListener(dexterityEvents::add);
+
+        raging.setActive(true);
+        assertEquals(1, strengthEvents.size(), "Affected properties should be notified once");
+        assertEquals(TEST_VALUE + 2, strengthEvents.get(0).getNewValue());
+        assertTrue(dexterityEvents.isEmpty(), "Unaffected properties should not be notified");
+    }
+
+    @Test
+    void test_bulkToggle() {
+        List<ValueChangeEvent<Integer>> events = new ArrayList<>();
+        strength.addValueChangeListener(events::add);
+        ConditionRegistry.setActive(List.of(raging, prone), true);
+        assertEquals(1, events.size(), "Properties affected by multiple conditions should be notified once");
+        assertEquals(TEST_VALUE + 1, events.get(0).getNewValue());
+    }
+
+    @Test
+    void test_index() {
+        registry.addModifier(raging, dexterity, new AdditiveModifier(1, t -> "Rage"));
+        assertEquals(Set.of(strength, dexterity), registry.getAffectedProperties(raging));
+        assertEquals(Set.of(strength), registry.getAffectedProperties(prone));
+        assertEquals(Set.of(raging, prone), registry.getConditions());
+    }
+
+    @Test
+    void test_removeCondition() {
+        raging.setActive(true);
+        registry.removeCondition(raging);
+        assertEquals(TEST_VALUE, strength.getValue(), "Modifiers of removed conditions should no longer apply");
+        assertEquals(1, strength.getModifiers().size(), "Modifiers of other conditions should be kept");
+        assertTrue(registry.getAffectedProperties(raging).isEmpty());
+    }
+
+    @Test
+    void test_removedModifiersReleased() {
+        AdditiveModifier bonus = new AdditiveModifier(1, t -> "Rage");
+        ConditionalModifier<Integer> conditional = registry.addModifier(raging, dexterity, bonus);
+        registry.removeCondition(raging);
+        assertFalse(conditional.dependsOn(raging), "Removed modifiers should no longer depend on their condition");
+        assertFalse(conditional.dependsOn(bonus), "Removed modifiers should no longer depend on the wrapped modifier");
+
+        registry.addModifier(raging, dexterity, bonus);
+        raging.setActive(true);
+        assertEquals(TEST_VALUE + 1, dexterity.getValue(), "Removed conditions should be usable again");
+    }
+}
@@ -0,0 +1,131 @@
+package com.tikelespike.nilee.core.property.events;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.Property;
+import com.tikelespike.nilee.core.property.PropertyBaseSupplier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseProperty;
+import com.tikelespike.nilee.core.property.convenience.MaxValueSelector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyNodeTest {
+
+    private static final int TEST_VALUE = 42;
+
+    // CUT (the dependency graph formed by these properties)
+    private ConstantBaseProperty source;
+    private Property<Integer> left;
+    private Property<Integer> right;
+    private Property<Integer> combined;
+
+    private CountingDerivedValue combinedFromRight;
+
+    @BeforeEach
+    void setUp() {
+        // diamond: source -> left -> combined, source -> right -> combined
+        source = new ConstantBaseProperty(TEST_VALUE, t -> "Source");
+        left = new Property<>(new CountingDerivedValue(source, 1));
+        right = new Property<>(new CountingDerivedValue(source, 2));
+        combined = new Property<>(new CountingDerivedValue(left, 0));
+        combined.setBaseValueSelector(new MaxValueSelector<>());
+        combinedFromRight = new CountingDerivedValue(right, 0);
+        combined.addBaseValueSupplier(combinedFromRight);
+    }
+
+    @Test
+    void test_ranks() {
+        assertTrue(source.getRank() < left.getRank(), "Dependencies should have lower ranks");
+        assertTrue(left.getRank() < combined.getRank(), "Dependencies should have lower ranks");
+        assertTrue(right.getRank() < combined.getRank(), "Dependencies should have lower ranks");
+        assertTrue(combined.dependsOn(source));
+        assertFalse(source.dependsOn(combined));
+    }
+
+    @Test
+    void test_diamondNotifiedOnce() {
+        List<ValueChangeEvent<Integer>> events = new ArrayList<>();
+        combined.addValueChangeListener(events::add);
+        combined.getValue();
+        combinedFromRight.calls = 0;
+        source.setDefaultBaseValue(TEST_VALUE + 1);
+        assertEquals(1, events.size(), "Properties depending on a change in multiple ways should be notified once");
+        assertEquals(TEST_VALUE + 2, events.get(0).getOldValue());
+        assertEquals(TEST_VALUE + 3, events.get(0).getNewValue());
+        assertEquals(1, combinedFromRight.calls, "Properties depending on a change should be recalculated once");
+    }
+
+    @Test
+    void test_noInconsistentValues() {
+        List<Integer> observed = new ArrayList<>();
+        // registered before the dependent properties are notified, but reads a value depending on the change
+        left.addValueChangeListener(event -> observed.add(combined.getValue()));
+        source.setDefaultBaseValue(TEST_VALUE + 1);
+        assertEquals(List.of(TEST_VALUE + 3), observed, "Listeners should never observe outdated values");
+    }
+
+    @Test
+    void test_cycleRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> source.addBaseValueSupplier(new CountingDerivedValue(combined, 0)));
+        assertEquals(TEST_VALUE, source.getValue(), "Rejected dependencies should not change the property");
+        assertThrows(IllegalArgumentException.class, () -> left.addBaseValueSupplier(new CountingDerivedValue(left, 0)));
+    }
+
+    @Test
+    void test_removedDependency() {
+        combined.removeBaseValueSupplier(combinedFromRight);
+        assertFalse(combined.dependsOn(right), "Removed suppliers should no longer be dependencies");
+        assertTrue(combined.dependsOn(source), "Remaining dependencies should be kept");
+    }
+
+    @Test
+    void test_structureVersionScopedToDependents() {
+        long sourceVersion = source.getStructureVersion();
+        long combinedVersion = combined.getStructureVersion();
+        int combinedRank = combined.getRank();
+        Property<Integer> unrelated = new ConstantBaseProperty(TEST_VALUE, t -> "Unrelated");
+        unrelated.addBaseValueSupplier(new CountingDerivedValue(new ConstantBaseProperty(0, t -> "Other"), 0));
+        assertEquals(combinedVersion, combined.getStructureVersion(), "Unrelated changes should not change versions");
+
+        Property<Integer> deeper = new ConstantBaseProperty(TEST_VALUE, t -> "Deeper");
+        deeper.addBaseValueSupplier(new CountingDerivedValue(new ConstantBaseProperty(0, t -> "Deepest"), 0));
+        left.addBaseValueSupplier(new CountingDerivedValue(deeper, 0));
+        assertNotEquals(combinedVersion, combined.getStructureVersion(), "Changes should reach dependent nodes");
+        assertEquals(sourceVersion, source.getStructureVersion(), "Changes should not reach dependencies");
+        assertTrue(combined.getRank() > combinedRank, "Ranks should reflect changes of dependencies");
+        assertTrue(deeper.getRank() < left.getRank(), "Dependencies should have lower ranks");
+    }
+
+    private static class CountingDerivedValue extends PropertyBaseSupplier<Integer> {
+        private final Property<Integer> source;
+        private final int offset;
+        private int calls;
+
+        CountingDerivedValue(Property<Integer> source, int offset) {
+            this.source = source;
+            this.offset = offset;
+            dependOn(source);
+        }
+
+        @Override
+        public Integer getBaseValue() {
+            calls++;
+            return source.getValue() + offset;
+        }
+
+        @Override
+        public LocalizedString getAbstractDescription() {
+            return t -> "Source + " + offset;
+        }
+
+        @Override
+        public LocalizedString getSourceName() {
+            return t -> "Derived";
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.tikelespike.nilee.core.property.events;
+
+import com.tikelespike.nilee.core.i18n.LocalizedString;
+import com.tikelespike.nilee.core.property.Property;
+import com.tikelespike.nilee.core.property.PropertyBaseSupplier;
+import com.tikelespike.nilee.core.property.convenience.AdditiveModifier;
+import com.tikelespike.nilee.core.property.convenience.ConstantBaseProperty;
+import com.tikelespike.nilee.core.property.convenience.MaxValueSelector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyTransactionTest {
+
+    private static final int TEST_VALUE = 42;
+
+    // CUT (together with the properties it defers notifications of)
+    private ConstantBaseProperty property;
+
+    private List<ValueChangeEvent<Integer>> events;
+
+    @BeforeEach
+    void setUp() {
+        property = new ConstantBaseProperty(TEST_VALUE, t -> "Test property");
+        events = new ArrayList<>();
+        property.addValueChangeListener(events::add);
+    }
+
+    @Test
+    void test_notificationsDeferred() {
+        PropertyTransaction.run(() -> {
+            property.setDefaultBaseValue(TEST_VALUE + 1);
+            assertTrue(events.isEmpty(), "Listeners should not be notified before the transaction ends");
+            assertEquals(TEST_VALUE + 1, property.getValue(), "Values should be up-to-date during the transaction");
+        });
+        assertEquals(1, events.size(), "Listeners should be notified when the transaction ends");
+    }
+
+    @Test
+    void test_notificationsMerged() {
+        AdditiveModifier modifier = new AdditiveModifier(1, t -> "Add 1 mod");
+        PropertyTransaction.run(() -> {
+            property.setDefaultBaseValue(TEST_VALUE + 1);
+            property.addModifier(modifier);
+            modifier.setBonus(2);
+            property.setDefaultBaseValue(TEST_VALUE + 2);
+        });
+        assertEquals(1, events.size(), "Only one event should be fired per property and transaction");
+        assertEquals(TEST_VALUE, events.get(0).getOldValue(), "Old value should be the value before the transaction");
+        assertEquals(TEST_VALUE + 4, events.get(0).getNewValue(), "New value should be the value after the transaction");
+    }
+
+    @Test
+    void test_propertyNotifiedAfterSources() {
+        AdditiveModifier modifier = new AdditiveModifier(1, t -> "Add 1 mod");
+        property.addModifier(modifier);
+        events.clear();
+        PropertyTransaction.run(() -> {
+            property.setBaseValueSelector(new MaxValueSelector<>());
+            modifier.setBonus(2);
+        });
+        assertEquals(1, events.size(), "Property should only be notified after all of its changed sources");
+        assertEquals(TEST_VALUE + 1, events.get(0).getOldValue());
+        assertEquals(TEST_VALUE + 2, events.get(0).getNewValue());
+    }
+
+    @Test
+    void test_dependentPropertyNotifiedOnce() {
+        Property<Integer> dependent = new Property<>(new DerivedBaseValue(property));
+        List<ValueChangeEvent<Integer>> dependentEvents = new ArrayList<>();
+        dependent.addValueChangeListener(dependentEvents::add);
+        PropertyTransaction.run(() -> {
+            property.setDefaultBaseValue(TEST_VALUE + 1);
+            property.setDefaultBaseValue(TEST_VALUE + 2);
+        });
+        assertEquals(1, dependentEvents.size(), "Dependent property should be notified once");
+        assertEquals(TEST_VALUE, dependentEvents.get(0).getOldValue());
+        assertEquals(TEST_VALUE + 2, dependentEvents.get(0).getNewValue());
+    }
+
+    @Test
+    void test_dependentValueUpToDate() {
+        Property<Integer> dependent = new Property<>(new DerivedBaseValue(property));
+        assertEquals(TEST_VALUE, dependent.getValue());
+        PropertyTransaction.run(() -> {
+            property.setDefaultBaseValue(TEST_VALUE + 1);
+            assertEquals(TEST_VALUE + 1, dependent.getValue(), "Dependent values should be up-to-date");
+        });
+        assertEquals(TEST_VALUE + 1, dependent.getValue(), "Cached values should be invalidated by the transaction");
+    }
+
+    @Test
+    void test_nestedTransaction() {
+        PropertyTransaction.run(() -> {
+            PropertyTransaction.run(() -> property.setDefaultBaseValue(TEST_VALUE + 1));
+            assertTrue(events.isEmpty(), "Nested transaction should not notify before the outer transaction ends");
+            property.setDefaultBaseValue(TEST_VALUE + 2);
+        });
+        assertEquals(1, events.size(), "Nested transaction should be merged into the outer transaction");
+        assertFalse(PropertyTransaction.isActive(), "No transaction should be active after the transaction ended");
+    }
+
+    @Test
+    void test_notifiedOnException() {
+        assertThrows(IllegalStateException.class, () -> PropertyTransaction.run(() -> {
+            property.setDefaultBaseValue(TEST_VALUE + 1);
+            throw new IllegalStateException();
+        }));
+        assertEquals(1, events.size(), "Changes made before the exception should still be notified");
+        assertFalse(PropertyTransaction.isActive(), "No transaction should be active after the transaction failed");
+    }
+
+    @Test
+    void test_noTransaction() {
+        property.setDefaultBaseValue(TEST_VALUE + 1);
+        property.setDefaultBaseValue(TEST_VALUE + 2);
+        assertEquals(2, events.size(), "Listeners should be notified immediately outside of transactions");
+    }
+
+    @Test
+    void test_nullParameters() {
+        assertThrows(NullPointerException.class, () -> PropertyTransaction.run(null));
+        assertThrows(NullPointerException.class, () -> PropertyTransaction.dispatch(null, () -> { }));
+        assertThrows(NullPointerException.class, () -> PropertyTransaction.dispatch(property, null));
+        assertThrows(NullPointerException.class, () -> PropertyTransaction.dispatchValueChange(null, () -> { }));
+    }
+
+    private static class DerivedBaseValue extends PropertyBaseSupplier<Integer> {
+        private final Property<Integer> source;
+
+        DerivedBaseValue(Property<Integer> source) {
+            this.source = source;
+            dependOn(source);
+        }
+
+        @Override
+        public Integer getBaseValue() {
+            return source.getValue();
+        }
+
+        @Override
+        public LocalizedString getAbstractDescription() {
+            return t -> "Source value";
+        }
+
+        @Override
+        public LocalizedString getSourceName() {
+            return t -> "Derived base";
+        }
+    }
+}